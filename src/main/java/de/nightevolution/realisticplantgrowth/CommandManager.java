@@ -25,7 +25,6 @@ public class CommandManager implements CommandExecutor {
     private final MessageManager msgManager;
     private final Logger logger;
     private final String logFile = "debug";
-    private final boolean logEvent;
 
     /**
      * Constructor for the {@link CommandManager} class.
@@ -39,7 +38,6 @@ public class CommandManager implements CommandExecutor {
                 RealisticPlantGrowth.isDebug());
 
         logger.verbose("Registered new " + this.getClass().getSimpleName() + ".");
-        logEvent = RealisticPlantGrowth.isDebug();
     }
 
 
@@ -58,7 +56,7 @@ public class CommandManager implements CommandExecutor {
 
         if (s.equalsIgnoreCase("rpg") || s.equalsIgnoreCase("RealisticPlantGrowth")) {
 
-            if (logEvent) {
+            if (logEvent()) {
                 logger.logToFile("", logFile);
                 logger.logToFile("-------------------- RealisticPlantGrowth Command --------------------", logFile);
                 logger.logToFile("  Command sender: " + commandSender.getName(), logFile);
@@ -70,14 +68,14 @@ public class CommandManager implements CommandExecutor {
             if (arguments == null || arguments.length == 0) {
                 if (commandSender.hasPermission("rpg.help")) {
 
-                    if (logEvent) {
+                    if (logEvent()) {
                         logger.logToFile("  No arguments provided with /rpg command.", logFile);
                         logger.logToFile("  Sending Plugin help message.", logFile);
                     }
                     msgManager.sendHelpMenu(commandSender);
                 } else {
 
-                    if (logEvent)
+                    if (logEvent())
                         logger.logToFile("  Permission Denied: User '" + commandSender.getName() +
                                 "' lacks permission for command '/rpg help'", logFile);
 
@@ -110,18 +108,18 @@ public class CommandManager implements CommandExecutor {
                         }
                         break;
                     default:
-                        if (logEvent) {
+                        if (logEvent()) {
                             logger.logToFile("  User: " + commandSender.getName() +
                                     " used unknown RealisticPlantGrowth command.", logFile);
                         }
 
                         if (commandSender.hasPermission("rpg.help")) {
-                            if (logEvent)
+                            if (logEvent())
                                 logger.logToFile("  Sending Plugin help message.", logFile);
 
                             msgManager.sendHelpMenu(commandSender);
                         } else {
-                            if (logEvent)
+                            if (logEvent())
                                 logger.logToFile("  Permission Denied: User '" + commandSender.getName() +
                                         "' lacks permission for command '/rpg help'", logFile);
 
@@ -132,4 +130,11 @@ public class CommandManager implements CommandExecutor {
         }
         return true;
     }
+
+    /**
+     * Checks if commands are logged. Read on every command, so a reload takes effect immediately.
+     */
+    private boolean logEvent() {
+        return RealisticPlantGrowth.isDebug();
+    }
 }
@@ -0,0 +1,186 @@
+package de.nightevolution.realisticplantgrowth;
+
+import de.nightevolution.realisticplantgrowth.utils.Logger;
+import org.bukkit.Bukkit;
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.NoSuchFileException;
+import java.nio.file.StandardCopyOption;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.Arrays;
+
+/**
+ * Stores data compiled from the configuration files in a binary file, so it doesn't have to be validated
+ * and compiled again on the next start.
+ * <p>
+ * File layout ({@code cache/compiled.bin}, big endian):
+ * <ul>
+ *   <li>Header: magic, format version, SHA-256 key.</li>
+ *   <li>Payload: the compiled data, see {@code GrowthDecisionTable}.</li>
+ * </ul>
+ * The key is computed from the server version, the plugin version and the raw bytes of {@code Config.yml},
+ * {@code GrowthModifiers.yml} and {@code BiomeGroups.yml}, read before the files are parsed.
+ * If the modification time or size of a file changed until parsing finished, the key is not used,
+ * so a file saved while it was loaded can't produce a key for content that was never parsed.
+ * A file whose key doesn't match is ignored and replaced once the data was compiled again.
+ * </p>
+ * <p>
+ * The file is read with a single read and replaced atomically, so a crash while writing never leaves
+ * a partially written cache behind. All methods are thread-safe.
+ * </p>
+ */
+final class CompiledConfigCache {
+
+    private static final int MAGIC = 0x52504743; // "RPGC"
+    private static final int VERSION = 1;
+    private static final int KEY_SIZE = 32;
+    private static final int HEADER_SIZE = 8 + KEY_SIZE;
+
+    private static final String[] sourceFiles = {"Config.yml", "GrowthModifiers.yml", "BiomeGroups.yml"};
+
+    private final File pluginFolder;
+    private final File cacheFile;
+    private final Logger logger;
+
+    /**
+     * The key of the source files and their modification time and size when they were read.
+     *
+     * @param key        The SHA-256 key.
+     * @param fileStamps The modification time and size of every source file, in the order of {@link #sourceFiles}.
+     */
+    record SourceKey(byte[] key, long[] fileStamps) {
+    }
+
+    CompiledConfigCache(@NotNull File pluginFolder, @NotNull Logger logger) {
+        this.pluginFolder = pluginFolder;
+        this.cacheFile = new File(new File(pluginFolder, "cache"), "compiled.bin");
+        this.logger = logger;
+    }
+
+    /**
+     * Computes the key of the configuration files from their raw bytes.
+     * Must be called before the files are parsed and confirmed by {@link #isCurrent(SourceKey)} afterward.
+     *
+     * @param pluginVersion The version of this plugin.
+     * @return The {@link SourceKey}, or {@code null} if a file doesn't exist yet or can't be read.
+     */
+    @Nullable
+    SourceKey computeKey(@NotNull String pluginVersion) {
+        try {
+            MessageDigest digest = MessageDigest.getInstance("SHA-256");
+            digest.update(ByteBuffer.allocate(4).putInt(VERSION).array());
+            updateString(digest, Bukkit.getVersion());
+            updateString(digest, Bukkit.getBukkitVersion());
+            updateString(digest, pluginVersion);
+
+            long[] fileStamps = new long[sourceFiles.length * 2];
+            for (int i = 0; i < sourceFiles.length; i++) {
+                File file = new File(pluginFolder, sourceFiles[i]);
+                fileStamps[i * 2] = file.lastModified();
+                fileStamps[i * 2 + 1] = file.length();
+
+                byte[] bytes = Files.readAllBytes(file.toPath());
+                updateString(digest, sourceFiles[i]);
+                digest.update(ByteBuffer.allocate(4).putInt(bytes.length).array());
+                digest.update(bytes);
+            }
+            return new SourceKey(digest.digest(), fileStamps);
+
+        } catch (NoSuchFileException e) {
+            return null;
+        } catch (IOException e) {
+            logger.verbose("Couldn't compute the key of the compiled configuration: " + e.getMessage());
+            return null;
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("SHA-256 is not supported.", e);
+        }
+    }
+
+    /**
+     * Checks if the source files are still unchanged since their key was computed.
+     * Must be called after the files were parsed and updated. Files updated to a new version
+     * by the updater don't match either, so their key is only used from the next start on.
+     *
+     * @param sourceKey The key returned by {@link #computeKey(String)}.
+     * @return {@code true} if the key still belongs to the parsed files.
+     */
+    boolean isCurrent(@NotNull SourceKey sourceKey) {
+        long[] fileStamps = sourceKey.fileStamps();
+        for (int i = 0; i < sourceFiles.length; i++) {
+            File file = new File(pluginFolder, sourceFiles[i]);
+            if (file.lastModified() != fileStamps[i * 2] || file.length() != fileStamps[i * 2 + 1]) {
+                logger.verbose(sourceFiles[i] + " changed while it was loaded. Compiled configuration not used.");
+                return false;
+            }
+        }
+        return true;
+    }
+
+    /**
+     * Reads the payload of the cache file.
+     *
+     * @param key The key of the current configuration files.
+     * @return The payload, or {@code null} if there is no cache file for this key.
+     */
+    @Nullable
+    byte[] read(@NotNull byte[] key) {
+        ByteBuffer buffer;
+        try {
+            buffer = ByteBuffer.wrap(Files.readAllBytes(cacheFile.toPath()));
+        } catch (NoSuchFileException e) {
+            return null;
+        } catch (IOException e) {
+            logger.warn("Couldn't read the compiled configuration: " + e.getMessage());
+            return null;
+        }
+
+        if (buffer.remaining() < HEADER_SIZE || buffer.getInt() != MAGIC || buffer.getInt() != VERSION)
+            return null;
+
+        byte[] storedKey = new byte[KEY_SIZE];
+        buffer.get(storedKey);
+        if (!Arrays.equals(storedKey, key))
+            return null;
+
+        return Arrays.copyOfRange(buffer.array(), HEADER_SIZE, buffer.limit());
+    }
+
+    /**
+     * Replaces the cache file.
+     *
+     * @param key     The key of the configuration files the payload was compiled from.
+     * @param payload The compiled data.
+     */
+    synchronized void write(@NotNull byte[] key, @NotNull byte[] payload) {
+        ByteBuffer buffer = ByteBuffer.allocate(HEADER_SIZE + payload.length);
+        buffer.putInt(MAGIC).putInt(VERSION).put(key).put(payload);
+
+        try {
+            File directory = cacheFile.getParentFile();
+            if (!directory.exists() && !directory.mkdirs())
+                throw new IOException("Couldn't create directory " + directory);
+
+            File tempFile = new File(directory, cacheFile.getName() + ".tmp");
+            Files.write(tempFile.toPath(), buffer.array());
+            Files.move(tempFile.toPath(), cacheFile.toPath(), StandardCopyOption.REPLACE_EXISTING,
+                    StandardCopyOption.ATOMIC_MOVE);
+            logger.verbose("Compiled configuration cached (" + buffer.capacity() + " bytes).");
+
+        } catch (IOException e) {
+            logger.warn("Couldn't write the compiled configuration: " + e.getMessage());
+        }
+    }
+
+    private static void updateString(@NotNull MessageDigest digest, @NotNull String value) {
+        byte[] bytes = value.getBytes(StandardCharsets.UTF_8);
+        digest.update(ByteBuffer.allocate(4).putInt(bytes.length).array());
+        digest.update(bytes);
+    }
+}
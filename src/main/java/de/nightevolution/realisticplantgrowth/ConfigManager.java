@@ -1,8 +1,11 @@
 package de.nightevolution.realisticplantgrowth;
 
 import de.nightevolution.realisticplantgrowth.utils.Logger;
+import de.nightevolution.realisticplantgrowth.utils.enums.ConfigFile;
 import de.nightevolution.realisticplantgrowth.utils.enums.ModifierType;
 import de.nightevolution.realisticplantgrowth.utils.exception.ConfigurationException;
+import de.nightevolution.realisticplantgrowth.utils.plant.SearchParameters;
+import de.nightevolution.realisticplantgrowth.utils.plant.UVMaterialMask;
 import dev.dejvokep.boostedyaml.YamlDocument;
 import dev.dejvokep.boostedyaml.block.implementation.Section;
 import dev.dejvokep.boostedyaml.dvs.versioning.BasicVersioning;
@@ -12,13 +15,17 @@ import dev.dejvokep.boostedyaml.settings.general.GeneralSettings;
 import dev.dejvokep.boostedyaml.settings.loader.LoaderSettings;
 import dev.dejvokep.boostedyaml.settings.updater.UpdaterSettings;
 import org.bukkit.*;
-import org.bukkit.block.Biome;
 import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
 import org.yaml.snakeyaml.error.YAMLException;
 
 import java.io.File;
 import java.io.IOException;
+import java.io.InputStream;
+import java.nio.ByteBuffer;
+import java.nio.file.Files;
 import java.util.*;
+import java.util.concurrent.*;
 
 /**
  * ConfigManager is a singleton class responsible for managing and handling the configuration
@@ -31,7 +38,6 @@ public class ConfigManager {
     private static RealisticPlantGrowth instance;
     private static Logger logger;
 
-    private static String plugin_prefix;
     private static final String logFile = "debug";
 
     // Route to plant modifiers in GrowthModifiers.yml
@@ -40,21 +46,14 @@ public class ConfigManager {
     private static final Route defaultSectionRoute = Route.from("Default");
     private static final Route defaultBiomeListRoute = Route.from("Default", "Biome");
 
-    // Main config
-    private static YamlDocument config;
-
-    private static YamlDocument biomeGroupsFile;
-    private static Map<String, Object> biomeGroupsData;
-
-    private static YamlDocument growthModifiersFile;
-    private static Map<String, Object> growthModifierData;
-
-    // Selected language file containing plugin messages
-    private static YamlDocument selectedLanguageFile;
-    private static Map<String, Object> languageFileData;
+    /**
+     * All loaded YAML files. Replaced as a whole on every (re)load and never modified in place.
+     */
+    private static volatile LoadedConfig files;
 
     private static File pluginFolder;
     private static File languageFolder;
+    private static CompiledConfigCache compiledCache;
 
 
     // All predefined supported localizations.
@@ -66,56 +65,10 @@ public class ConfigManager {
             "zh-Hant"
     ));
 
-    private static String language_code;
-
-    // Different debug and logging modes
-    private static boolean verbose = true;
-    private static boolean debug_log;
-    private static boolean structure_log;
-    private static boolean plant_log;
-    private static boolean bonemeal_log;
-    private static boolean player_log;
-
-    // Enabled worlds
-    private static List<String> enabled_worlds;
-    private static boolean use_enabled_worlds_as_world_blacklist;
-
-    // More config values
-    private static int bonemeal_limit;
-    private static boolean allow_bonemeal_in_composters;
-    private static int min_natural_light;
-    private static boolean destroy_farmland;
-    private static boolean require_hoe;
-    private static boolean villager_destroy_farmland;
-    private static boolean villager_require_hoe;
-    private static boolean villager_disable_composter_interaction;
-    private static boolean display_growth_rates;
-    private static int display_cooldown;
-    private static boolean use_metrics;
-    private static boolean check_for_updates;
-
-    // Composter config values
-    private static Section composterSection;
-
-    // Fertilizer config values
-    private static boolean fertilizer_enabled;
-    private static int fertilizer_radius;
-    private static boolean fertilizer_passive;
-    private static double fertilizer_boost_growth_rate;
-    private static boolean fertilizer_allow_growth_rate_above_100;
-    private static boolean fertilizer_enables_growth_in_invalid_biomes;
-    private static double fertilizer_invalid_biome_growth_rate;
-    private static double fertilizer_invalid_biome_death_chance;
-
-    // UV-Light config values
-    private static boolean uv_enabled;
-    private static int uv_radius;
-    private static boolean require_all_uv_blocks;
-    private static HashSet<Material> uv_blocks = new HashSet<>();
-    private static HashSet<Material> grow_in_dark = new HashSet<>();
-
-    // Sound and Effects Sections
-    private static Section plant_death_sound_effect;
+    /**
+     * All values of Config.yml. Replaced as a whole on every (re)load and never modified in place.
+     */
+    private static volatile ConfigSnapshot snapshot;
 
 
     /**
@@ -132,12 +85,18 @@ public class ConfigManager {
 
         pluginFolder = instance.getDataFolder();
         languageFolder = new File(pluginFolder + File.separator + "lang");
+        compiledCache = new CompiledConfigCache(pluginFolder, logger);
 
 
-        registerYamlConfigs();
-        readConfigData();
+        createLanguageFolder();
+        apply(loadAllYAMLFiles());
 
+    }
 
+    /**
+     * Creates the "lang" directory, if it doesn't exist yet.
+     */
+    private void createLanguageFolder() {
         if (!languageFolder.exists()) {
             logger.warn("&eLanguage directory doesn't exist!");
             logger.log("Creating new directory...");
@@ -154,24 +113,6 @@ public class ConfigManager {
 
         } else
             logger.logToFile("Language directory already exist.", logFile);
-
-        logger.log("Loading supported languages...");
-        registerSupportedLanguages();
-        registerSelectedLanguage();
-        readLanguageData();
-
-        logger.log("Loading BiomeGroups data...");
-        readBiomeGroupsData();
-
-        logger.log("Loading GrowthModifiers ...");
-        readGrowthModifierData();
-
-        // Check GrowthModifiers.yml
-        verifyGrowthModifiersConfiguration();
-
-        if (debug_log)
-            printConfigData();
-
     }
 
     /**
@@ -188,63 +129,178 @@ public class ConfigManager {
 
 
     /**
-     * Registers all config Files for RealisticPlantGrowth Plugin.
-     * Creates new one if no config exists.
-     * Uses BoostedYAML API for config operations.
+     * Loads all configuration files from disk and validates them.
+     * <p>
+     * The loaded files are not used until they are passed to {@link #apply(LoadedConfig)}, so this method doesn't
+     * change any state read by other threads and can be called off the main thread.
+     * Creates new files if no config exists. Uses BoostedYAML API for config operations.
+     * </p>
+     *
+     * @return The loaded and validated {@link LoadedConfig}.
+     * @throws ConfigurationException if a file couldn't be loaded or contains an invalid configuration.
      */
-    private void registerYamlConfigs() {
-        // Main Config
-        // -> should use default values if something is missing.
+    @NotNull
+    public LoadedConfig loadAllYAMLFiles() {
+        // Read the raw files before they are parsed, so the key can't belong to a later saved file
+        CompiledConfigCache.SourceKey sourceKey = compiledCache.computeKey(instance.getDescription().getVersion());
+
         try {
-            config = YamlDocument.create(new File(pluginFolder, "Config.yml"),
-                    Objects.requireNonNull(instance.getResource("Config.yml")),
-                    GeneralSettings.DEFAULT, LoaderSettings.DEFAULT, DumperSettings.DEFAULT,
-                    UpdaterSettings.builder().setVersioning(new BasicVersioning("config-version")).build());
-            config.update();
-            logger.log("Config.yml loaded.");
+            // BiomeGroups and GrowthModifiers don't depend on Config.yml and are parsed in parallel
+            // on the common pool. Don't use defaults here.
+            GeneralSettings gs = GeneralSettings.builder().setUseDefaults(false).build();
+            CompletableFuture<YamlDocument> biomeGroupsFuture =
+                    CompletableFuture.supplyAsync(() -> loadBiomeGroupsFile(gs));
+            CompletableFuture<YamlDocument> growthModifiersFuture =
+                    CompletableFuture.supplyAsync(() -> loadGrowthModifiersFile(gs));
+
+            // Main Config
+            // -> should use default values if something is missing.
+            YamlDocument config;
+            try {
+                config = YamlDocument.create(new File(pluginFolder, "Config.yml"),
+                        Objects.requireNonNull(instance.getResource("Config.yml")),
+                        GeneralSettings.DEFAULT, LoaderSettings.DEFAULT, DumperSettings.DEFAULT,
+                        UpdaterSettings.builder().setVersioning(new BasicVersioning("config-version")).build());
+                config.update();
+                logger.log("Config.yml loaded.");
 
-        } catch (IOException e) {
-            logger.error("&cCouldn't load YAML configuration!");
-            throw new ConfigurationException("&cCouldn't load YAML configuration!");
+            } catch (IOException e) {
+                logger.error("&cCouldn't load YAML configuration!");
+                throw new ConfigurationException("&cCouldn't load YAML configuration!");
+            }
+
+            ConfigSnapshot snapshot = readConfigData(config);
+
+            logger.log("Loading supported languages...");
+            YamlDocument selectedLanguageFile = registerSupportedLanguages(snapshot.getLanguage_code());
+            registerSelectedLanguage(selectedLanguageFile, snapshot.getLanguage_code());
+
+            YamlDocument biomeGroupsFile = await(biomeGroupsFuture);
+            YamlDocument growthModifiersFile = await(growthModifiersFuture);
+
+            logger.log("Loading BiomeGroups data...");
+            logger.log("Loading GrowthModifiers ...");
+            byte[] cacheKey = sourceKey != null && compiledCache.isCurrent(sourceKey) ? sourceKey.key() : null;
+            byte[] compiledData = cacheKey == null ? null : compiledCache.read(cacheKey);
+
+            LoadedConfig loaded = new LoadedConfig(config, snapshot, biomeGroupsFile, growthModifiersFile,
+                    selectedLanguageFile, cacheKey, compiledData);
+
+            // Check GrowthModifiers.yml, unless these files were already verified and compiled before
+            if (compiledData == null)
+                verifyGrowthModifiersConfiguration(loaded);
+            else
+                logger.log("Configuration files unchanged since the last start. Using the compiled configuration.");
+
+            return loaded;
+
+        } catch (YAMLException e) {
+            logger.log(e.getLocalizedMessage());
+            logger.error("&cError while loading config files.");
+            throw new ConfigurationException("&cError while loading config files.");
         }
+    }
 
-        // BiomeGroups Config
-        // don't use defaults here
-        GeneralSettings gs = GeneralSettings.builder().setUseDefaults(false).build();
+    /**
+     * Loads the BiomeGroups.yml. Called on the common pool.
+     *
+     * @param gs The {@link GeneralSettings} without defaults.
+     * @return The loaded BiomeGroups.yml document.
+     */
+    private YamlDocument loadBiomeGroupsFile(GeneralSettings gs) {
         try {
-            biomeGroupsFile = YamlDocument.create(new File(pluginFolder, "BiomeGroups.yml"),
+            YamlDocument biomeGroupsFile = YamlDocument.create(new File(pluginFolder, "BiomeGroups.yml"),
                     Objects.requireNonNull(instance.getResource("BiomeGroups.yml")),
                     gs, LoaderSettings.DEFAULT, DumperSettings.DEFAULT, UpdaterSettings.DEFAULT);
 
             logger.log("BiomeGroups.yml loaded.");
+            return biomeGroupsFile;
 
         } catch (IOException e) {
             logger.error("&cCouldn't load BiomeGroups YAML configuration!");
             throw new ConfigurationException("&cCouldn't load BiomeGroups YAML configuration!");
         }
+    }
 
-        // GrowthModifiers Config
+    /**
+     * Loads the GrowthModifiers.yml. Called on the common pool.
+     *
+     * @param gs The {@link GeneralSettings} without defaults.
+     * @return The loaded GrowthModifiers.yml document.
+     */
+    private YamlDocument loadGrowthModifiersFile(GeneralSettings gs) {
         try {
-            growthModifiersFile = YamlDocument.create(new File(pluginFolder, "GrowthModifiers.yml"),
+            YamlDocument growthModifiersFile = YamlDocument.create(new File(pluginFolder, "GrowthModifiers.yml"),
                     Objects.requireNonNull(instance.getResource("GrowthModifiers.yml")),
                     gs, LoaderSettings.DEFAULT, DumperSettings.DEFAULT, UpdaterSettings.DEFAULT);
 
             logger.log("GrowthModifiers.yml loaded.");
+            return growthModifiersFile;
 
         } catch (IOException e) {
             logger.error("&cCouldn't load GrowthModifiers YAML configuration!");
             throw new ConfigurationException("&cCouldn't load GrowthModifiers YAML configuration!");
         }
+    }
+
+    /**
+     * Waits for a file loaded on the common pool and rethrows its {@link ConfigurationException}
+     * or {@link YAMLException}.
+     */
+    private static YamlDocument await(CompletableFuture<YamlDocument> future) {
+        try {
+            return future.join();
+        } catch (CompletionException e) {
+            if (e.getCause() instanceof RuntimeException cause)
+                throw cause;
+            throw e;
+        }
+    }
+
+    /**
+     * Replaces the current configuration with a loaded one. Must be called on the main thread.
+     *
+     * @param loaded The {@link LoadedConfig} returned by {@link #loadAllYAMLFiles()}.
+     * @return The files whose values differ from the previous configuration (all files on the first load).
+     */
+    @NotNull
+    public Set<ConfigFile> apply(@NotNull LoadedConfig loaded) {
+        Set<ConfigFile> changedFiles = loaded.getChangedFiles(files);
+
+        files = loaded;
+        snapshot = loaded.snapshot;
+
+        logger.setVerbose(snapshot.isVerbose());
+        logger.setDebug(snapshot.isDebug_log());
+        logger.setPluginPrefix(snapshot.getPlugin_prefix());
+
+        if (snapshot.isDebug_log())
+            printConfigData();
 
+        logger.verbose("Changed configuration files: " + changedFiles);
+        return changedFiles;
+    }
+
+    /**
+     * @return the currently used {@link LoadedConfig}, e.g. to restore it if a new configuration can't be applied.
+     */
+    @NotNull
+    public LoadedConfig getLoadedConfig() {
+        return files;
     }
 
     /**
      * This Method copies default language files into the "lang" directory during plugin initialization.
      * This method is executed only once, at the start of the plugin and during reloads.
+     * Only the selected language file is parsed and updated. The other files are only copied if they don't exist yet.
      * It supports custom language files in the "lang" directory and selects "en-US" as the default language
      * if the language code specified in the Config.yml cannot be resolved.
+     *
+     * @param selectedLanguageCode The language_code of the Config.yml to load.
+     * @return The selected language file.
      */
-    private void registerSupportedLanguages() {
+    private YamlDocument registerSupportedLanguages(String selectedLanguageCode) {
+        YamlDocument selectedLanguageFile = null;
 
         logger.logToFile("Language Folder: " + languageFolder, logFile);
 
@@ -253,7 +309,7 @@ public class ConfigManager {
             for (String languageCode : supportedLanguageCodes) {
                 logger.logToFile("Language: " + languageCode, logFile);
 
-                if (languageCode.equalsIgnoreCase(getLanguage_code())) {
+                if (languageCode.equalsIgnoreCase(selectedLanguageCode)) {
                     logger.logToFile("Loading selected language File: " + languageFolder + File.separator + languageCode + ".yml", logFile);
 
                     selectedLanguageFile = YamlDocument.create(new File(languageFolder + File.separator, languageCode + ".yml"),
@@ -261,17 +317,18 @@ public class ConfigManager {
                             GeneralSettings.DEFAULT, LoaderSettings.DEFAULT, DumperSettings.DEFAULT,
                             UpdaterSettings.builder().setVersioning(new BasicVersioning("version")).build());
 
+                    logger.logToFile(languageCode + ".yml loaded.", logFile);
+
                 } else {
-                    logger.logToFile("Loading language File: " + languageFolder + File.separator + languageCode + ".yml", logFile);
-                    YamlDocument temp = YamlDocument.create(new File(languageFolder + File.separator, languageCode + ".yml"),
-                            Objects.requireNonNull(instance.getResource("lang/" + languageCode + ".yml")),
-                            GeneralSettings.DEFAULT, LoaderSettings.DEFAULT, DumperSettings.DEFAULT,
-                            UpdaterSettings.builder().setVersioning(new BasicVersioning("version")).build());
-                    temp.update();
+                    File languageFile = new File(languageFolder + File.separator, languageCode + ".yml");
+                    if (!languageFile.exists()) {
+                        logger.logToFile("Copying language File: " + languageFile, logFile);
+                        try (InputStream resource = Objects.requireNonNull(instance.getResource("lang/" + languageCode + ".yml"))) {
+                            Files.copy(resource, languageFile.toPath());
+                        }
+                    }
                 }
 
-                logger.logToFile(languageCode + ".yml loaded.", logFile);
-
             }
         } catch (IOException e) {
             logger.error("&cCouldn't load language files!");
@@ -293,14 +350,14 @@ public class ConfigManager {
             for (File file : allFiles) {
                 if (file.isFile()) {
                     String fileName = file.getName();
-                    if (fileName.equalsIgnoreCase(language_code + ".yml")) {
+                    if (fileName.equalsIgnoreCase(selectedLanguageCode + ".yml")) {
                         try {
-                            selectedLanguageFile = YamlDocument.create(new File(languageFolder + File.separator, language_code + ".yml"),
+                            selectedLanguageFile = YamlDocument.create(new File(languageFolder + File.separator, selectedLanguageCode + ".yml"),
                                     gs, LoaderSettings.DEFAULT, DumperSettings.DEFAULT,
                                     UpdaterSettings.builder().setVersioning(new BasicVersioning("version")).build());
                             logger.log(fileName + " loaded.");
                         } catch (IOException e) {
-                            logger.warn("Couldn't load language_code: " + language_code);
+                            logger.warn("Couldn't load language_code: " + selectedLanguageCode);
                         }
 
                     }
@@ -312,7 +369,7 @@ public class ConfigManager {
         // Setting the default language if selected 'language_code' file not found.
         if (selectedLanguageFile == null) {
             try {
-                logger.warn("No custom language file with language_code '" + getLanguage_code() + "' located in 'lang' directory!");
+                logger.warn("No custom language file with language_code '" + selectedLanguageCode + "' located in 'lang' directory!");
                 logger.warn("Using default language file: en-US");
                 selectedLanguageFile = YamlDocument.create(new File(languageFolder + File.separator, "en-US.yml"),
                         Objects.requireNonNull(instance.getResource("lang/" + "en-US.yml")),
@@ -325,6 +382,7 @@ public class ConfigManager {
 
         }
 
+        return selectedLanguageFile;
     }
 
 
@@ -333,12 +391,12 @@ public class ConfigManager {
      * Creates new one if no config exists.
      * Uses BoostedYAML API for config operations.
      */
-    private void registerSelectedLanguage() {
+    private void registerSelectedLanguage(YamlDocument selectedLanguageFile, String selectedLanguageCode) {
 
         try {
             selectedLanguageFile.update();
             logger.log("Language files loaded.");
-            logger.log("Selected language: " + language_code);
+            logger.log("Selected language: " + selectedLanguageCode);
 
         } catch (IOException e) {
             logger.error("&cCouldn't load YAML configuration!");
@@ -347,75 +405,18 @@ public class ConfigManager {
     }
 
     /**
-     * Reads the configuration data from the main config file (Config.yml) and initializes global variables
-     * with the values read from the file.
+     * Reads the configuration data from the main config file (Config.yml) into a new {@link ConfigSnapshot}.
+     *
+     * @param config The loaded Config.yml document.
+     * @return The validated {@link ConfigSnapshot}.
      */
-    private void readConfigData() {
+    private ConfigSnapshot readConfigData(YamlDocument config) {
 
         try {
-
-            // Get different debugging and logging modes from Config.yml
-            verbose = config.getBoolean("verbose");
-            logger.log("verbose: " + verbose);
-            logger.setVerbose(verbose);
-
-            debug_log = config.getBoolean("debug_log");
-            logger.setDebug(debug_log);
-            logger.logToFile("debug_log: " + debug_log, logFile);
-
-            plugin_prefix = config.getString("plugin_prefix");
-            logger.setPluginPrefix(plugin_prefix);
-
-            structure_log = config.getBoolean("structure_log");
-            plant_log = config.getBoolean("plant_log");
-            bonemeal_log = config.getBoolean("bonemeal_log");
-            player_log = config.getBoolean("player_log");
-
-            // General settings
-            language_code = config.getString("language_code");
-            enabled_worlds = config.getStringList("enabled_worlds");
-            use_enabled_worlds_as_world_blacklist = config.getBoolean("use_enabled_worlds_as_world_blacklist");
-            bonemeal_limit = config.getInt("bonemeal_limit");
-            allow_bonemeal_in_composters = config.getBoolean("allow_bonemeal_in_composters");
-            min_natural_light = config.getInt("min_natural_light");
-            destroy_farmland = config.getBoolean("destroy_farmland");
-            require_hoe = config.getBoolean("require_hoe");
-            villager_destroy_farmland = config.getBoolean("villager.destroy_farmland");
-            villager_require_hoe = config.getBoolean("villager.require_hoe");
-            villager_disable_composter_interaction = config.getBoolean("villager.disable_composter_interaction");
-            display_growth_rates = config.getBoolean("display_growth_rates");
-            display_cooldown = config.getInt("display_cooldown");
-            use_metrics = config.getBoolean("use_metrics");
-            check_for_updates = config.getBoolean("check_for_updates");
-
-            // Composter settings
-            composterSection = config.getSection("composter");
-
-            // Fertilizer settings
-            fertilizer_enabled = config.getBoolean("fertilizer_enabled");
-            fertilizer_radius = config.getInt("fertilizer_radius");
-            fertilizer_passive = config.getBoolean("fertilizer_passive");
-            fertilizer_boost_growth_rate = config.getDouble("fertilizer_boost_growth_rate");
-            fertilizer_allow_growth_rate_above_100 = config.getBoolean("fertilizer_allow_growth_rate_above_100");
-            fertilizer_enables_growth_in_invalid_biomes = config.getBoolean("fertilizer_enables_growth_in_invalid_biomes");
-            fertilizer_invalid_biome_growth_rate = config.getDouble("fertilizer_invalid_biome_growth_rate");
-            fertilizer_invalid_biome_death_chance = config.getDouble("fertilizer_invalid_biome_death_chance");
-
-            // UV-Light settings
-            uv_enabled = config.getBoolean("uv_enabled");
-            uv_radius = config.getInt("uv_radius");
-            require_all_uv_blocks = config.getBoolean("require_all_uv_blocks");
-
-            List<String> uv_blocks_string = config.getStringList("uv_blocks");
-            uv_blocks = getCheckedMaterialSet(uv_blocks_string);
-
-            List<String> grow_in_dark_string = config.getStringList("grow_in_dark");
-            grow_in_dark = getCheckedMaterialSet(grow_in_dark_string);
-
-            // Sound & Effects
-            plant_death_sound_effect = config.getSection("plant_death_sound_effect");
-            checkSoundEffectSection();
-
+            ConfigSnapshot newSnapshot = new ConfigSnapshot(config, logger);
+            logger.log("verbose: " + newSnapshot.isVerbose());
+            logger.logToFile("debug_log: " + newSnapshot.isDebug_log(), logFile);
+            return newSnapshot;
 
         } catch (YAMLException e) {
             logger.error("&cAn Error occurred while reading config.yml data!");
@@ -425,31 +426,6 @@ public class ConfigManager {
         }
     }
 
-    /**
-     * Reads the language data from the selected language file and initializes the languageFileData map
-     * with the values read from the file.
-     */
-    private void readLanguageData() {
-        languageFileData = selectedLanguageFile.getStringRouteMappedValues(false);
-    }
-
-    /**
-     * Reads the BiomeGroups data from the BiomeGroups.yml file and initializes the biomeGroupsData map
-     * with the values read from the file.
-     */
-    private void readBiomeGroupsData() {
-        biomeGroupsData = biomeGroupsFile.getStringRouteMappedValues(false);
-    }
-
-
-    /**
-     * Reads the GrowthModifiers data from the GrowthModifiers.yml file and initializes the growthModifierData map
-     * with the values read from the file.
-     */
-    private void readGrowthModifierData() {
-        growthModifierData = growthModifiersFile.getStringRouteMappedValues(false);
-    }
-
     /**
      * Prints the key set of a given map to the log file.
      *
@@ -464,128 +440,92 @@ public class ConfigManager {
      * Prints the configuration data to the log file.
      */
     private void printConfigData() {
+        ConfigSnapshot c = snapshot;
         Bukkit.getScheduler().runTaskLaterAsynchronously(instance, () -> {
             logger.logToFile("", logFile);
             logger.logToFile("-------------------- Config.yml Data --------------------", logFile);
             logger.logToFile("", logFile);
 
-            logger.logToFile("plugin_prefix: " + plugin_prefix, logFile);
-            logger.logToFile("structure_log: " + structure_log, logFile);
-            logger.logToFile("plant_log: " + plant_log, logFile);
-            logger.logToFile("bonemeal_log: " + bonemeal_log, logFile);
-            logger.logToFile("player_log: " + player_log, logFile);
+            logger.logToFile("plugin_prefix: " + c.getPlugin_prefix(), logFile);
+            logger.logToFile("structure_log: " + c.isStructure_log(), logFile);
+            logger.logToFile("plant_log: " + c.isPlant_log(), logFile);
+            logger.logToFile("bonemeal_log: " + c.isBonemeal_log(), logFile);
+            logger.logToFile("player_log: " + c.isPlayer_log(), logFile);
 
             // General settings
-            logger.logToFile("language_code: " + language_code, logFile);
+            logger.logToFile("language_code: " + c.getLanguage_code(), logFile);
             logger.logToFile("enabled worlds:", logFile);
-            enabled_worlds.forEach((n) -> logger.logToFile("  - " + n, logFile));
-
-            logger.logToFile("bonemeal_limit: " + bonemeal_limit, logFile);
-            logger.logToFile("allow_bonemeal_in_composters: " + allow_bonemeal_in_composters, logFile);
-            logger.logToFile("min_natural_light: " + min_natural_light, logFile);
-            logger.logToFile("destroy_farmland: " + destroy_farmland, logFile);
-            logger.logToFile("require_hoe: " + require_hoe, logFile);
-            logger.logToFile("villager_destroy_farmland: " + villager_destroy_farmland, logFile);
-            logger.logToFile("villager_require_hoe: " + villager_require_hoe, logFile);
-            logger.logToFile("villager_disable_composter_interaction: " + villager_disable_composter_interaction, logFile);
-            logger.logToFile("display_growth_rates: " + display_growth_rates, logFile);
-            logger.logToFile("display_cooldown: " + display_cooldown, logFile);
-            logger.logToFile("use_metrics: " + use_metrics, logFile);
-            logger.logToFile("check_for_updates: " + check_for_updates, logFile);
+            c.getEnabled_worlds().forEach((n) -> logger.logToFile("  - " + n, logFile));
+
+            logger.logToFile("bonemeal_limit: " + c.getBonemeal_limit(), logFile);
+            logger.logToFile("allow_bonemeal_in_composters: " + c.isAllow_bonemeal_in_composters(), logFile);
+            logger.logToFile("min_natural_light: " + c.getMin_Natural_Light(), logFile);
+            logger.logToFile("destroy_farmland: " + c.isDestroy_Farmland(), logFile);
+            logger.logToFile("require_hoe: " + c.isRequire_Hoe(), logFile);
+            logger.logToFile("villager_destroy_farmland: " + c.getVillager_destroy_farmland(), logFile);
+            logger.logToFile("villager_require_hoe: " + c.getVillager_require_hoe(), logFile);
+            logger.logToFile("villager_disable_composter_interaction: " + c.getVillager_disable_composter_interaction(), logFile);
+            logger.logToFile("display_growth_rates: " + c.isDisplay_growth_rates(), logFile);
+            logger.logToFile("display_cooldown: " + c.getDisplay_cooldown(), logFile);
+            logger.logToFile("use_metrics: " + c.use_metrics(), logFile);
+            logger.logToFile("check_for_updates: " + c.check_for_updates(), logFile);
 
             // Composter settings
             logger.logToFile("composter: ", logFile);
-            logger.logToFile("  - " + composterSection.getBoolean("disable_bonemeal_output"), logFile);
-            logger.logToFile("  - " + composterSection.getBoolean("quick_fill_with_shift"), logFile);
-            logger.logToFile("  - " + composterSection.getBoolean("allow_bonemeal_as_input"), logFile);
+            logger.logToFile("  - " + c.isComposterBonemealOutputDisabled(), logFile);
+            logger.logToFile("  - " + c.isComposterQuickFillEnabled(), logFile);
+            logger.logToFile("  - " + c.isComposterBonemealInputAllowed(), logFile);
 
             // Fertilizer settings
-            logger.logToFile("fertilizer_enabled: " + fertilizer_enabled, logFile);
-            logger.logToFile("fertilizer_radius: " + fertilizer_radius, logFile);
-            logger.logToFile("fertilizer_passive: " + fertilizer_passive, logFile);
+            logger.logToFile("fertilizer_enabled: " + c.isFertilizer_enabled(), logFile);
+            logger.logToFile("fertilizer_radius: " + c.getFertilizer_radius(), logFile);
+            logger.logToFile("fertilizer_passive: " + c.isFertilizer_passive(), logFile);
             logger.logToFile("fertilizer_boost_growth_rate: " +
-                    fertilizer_boost_growth_rate, logFile);
+                    c.getFertilizer_boost_growth_rate(), logFile);
             logger.logToFile("fertilizer_allow_growth_rate_above_100: " +
-                    fertilizer_allow_growth_rate_above_100, logFile);
+                    c.isFertilizer_allow_growth_rate_above_100(), logFile);
             logger.logToFile("fertilizer_enables_growth_in_invalid_biomes: " +
-                    fertilizer_enables_growth_in_invalid_biomes, logFile);
+                    c.isFertilizer_Enables_Growth_In_Invalid_Biomes(), logFile);
             logger.logToFile("fertilizer_invalid_biome_growth_rate: " +
-                    fertilizer_invalid_biome_growth_rate, logFile);
+                    c.getFertilizer_invalid_biome_growth_rate(), logFile);
             logger.logToFile("fertilizer_invalid_biome_death_chance: " +
-                    fertilizer_invalid_biome_death_chance, logFile);
+                    c.getFertilizer_invalid_biome_death_chance(), logFile);
 
             // UV-Light settings
-            logger.logToFile("uv_enabled: " + uv_enabled, logFile);
-            logger.logToFile("uv_radius: " + uv_radius, logFile);
-            logger.logToFile("require_all_uv_blocks: " + require_all_uv_blocks, logFile);
+            logger.logToFile("uv_enabled: " + c.isUV_Enabled(), logFile);
+            logger.logToFile("uv_radius: " + c.getUV_Radius(), logFile);
+            logger.logToFile("require_all_uv_blocks: " + c.getRequire_All_UV_Blocks(), logFile);
 
             logger.logToFile("uv_blocks:", logFile);
-            uv_blocks.forEach((materialName) -> logger.logToFile("  - " + materialName, logFile));
+            c.getUV_Blocks().forEach((materialName) -> logger.logToFile("  - " + materialName, logFile));
 
             logger.logToFile("grow_in_dark:", logFile);
-            grow_in_dark.forEach((materialName) -> logger.logToFile("  - " + materialName, logFile));
+            c.getGrow_In_Dark().forEach((materialName) -> logger.logToFile("  - " + materialName, logFile));
 
             // Sound & Effects
             logger.logToFile("plant_death_sound_effect: ", logFile);
-            logger.logToFile("  - " + plant_death_sound_effect.getBoolean("enabled"), logFile);
-            logger.logToFile("  - " + plant_death_sound_effect.getString("sound"), logFile);
-            logger.logToFile("  - " + plant_death_sound_effect.getFloat("volume"), logFile);
-            logger.logToFile("  - " + plant_death_sound_effect.getFloat("pitch"), logFile);
-            logger.logToFile("  - " + plant_death_sound_effect.getString("effect"), logFile);
-            logger.logToFile("  - " + plant_death_sound_effect.getInt("data"), logFile);
+            logger.logToFile("  - " + c.isPlant_death_sound_effect_enabled(), logFile);
+            logger.logToFile("  - " + c.getPlant_death_sound(), logFile);
+            logger.logToFile("  - " + c.getPlant_death_sound_volume(), logFile);
+            logger.logToFile("  - " + c.getPlant_death_sound_pitch(), logFile);
+            logger.logToFile("  - " + c.getPlant_death_effect(), logFile);
+            logger.logToFile("  - " + c.getPlant_death_effect_data(), logFile);
+
+            // Performance settings
+            logger.logToFile("async_search: " + c.isAsync_search(), logFile);
+            logger.logToFile("async_search_result_lifetime: " + c.getAsync_search_result_lifetime(), logFile);
+            logger.logToFile("surrounding_cache_lifetime: " + c.getSurrounding_cache_lifetime(), logFile);
+            logger.logToFile("surrounding_cache_size: " + c.getSurrounding_cache_size(), logFile);
+            logger.logToFile("greenhouse_enabled: " + c.isGreenhouse_enabled(), logFile);
+            logger.logToFile("greenhouse_max_volume: " + c.getGreenhouse_max_volume(), logFile);
+            logger.logToFile("persistent_index: " + c.isPersistent_index(), logFile);
+            logger.logToFile("warmup_tick_budget: " + c.getWarmup_tick_budget(), logFile);
+            logger.logToFile("auto_reload: " + c.isAuto_reload(), logFile);
+            logger.logToFile("auto_reload_delay: " + c.getAuto_reload_delay(), logFile);
 
         }, 6 * 20);
     }
 
-    /**
-     * Reloads all configuration files when the plugin is in a reloading state.
-     * Reads values from the configuration files and updates global fields accordingly.
-     * This method reloads the main configuration file (Config.yml), as well as other YAML files
-     * responsible for growth modifiers (GrowthModifiers.yml), biome groups (BiomeGroups.yml),
-     * and language settings (Language files).
-     */
-    public void reloadAllYAMLFiles() {
-        logger.warn("&eReloading config file...");
-        try {
-            config.reload();
-            logger.debug("Config.yml reloaded.");
-
-            growthModifiersFile.reload();
-            logger.debug("GrowthModifiers.yml reloaded.");
-
-            biomeGroupsFile.reload();
-            logger.debug("BiomeGroups.yml reloaded.");
-
-            selectedLanguageFile.reload();
-            logger.debug("Language files reloaded.");
-
-            uv_blocks.clear();
-            grow_in_dark.clear();
-
-            // Get updated config data and store new data in global variables.
-            readConfigData();
-            registerSupportedLanguages();
-            registerSelectedLanguage();
-            readLanguageData();
-            readBiomeGroupsData();
-            readGrowthModifierData();
-            verifyGrowthModifiersConfiguration();
-
-
-            if (debug_log)
-                printConfigData();
-
-            logger.log("&2All configuration files reloaded.");
-
-
-        } catch (YAMLException | IOException e) {
-            logger.log(e.getLocalizedMessage());
-            logger.error("&cError while reloading config files.");
-            throw new ConfigurationException("&cError while reloading config files.");
-        }
-    }
-
-
     /**
      * <p>Validates the configuration in {@code GrowthModifiers.yml} for correctness and completeness.</p>
      *
@@ -595,12 +535,12 @@ public class ConfigManager {
      *
      * <p><b>Important:</b> Proper configuration is critical to avoid runtime errors and ensure expected plugin functionality.</p>
      */
-    private void verifyGrowthModifiersConfiguration() {
+    private void verifyGrowthModifiersConfiguration(LoadedConfig loaded) {
         logger.log("Starting verification of GrowthModifiers.yml...");
 
         // Iterate through all plants defined in the GrowthModifiers.yml file
-        for (String plantSectionString : growthModifierData.keySet()) {
-            Section plantSection = growthModifiersFile.getSection(Route.from(plantSectionString));
+        for (String plantSectionString : loaded.growthModifierData.keySet()) {
+            Section plantSection = loaded.growthModifiersFile.getSection(Route.from(plantSectionString));
 
             // Retrieve all biome groups assigned to the current plant
             List<String> biomeGroupsList = plantSection.getStringList(biomeGroupsListRoute);
@@ -608,7 +548,7 @@ public class ConfigManager {
             // Validate growth modifiers for each biome group assigned to the plant
             if (!biomeGroupsList.isEmpty()) {
                 for (String biomeGroup : biomeGroupsList) {
-                    if (isValidBiomeGroupName(biomeGroup))
+                    if (loaded.biomeGroupsData.containsKey(biomeGroup))
                         checkBiomeGroupModifiers(plantSection, biomeGroup);
                     else {
                         logger.warn("BiomeGroup '" + biomeGroup + "' is not defined in your BiomeGroups.yml and will be ignored.");
@@ -683,21 +623,6 @@ public class ConfigManager {
         }
     }
 
-    /**
-     * Checks if the provided biome group name is valid by verifying if it exists in the {@code BiomeGroups.yml} FIle.
-     *
-     * <p>This method looks up the given biome group name in the internal collection of registered biome groups
-     * and returns {@code true} if the name exists, indicating that it's a valid biome group name.</p>
-     *
-     * @param biomeGroupNameToCheck the name of the biome group to be checked for validity
-     * @return {@code true} if the biome group name exists in the internal data, otherwise {@code false}
-     */
-    private boolean isValidBiomeGroupName(String biomeGroupNameToCheck) {
-        Set<String> biomeGroupNames = biomeGroupsData.keySet();
-        return biomeGroupNames.contains(biomeGroupNameToCheck);
-    }
-
-
     /**
      * <p>Handles configuration errors by logging the issue and disabling the plugin.</p>
      *
@@ -726,295 +651,349 @@ public class ConfigManager {
      * @return An optional Section containing the data from the specified route.
      */
     public Optional<Section> getGrowthModifierSection(Route routeToSection) {
-        return growthModifiersFile.getOptionalSection(routeToSection);
+        return files.growthModifiersFile.getOptionalSection(routeToSection);
     }
 
     /**
-     * Gets a Set of Biomes from the BiomeGroups file based on the provided route.
+     * Retrieves the growth decisions compiled from the current configuration files on a previous start.
      *
-     * @param biomeGroup The name of the desired biome group section.
-     * @return a HashSet containing Biomes from the specified route. (empty if route not valid)
+     * @return The compiled data, or {@code null} if the files or the server version changed since then.
      */
-    @NotNull
-    public List<String> getBiomeSetOfBiomeGroup(@NotNull String biomeGroup) {
-        Optional<List<String>> biomeList = biomeGroupsFile.getOptionalStringList(biomeGroup);
-
-        if (instance.isPaperFork()) {
-            if (biomeList.isPresent() && !biomeList.get().isEmpty()) {
-                List<String> returnList = new ArrayList<>();
-                for (String biomeString : biomeList.get()) {
-                    if (biomeString.contains(":")) {
-                        returnList.add(biomeString);
-                    } else {
-                        try {
-                            Biome biome = Biome.valueOf(biomeString);
-                            returnList.add((biome.getKey().asString()));
-                            logger.verbose("Checked BiomeString: " + biome);
-                            logger.verbose("Added to return list: " + biome.getKey().asString());
-                        } catch (IllegalArgumentException e) {
-                            logger.warn("Biome '" + biomeString + "' is not a valid Bukkit Biome name!");
-                            logger.warn("Please check your BiomeGroups.yml!");
-                            logger.warn("Include the Namespace of custom Biomes!");
-                        }
-                    }
-                }
-
-                return returnList;
-            } else
-                return new ArrayList<>();
-        } else {
-            if (biomeList.isPresent() && !biomeList.get().isEmpty()) {
-                return getCheckedBiomeSet(biomeList.get());
-            } else
-                return new ArrayList<>();
-        }
+    @Nullable
+    public ByteBuffer getCachedGrowthDecisions() {
+        byte[] compiledData = files.compiledData;
+        return compiledData == null ? null : ByteBuffer.wrap(compiledData).asReadOnlyBuffer();
     }
 
-
     /**
-     * Gets a HashSet of Bukkit Material objects from a list of material names.
-     * This method converts a list of material names into a HashSet of corresponding Bukkit {@link Material} objects.
-     * If a material name is not recognized, a warning message is logged, and the invalid material is skipped.
+     * Stores the growth decisions compiled from the current configuration files for the next start.
+     * The cache file is written off the main thread.
      *
-     * @param stringMaterialList The list of material names to be converted.
-     * @return A HashSet containing Bukkit {@link Material} objects derived from the input material names.
+     * @param compiledData The compiled data.
      */
-    private HashSet<Material> getCheckedMaterialSet(List<String> stringMaterialList) {
-        HashSet<Material> materialSet = new HashSet<>(stringMaterialList.size());
-        for (String materialName : stringMaterialList) {
-            Material material = Material.getMaterial(materialName);
-            if (material != null) {
-                materialSet.add(material);
-            } else {
-                logger.warn("uv_blocks: '" + materialName + "' is not a recognized Bukkit Material!");
-                logger.warn("Please check your sections in config.yml!");
-            }
-        }
+    public void cacheGrowthDecisions(@NotNull byte[] compiledData) {
+        LoadedConfig current = files;
+        if (current.cacheKey == null || current.compiledData != null)
+            return;
 
-        return materialSet;
+        Bukkit.getScheduler().runTaskAsynchronously(instance, () -> compiledCache.write(current.cacheKey, compiledData));
     }
 
     /**
-     * Gets a HashSet of Bukkit {@link Biome} objects from a list of biome names.
-     * This method converts a list of biome names into a HashSet of corresponding Bukkit {@link Biome} objects.
-     * If a biome name is not recognized, a warning message is logged, and the invalid biome is skipped.
+     * Gets the names of all groups defined in the BiomeGroups file.
      *
-     * @param stringBiomeList The list of biome names to be converted.
-     * @return A HashSet containing Bukkit {@link Biome} objects derived from the input biome names.
+     * @return a Set containing the names of all biome groups.
      */
-    public List<String> getCheckedBiomeSet(List<String> stringBiomeList) {
-        List<String> biomeSet = new ArrayList<>(stringBiomeList.size());
-        for (String biomeName : stringBiomeList) {
-            try {
-                Biome biome = Biome.valueOf(biomeName);
-                biomeSet.add(biome.toString());
-                logger.verbose("Checked BiomeString: " + biome);
-            } catch (IllegalArgumentException e) {
-                logger.warn("Biome '" + biomeName + "' is not a valid Bukkit Biome name!");
-                logger.warn("Please check your BiomeGroups.yml!");
-            }
-        }
-        return biomeSet;
+    @NotNull
+    public Set<String> getBiomeGroupNames() {
+        return files.biomeGroupsData.keySet();
     }
 
-
     /**
-     * Checks the validity of the sound and effect specified in the plant_death_sound_effect section.
-     * If not valid, reverts to default values.
+     * Gets the configured biome names of a group from the BiomeGroups file.
+     * The names are resolved by the {@link de.nightevolution.realisticplantgrowth.utils.biome.BiomeRegistry}.
+     *
+     * @param biomeGroup The name of the desired biome group section.
+     * @return a List containing the biome names of the group. (empty if route not valid)
      */
-    private void checkSoundEffectSection() {
-        boolean soundEffectEnabled = plant_death_sound_effect.getBoolean("enabled");
-        boolean soundValid = false;
-        boolean effectValid = false;
-
-        if (!soundEffectEnabled)
-            return;
-
-        // Checking, if String is a Bukkit sound/effect
-        String sound = plant_death_sound_effect.getString("sound");
-        String effect = plant_death_sound_effect.getString("effect");
-
-        try {
-            Sound.valueOf(sound);
-            soundValid = true;
-        } catch (IllegalArgumentException e) {
-            logger.warn(sound + " is not a valid Bukkit sound!");
-        }
-
-        try {
-            Effect.valueOf(effect);
-            effectValid = true;
-        } catch (IllegalArgumentException e) {
-            logger.warn(effect + " is not a valid Bukkit effect!");
-        }
+    @NotNull
+    public List<String> getBiomeGroupEntries(@NotNull String biomeGroup) {
+        return files.biomeGroupsFile.getOptionalStringList(biomeGroup).orElseGet(ArrayList::new);
+    }
 
-        if (!(soundValid && effectValid)) {
-            logger.warn("Using default values instead.");
-            plant_death_sound_effect = plant_death_sound_effect.getDefaults();
-        }
 
+    /**
+     * Gets the values of Config.yml of the last successful (re)load.
+     * Read several values for one event from the same snapshot to get a consistent view.
+     *
+     * @return the current {@link ConfigSnapshot}.
+     */
+    @NotNull
+    public ConfigSnapshot getSnapshot() {
+        return snapshot;
     }
 
-
     // Getters for config values
     public String getLanguage_code() {
-        return language_code;
+        return snapshot.getLanguage_code();
     }
 
     public boolean isVerbose() {
-        return verbose;
+        return snapshot.isVerbose();
     }
 
     public boolean isDebug_log() {
-        return debug_log;
+        return snapshot.isDebug_log();
     }
 
     public boolean isStructure_log() {
-        return structure_log;
+        return snapshot.isStructure_log();
     }
 
     public boolean isPlant_log() {
-        return plant_log;
+        return snapshot.isPlant_log();
     }
 
     public boolean isBonemeal_log() {
-        return bonemeal_log;
+        return snapshot.isBonemeal_log();
     }
 
     public boolean isPlayer_log() {
-        return player_log;
+        return snapshot.isPlayer_log();
     }
 
 
     public List<String> getEnabled_worlds() {
-        return enabled_worlds;
+        return snapshot.getEnabled_worlds();
     }
 
     public boolean isUse_enabled_worlds_as_world_blacklist() {
-        return use_enabled_worlds_as_world_blacklist;
+        return snapshot.isUse_enabled_worlds_as_world_blacklist();
     }
 
     public int getBonemeal_limit() {
-        return bonemeal_limit;
+        return snapshot.getBonemeal_limit();
     }
 
     public int getMin_Natural_Light() {
-        return min_natural_light;
+        return snapshot.getMin_Natural_Light();
     }
 
     public boolean isDestroy_Farmland() {
-        return destroy_farmland;
+        return snapshot.isDestroy_Farmland();
     }
 
     public boolean isRequire_Hoe() {
-        return require_hoe;
+        return snapshot.isRequire_Hoe();
     }
 
     public boolean getVillager_destroy_farmland() {
-        return villager_destroy_farmland;
+        return snapshot.getVillager_destroy_farmland();
      }
 
     public boolean getVillager_require_hoe() {
-        return villager_require_hoe;
+        return snapshot.getVillager_require_hoe();
      }
 
      public boolean getVillager_disable_composter_interaction() {
-        return villager_disable_composter_interaction;
+        return snapshot.getVillager_disable_composter_interaction();
      }
 
     public boolean isDisplay_growth_rates() {
-        return display_growth_rates;
+        return snapshot.isDisplay_growth_rates();
     }
 
     public int getDisplay_cooldown() {
-        return display_cooldown;
+        return snapshot.getDisplay_cooldown();
     }
 
     public boolean use_metrics() {
-        return use_metrics;
+        return snapshot.use_metrics();
     }
 
     public boolean check_for_updates() {
-        return check_for_updates;
+        return snapshot.check_for_updates();
     }
 
 
     public boolean isComposterBonemealOutputDisabled() {
-        return composterSection.getBoolean("disable_bonemeal_output");
+        return snapshot.isComposterBonemealOutputDisabled();
     }
 
     public boolean isComposterQuickFillEnabled() {
-        return composterSection.getBoolean("quick_fill_with_shift");
+        return snapshot.isComposterQuickFillEnabled();
     }
 
     public boolean isComposterBonemealInputAllowed() {
-        return composterSection.getBoolean("allow_bonemeal_as_input");
+        return snapshot.isComposterBonemealInputAllowed();
     }
 
 
     public boolean isFertilizer_enabled() {
-        return fertilizer_enabled;
+        return snapshot.isFertilizer_enabled();
     }
 
     public int getFertilizer_radius() {
-        return fertilizer_radius;
+        return snapshot.getFertilizer_radius();
     }
 
     public boolean isFertilizer_passive() {
-        return fertilizer_passive;
+        return snapshot.isFertilizer_passive();
     }
 
     public boolean isFertilizer_Enables_Growth_In_Invalid_Biomes() {
-        return fertilizer_enables_growth_in_invalid_biomes;
+        return snapshot.isFertilizer_Enables_Growth_In_Invalid_Biomes();
     }
 
     public double getFertilizer_invalid_biome_growth_rate() {
-        return fertilizer_invalid_biome_growth_rate;
+        return snapshot.getFertilizer_invalid_biome_growth_rate();
     }
 
     public double getFertilizer_invalid_biome_death_chance() {
-        return fertilizer_invalid_biome_death_chance;
+        return snapshot.getFertilizer_invalid_biome_death_chance();
     }
 
     public double getFertilizer_boost_growth_rate() {
-        return fertilizer_boost_growth_rate;
+        return snapshot.getFertilizer_boost_growth_rate();
     }
 
     public boolean isFertilizer_allow_growth_rate_above_100() {
-        return fertilizer_allow_growth_rate_above_100;
+        return snapshot.isFertilizer_allow_growth_rate_above_100();
     }
 
 
     public boolean isUV_Enabled() {
-        return uv_enabled;
+        return snapshot.isUV_Enabled();
     }
 
     public int getUV_Radius() {
-        return uv_radius;
+        return snapshot.getUV_Radius();
     }
 
-    public HashSet<Material> getUV_Blocks() {
-        return uv_blocks;
+    public Set<Material> getUV_Blocks() {
+        return snapshot.getUV_Blocks();
     }
 
     public boolean getRequire_All_UV_Blocks() {
-        return require_all_uv_blocks;
+        return snapshot.getRequire_All_UV_Blocks();
+    }
+
+    public UVMaterialMask getUV_Material_Mask() {
+        return snapshot.getUV_Material_Mask();
+    }
+
+    public SearchParameters getSearch_Parameters() {
+        return snapshot.getSearch_Parameters();
+    }
+
+    public Set<Material> getGrow_In_Dark() {
+        return snapshot.getGrow_In_Dark();
+    }
+
+    public boolean isAsync_search() {
+        return snapshot.isAsync_search();
     }
 
-    public HashSet<Material> getGrow_In_Dark() {
-        return grow_in_dark;
+    public int getAsync_search_result_lifetime() {
+        return snapshot.getAsync_search_result_lifetime();
     }
 
-    public Section getPlant_death_sound_effect() {
-        return plant_death_sound_effect;
+    public int getSurrounding_cache_lifetime() {
+        return snapshot.getSurrounding_cache_lifetime();
+    }
+
+    public int getSurrounding_cache_size() {
+        return snapshot.getSurrounding_cache_size();
+    }
+
+    public boolean isGreenhouse_enabled() {
+        return snapshot.isGreenhouse_enabled();
+    }
+
+    public int getGreenhouse_max_volume() {
+        return snapshot.getGreenhouse_max_volume();
+    }
+
+    public boolean isPersistent_index() {
+        return snapshot.isPersistent_index();
+    }
+
+    public double getWarmup_tick_budget() {
+        return snapshot.getWarmup_tick_budget();
+    }
+
+    public boolean isAuto_reload() {
+        return snapshot.isAuto_reload();
+    }
+
+    public int getAuto_reload_delay() {
+        return snapshot.getAuto_reload_delay();
     }
 
     public Map<String, Object> getGrowthModifiers() {
-        return growthModifierData;
+        return files.growthModifierData;
     }
 
     public String getSelectedLanguageString(String s) {
-        return selectedLanguageFile.getString(s);
+        return files.selectedLanguageFile.getString(s);
+    }
+
+
+    /**
+     * All YAML files of one (re)load together with the data read from them.
+     * Instances are created by {@link #loadAllYAMLFiles()} and never modified afterward.
+     */
+    public static final class LoadedConfig {
+
+        private final ConfigSnapshot snapshot;
+        private final YamlDocument biomeGroupsFile;
+        private final Map<String, Object> biomeGroupsData;
+        private final YamlDocument growthModifiersFile;
+        private final Map<String, Object> growthModifierData;
+
+        // Selected language file containing plugin messages
+        private final YamlDocument selectedLanguageFile;
+
+        /**
+         * Key of the files in the {@link CompiledConfigCache}, or {@code null} if it couldn't be computed.
+         */
+        private final byte[] cacheKey;
+
+        /**
+         * Data compiled from the same files on a previous start, or {@code null} if not cached.
+         */
+        private final byte[] compiledData;
+
+        /**
+         * Values of every file by route, used to find the files changed by a reload.
+         */
+        private final Map<ConfigFile, Map<String, Object>> values = new EnumMap<>(ConfigFile.class);
+
+        private LoadedConfig(YamlDocument config, ConfigSnapshot snapshot, YamlDocument biomeGroupsFile,
+                             YamlDocument growthModifiersFile, YamlDocument selectedLanguageFile,
+                             @Nullable byte[] cacheKey, @Nullable byte[] compiledData) {
+            this.snapshot = snapshot;
+            this.biomeGroupsFile = biomeGroupsFile;
+            this.biomeGroupsData = biomeGroupsFile.getStringRouteMappedValues(false);
+            this.growthModifiersFile = growthModifiersFile;
+            this.growthModifierData = growthModifiersFile.getStringRouteMappedValues(false);
+            this.selectedLanguageFile = selectedLanguageFile;
+            this.cacheKey = cacheKey;
+            this.compiledData = compiledData;
+
+            values.put(ConfigFile.CONFIG, valuesOf(config));
+            values.put(ConfigFile.BIOME_GROUPS, valuesOf(biomeGroupsFile));
+            values.put(ConfigFile.GROWTH_MODIFIERS, valuesOf(growthModifiersFile));
+            values.put(ConfigFile.LANGUAGE, valuesOf(selectedLanguageFile));
+        }
+
+        /**
+         * Compares the values of all files with a previous configuration.
+         *
+         * @param previous The previous configuration, or {@code null} on the first load.
+         * @return The files whose values differ.
+         */
+        @NotNull
+        private Set<ConfigFile> getChangedFiles(LoadedConfig previous) {
+            EnumSet<ConfigFile> changedFiles = EnumSet.noneOf(ConfigFile.class);
+            for (ConfigFile file : ConfigFile.values()) {
+                if (previous == null || !values.get(file).equals(previous.values.get(file)))
+                    changedFiles.add(file);
+            }
+            return changedFiles;
+        }
+
+        /**
+         * Reads all values of a document by route. Sections are skipped, since their values are already included.
+         */
+        private static Map<String, Object> valuesOf(YamlDocument document) {
+            Map<String, Object> documentValues = new HashMap<>();
+            document.getStringRouteMappedValues(true).forEach((route, value) -> {
+                if (!(value instanceof Section))
+                    documentValues.put(route, value);
+            });
+            return documentValues;
+        }
     }
 
 }
@@ -0,0 +1,501 @@
+package de.nightevolution.realisticplantgrowth;
+
+import de.nightevolution.realisticplantgrowth.utils.Logger;
+import de.nightevolution.realisticplantgrowth.utils.exception.ConfigurationException;
+import de.nightevolution.realisticplantgrowth.utils.plant.SearchParameters;
+import de.nightevolution.realisticplantgrowth.utils.plant.UVMaterialMask;
+import dev.dejvokep.boostedyaml.YamlDocument;
+import dev.dejvokep.boostedyaml.block.implementation.Section;
+import org.bukkit.Effect;
+import org.bukkit.Material;
+import org.bukkit.Sound;
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+
+import java.util.*;
+
+/**
+ * Immutable, fully validated view of all values of {@code Config.yml}.
+ * <p>
+ * The {@link ConfigManager} builds a new snapshot on every (re)load and publishes it through a single volatile
+ * reference, so a reload never changes values another thread is currently reading.
+ * Code that reads several values for one event should get the snapshot once with {@link ConfigManager#getSnapshot()}
+ * and read all values from it, to get a consistent view even while a reload happens.
+ * </p>
+ */
+public final class ConfigSnapshot {
+
+    // Different debug and logging modes
+    private final boolean verbose;
+    private final boolean debug_log;
+    private final String plugin_prefix;
+    private final boolean structure_log;
+    private final boolean plant_log;
+    private final boolean bonemeal_log;
+    private final boolean player_log;
+
+    // General settings
+    private final String language_code;
+    private final List<String> enabled_worlds;
+    private final boolean use_enabled_worlds_as_world_blacklist;
+    private final int bonemeal_limit;
+    private final boolean allow_bonemeal_in_composters;
+    private final int min_natural_light;
+    private final boolean destroy_farmland;
+    private final boolean require_hoe;
+    private final boolean villager_destroy_farmland;
+    private final boolean villager_require_hoe;
+    private final boolean villager_disable_composter_interaction;
+    private final boolean display_growth_rates;
+    private final int display_cooldown;
+    private final boolean use_metrics;
+    private final boolean check_for_updates;
+
+    // Composter settings
+    private final boolean composter_disable_bonemeal_output;
+    private final boolean composter_quick_fill_with_shift;
+    private final boolean composter_allow_bonemeal_as_input;
+
+    // Fertilizer settings
+    private final boolean fertilizer_enabled;
+    private final int fertilizer_radius;
+    private final boolean fertilizer_passive;
+    private final double fertilizer_boost_growth_rate;
+    private final boolean fertilizer_allow_growth_rate_above_100;
+    private final boolean fertilizer_enables_growth_in_invalid_biomes;
+    private final double fertilizer_invalid_biome_growth_rate;
+    private final double fertilizer_invalid_biome_death_chance;
+
+    // UV-Light settings
+    private final boolean uv_enabled;
+    private final int uv_radius;
+    private final boolean require_all_uv_blocks;
+    private final Set<Material> uv_blocks;
+    private final UVMaterialMask uv_material_mask;
+    private final SearchParameters search_parameters;
+    private final Set<Material> grow_in_dark;
+
+    // Sound & Effects
+    private final boolean plant_death_sound_effect_enabled;
+    private final Sound plant_death_sound;
+    private final float plant_death_sound_volume;
+    private final float plant_death_sound_pitch;
+    private final Effect plant_death_effect;
+    private final int plant_death_effect_data;
+
+    // Performance settings
+    private final boolean async_search;
+    private final int async_search_result_lifetime;
+    private final int surrounding_cache_lifetime;
+    private final int surrounding_cache_size;
+    private final boolean greenhouse_enabled;
+    private final int greenhouse_max_volume;
+    private final boolean persistent_index;
+    private final double warmup_tick_budget;
+    private final boolean auto_reload;
+    private final int auto_reload_delay;
+
+    /**
+     * Reads and validates all values of {@code Config.yml}.
+     *
+     * @param config The loaded {@code Config.yml} document.
+     * @param logger The {@link Logger} for warnings about invalid values.
+     * @throws ConfigurationException if the configuration contains invalid values.
+     */
+    ConfigSnapshot(@NotNull YamlDocument config, @NotNull Logger logger) {
+
+        // Different debugging and logging modes
+        verbose = config.getBoolean("verbose");
+        debug_log = config.getBoolean("debug_log");
+        plugin_prefix = config.getString("plugin_prefix");
+        structure_log = config.getBoolean("structure_log");
+        plant_log = config.getBoolean("plant_log");
+        bonemeal_log = config.getBoolean("bonemeal_log");
+        player_log = config.getBoolean("player_log");
+
+        // General settings
+        language_code = config.getString("language_code");
+        enabled_worlds = List.copyOf(config.getStringList("enabled_worlds"));
+        use_enabled_worlds_as_world_blacklist = config.getBoolean("use_enabled_worlds_as_world_blacklist");
+        bonemeal_limit = config.getInt("bonemeal_limit");
+        allow_bonemeal_in_composters = config.getBoolean("allow_bonemeal_in_composters");
+        min_natural_light = config.getInt("min_natural_light");
+        destroy_farmland = config.getBoolean("destroy_farmland");
+        require_hoe = config.getBoolean("require_hoe");
+        villager_destroy_farmland = config.getBoolean("villager.destroy_farmland");
+        villager_require_hoe = config.getBoolean("villager.require_hoe");
+        villager_disable_composter_interaction = config.getBoolean("villager.disable_composter_interaction");
+        display_growth_rates = config.getBoolean("display_growth_rates");
+        display_cooldown = config.getInt("display_cooldown");
+        use_metrics = config.getBoolean("use_metrics");
+        check_for_updates = config.getBoolean("check_for_updates");
+
+        // Composter settings
+        Section composterSection = config.getSection("composter");
+        composter_disable_bonemeal_output = composterSection.getBoolean("disable_bonemeal_output");
+        composter_quick_fill_with_shift = composterSection.getBoolean("quick_fill_with_shift");
+        composter_allow_bonemeal_as_input = composterSection.getBoolean("allow_bonemeal_as_input");
+
+        // Fertilizer settings
+        fertilizer_enabled = config.getBoolean("fertilizer_enabled");
+        fertilizer_radius = config.getInt("fertilizer_radius");
+        fertilizer_passive = config.getBoolean("fertilizer_passive");
+        fertilizer_boost_growth_rate = config.getDouble("fertilizer_boost_growth_rate");
+        fertilizer_allow_growth_rate_above_100 = config.getBoolean("fertilizer_allow_growth_rate_above_100");
+        fertilizer_enables_growth_in_invalid_biomes = config.getBoolean("fertilizer_enables_growth_in_invalid_biomes");
+        fertilizer_invalid_biome_growth_rate = config.getDouble("fertilizer_invalid_biome_growth_rate");
+        fertilizer_invalid_biome_death_chance = config.getDouble("fertilizer_invalid_biome_death_chance");
+
+        // UV-Light settings
+        uv_enabled = config.getBoolean("uv_enabled");
+        uv_radius = config.getInt("uv_radius");
+        require_all_uv_blocks = config.getBoolean("require_all_uv_blocks");
+        uv_blocks = getCheckedMaterialSet(config.getStringList("uv_blocks"), logger);
+
+        if (uv_blocks.size() > UVMaterialMask.MAX_MATERIALS) {
+            logger.error("&cuv_blocks can't contain more than " + UVMaterialMask.MAX_MATERIALS + " materials!");
+            throw new ConfigurationException("&cAn Error occurred while reading config.yml data!");
+        }
+        uv_material_mask = new UVMaterialMask(uv_blocks, require_all_uv_blocks);
+        grow_in_dark = getCheckedMaterialSet(config.getStringList("grow_in_dark"), logger);
+
+        // Sound & Effects
+        Section soundEffectSection = getCheckedSoundEffectSection(config.getSection("plant_death_sound_effect"), logger);
+        plant_death_sound_effect_enabled = soundEffectSection.getBoolean("enabled");
+        plant_death_sound = plant_death_sound_effect_enabled ? Sound.valueOf(soundEffectSection.getString("sound")) : null;
+        plant_death_sound_volume = soundEffectSection.getFloat("volume");
+        plant_death_sound_pitch = soundEffectSection.getFloat("pitch");
+        plant_death_effect = plant_death_sound_effect_enabled ? Effect.valueOf(soundEffectSection.getString("effect")) : null;
+        plant_death_effect_data = soundEffectSection.getInt("data");
+
+        // Performance settings
+        async_search = config.getBoolean("async_search");
+        async_search_result_lifetime = config.getInt("async_search_result_lifetime");
+        surrounding_cache_lifetime = config.getInt("surrounding_cache_lifetime");
+        surrounding_cache_size = config.getInt("surrounding_cache_size");
+        greenhouse_enabled = config.getBoolean("greenhouse_enabled");
+        greenhouse_max_volume = config.getInt("greenhouse_max_volume");
+        persistent_index = config.getBoolean("persistent_index");
+        warmup_tick_budget = config.getDouble("warmup_tick_budget");
+        auto_reload = config.getBoolean("auto_reload");
+        auto_reload_delay = Math.max(0, config.getInt("auto_reload_delay"));
+
+        search_parameters = new SearchParameters(uv_enabled, uv_radius, fertilizer_enabled, fertilizer_radius,
+                fertilizer_passive, require_all_uv_blocks, uv_material_mask, debug_log);
+    }
+
+    /**
+     * Checks if the special block index and everything built on it can be kept after a reload.
+     *
+     * @param other The {@link ConfigSnapshot} to compare with.
+     * @return {@code true} if both snapshots search the same special blocks in the same radii.
+     */
+    public boolean hasSameIndexSettings(@NotNull ConfigSnapshot other) {
+        return uv_enabled == other.uv_enabled
+                && uv_radius == other.uv_radius
+                && require_all_uv_blocks == other.require_all_uv_blocks
+                && uv_blocks.equals(other.uv_blocks)
+                && fertilizer_enabled == other.fertilizer_enabled
+                && fertilizer_radius == other.fertilizer_radius
+                && fertilizer_passive == other.fertilizer_passive
+                && greenhouse_enabled == other.greenhouse_enabled
+                && greenhouse_max_volume == other.greenhouse_max_volume
+                && persistent_index == other.persistent_index
+                && debug_log == other.debug_log;
+    }
+
+    /**
+     * Gets an unmodifiable Set of Bukkit Material objects from a list of material names.
+     * If a material name is not recognized, a warning message is logged, and the invalid material is skipped.
+     *
+     * @param stringMaterialList The list of material names to be converted.
+     * @param logger             The {@link Logger} for unrecognized material names.
+     * @return An unmodifiable Set containing Bukkit {@link Material} objects derived from the input material names.
+     */
+    private static Set<Material> getCheckedMaterialSet(List<String> stringMaterialList, Logger logger) {
+        EnumSet<Material> materialSet = EnumSet.noneOf(Material.class);
+        for (String materialName : stringMaterialList) {
+            Material material = Material.getMaterial(materialName);
+            if (material != null) {
+                materialSet.add(material);
+            } else {
+                logger.warn("uv_blocks: '" + materialName + "' is not a recognized Bukkit Material!");
+                logger.warn("Please check your sections in config.yml!");
+            }
+        }
+
+        return Collections.unmodifiableSet(materialSet);
+    }
+
+    /**
+     * Checks the validity of the sound and effect specified in the plant_death_sound_effect section.
+     *
+     * @return The given section if valid or disabled, otherwise the section with the default values.
+     */
+    private static Section getCheckedSoundEffectSection(Section soundEffectSection, Logger logger) {
+        if (!soundEffectSection.getBoolean("enabled"))
+            return soundEffectSection;
+
+        boolean soundValid = false;
+        boolean effectValid = false;
+
+        // Checking, if String is a Bukkit sound/effect
+        String sound = soundEffectSection.getString("sound");
+        String effect = soundEffectSection.getString("effect");
+
+        try {
+            Sound.valueOf(sound);
+            soundValid = true;
+        } catch (IllegalArgumentException e) {
+            logger.warn(sound + " is not a valid Bukkit sound!");
+        }
+
+        try {
+            Effect.valueOf(effect);
+            effectValid = true;
+        } catch (IllegalArgumentException e) {
+            logger.warn(effect + " is not a valid Bukkit effect!");
+        }
+
+        if (!(soundValid && effectValid)) {
+            logger.warn("Using default values instead.");
+            return soundEffectSection.getDefaults();
+        }
+
+        return soundEffectSection;
+    }
+
+
+    // Getters for config values
+    public boolean isVerbose() {
+        return verbose;
+    }
+
+    public boolean isDebug_log() {
+        return debug_log;
+    }
+
+    public String getPlugin_prefix() {
+        return plugin_prefix;
+    }
+
+    public boolean isStructure_log() {
+        return structure_log;
+    }
+
+    public boolean isPlant_log() {
+        return plant_log;
+    }
+
+    public boolean isBonemeal_log() {
+        return bonemeal_log;
+    }
+
+    public boolean isPlayer_log() {
+        return player_log;
+    }
+
+    public String getLanguage_code() {
+        return language_code;
+    }
+
+    public List<String> getEnabled_worlds() {
+        return enabled_worlds;
+    }
+
+    public boolean isUse_enabled_worlds_as_world_blacklist() {
+        return use_enabled_worlds_as_world_blacklist;
+    }
+
+    public int getBonemeal_limit() {
+        return bonemeal_limit;
+    }
+
+    public boolean isAllow_bonemeal_in_composters() {
+        return allow_bonemeal_in_composters;
+    }
+
+    public int getMin_Natural_Light() {
+        return min_natural_light;
+    }
+
+    public boolean isDestroy_Farmland() {
+        return destroy_farmland;
+    }
+
+    public boolean isRequire_Hoe() {
+        return require_hoe;
+    }
+
+    public boolean getVillager_destroy_farmland() {
+        return villager_destroy_farmland;
+    }
+
+    public boolean getVillager_require_hoe() {
+        return villager_require_hoe;
+    }
+
+    public boolean getVillager_disable_composter_interaction() {
+        return villager_disable_composter_interaction;
+    }
+
+    public boolean isDisplay_growth_rates() {
+        return display_growth_rates;
+    }
+
+    public int getDisplay_cooldown() {
+        return display_cooldown;
+    }
+
+    public boolean use_metrics() {
+        return use_metrics;
+    }
+
+    public boolean check_for_updates() {
+        return check_for_updates;
+    }
+
+    public boolean isComposterBonemealOutputDisabled() {
+        return composter_disable_bonemeal_output;
+    }
+
+    public boolean isComposterQuickFillEnabled() {
+        return composter_quick_fill_with_shift;
+    }
+
+    public boolean isComposterBonemealInputAllowed() {
+        return composter_allow_bonemeal_as_input;
+    }
+
+    public boolean isFertilizer_enabled() {
+        return fertilizer_enabled;
+    }
+
+    public int getFertilizer_radius() {
+        return fertilizer_radius;
+    }
+
+    public boolean isFertilizer_passive() {
+        return fertilizer_passive;
+    }
+
+    public boolean isFertilizer_Enables_Growth_In_Invalid_Biomes() {
+        return fertilizer_enables_growth_in_invalid_biomes;
+    }
+
+    public double getFertilizer_invalid_biome_growth_rate() {
+        return fertilizer_invalid_biome_growth_rate;
+    }
+
+    public double getFertilizer_invalid_biome_death_chance() {
+        return fertilizer_invalid_biome_death_chance;
+    }
+
+    public double getFertilizer_boost_growth_rate() {
+        return fertilizer_boost_growth_rate;
+    }
+
+    public boolean isFertilizer_allow_growth_rate_above_100() {
+        return fertilizer_allow_growth_rate_above_100;
+    }
+
+    public boolean isUV_Enabled() {
+        return uv_enabled;
+    }
+
+    public int getUV_Radius() {
+        return uv_radius;
+    }
+
+    public Set<Material> getUV_Blocks() {
+        return uv_blocks;
+    }
+
+    public boolean getRequire_All_UV_Blocks() {
+        return require_all_uv_blocks;
+    }
+
+    public UVMaterialMask getUV_Material_Mask() {
+        return uv_material_mask;
+    }
+
+    public SearchParameters getSearch_Parameters() {
+        return search_parameters;
+    }
+
+    public Set<Material> getGrow_In_Dark() {
+        return grow_in_dark;
+    }
+
+    public boolean isPlant_death_sound_effect_enabled() {
+        return plant_death_sound_effect_enabled;
+    }
+
+    /**
+     * @return the validated plant death {@link Sound}, or {@code null} if the sound effect is disabled.
+     */
+    @Nullable
+    public Sound getPlant_death_sound() {
+        return plant_death_sound;
+    }
+
+    public float getPlant_death_sound_volume() {
+        return plant_death_sound_volume;
+    }
+
+    public float getPlant_death_sound_pitch() {
+        return plant_death_sound_pitch;
+    }
+
+    /**
+     * @return the validated plant death {@link Effect}, or {@code null} if the sound effect is disabled.
+     */
+    @Nullable
+    public Effect getPlant_death_effect() {
+        return plant_death_effect;
+    }
+
+    public int getPlant_death_effect_data() {
+        return plant_death_effect_data;
+    }
+
+    public boolean isAsync_search() {
+        return async_search;
+    }
+
+    public int getAsync_search_result_lifetime() {
+        return async_search_result_lifetime;
+    }
+
+    public int getSurrounding_cache_lifetime() {
+        return surrounding_cache_lifetime;
+    }
+
+    public int getSurrounding_cache_size() {
+        return surrounding_cache_size;
+    }
+
+    public boolean isGreenhouse_enabled() {
+        return greenhouse_enabled;
+    }
+
+    public int getGreenhouse_max_volume() {
+        return greenhouse_max_volume;
+    }
+
+    public boolean isPersistent_index() {
+        return persistent_index;
+    }
+
+    public double getWarmup_tick_budget() {
+        return warmup_tick_budget;
+    }
+
+    public boolean isAuto_reload() {
+        return auto_reload;
+    }
+
+    public int getAuto_reload_delay() {
+        return auto_reload_delay;
+    }
+}
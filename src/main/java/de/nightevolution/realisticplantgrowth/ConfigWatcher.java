@@ -0,0 +1,228 @@
+package de.nightevolution.realisticplantgrowth;
+
+import de.nightevolution.realisticplantgrowth.utils.Logger;
+import de.nightevolution.realisticplantgrowth.utils.enums.ConfigFile;
+import org.bukkit.Bukkit;
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+
+import java.io.IOException;
+import java.nio.file.*;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.*;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Reloads the configuration after {@code Config.yml}, {@code GrowthModifiers.yml} or {@code BiomeGroups.yml}
+ * were saved.
+ * <p>
+ * A background thread watches the plugin folder with a {@link WatchService}. Editors often write a file several
+ * times per save, so changes are collected until no file was written for {@code auto_reload_delay} milliseconds.
+ * The SHA-256 hash of every written file is then compared with the hash of the last seen content,
+ * and saves without changes are ignored.
+ * </p>
+ * <p>
+ * Changed files are reloaded by {@link RealisticPlantGrowth#reload(java.util.function.Consumer)}, which only
+ * rebuilds the data depending on the changed file and keeps the previous configuration if a file is invalid.
+ * Only used if {@code auto_reload} is enabled in the Config.yml.
+ * </p>
+ */
+public class ConfigWatcher {
+
+    /**
+     * Singleton instance, initialized lazily on first access via {@link #get()}.
+     */
+    private static ConfigWatcher configWatcher;
+
+    /**
+     * The watched files, keyed by their file name in the plugin folder.
+     */
+    private static final Map<String, ConfigFile> watchedFiles = Map.of(
+            "Config.yml", ConfigFile.CONFIG,
+            "GrowthModifiers.yml", ConfigFile.GROWTH_MODIFIERS,
+            "BiomeGroups.yml", ConfigFile.BIOME_GROUPS
+    );
+
+    private final RealisticPlantGrowth instance;
+    private final Logger logger;
+    private final Path pluginFolder;
+
+    /**
+     * The running watcher thread, or {@code null} if {@code auto_reload} is disabled.
+     */
+    private Thread watcherThread;
+
+    /**
+     * Time in milliseconds to wait after the last write. Read by the watcher thread.
+     */
+    private volatile long delay;
+
+    private ConfigWatcher() {
+        configWatcher = this;
+        instance = RealisticPlantGrowth.getInstance();
+        logger = new Logger(this.getClass().getSimpleName(), RealisticPlantGrowth.isVerbose(), RealisticPlantGrowth.isDebug());
+        pluginFolder = instance.getDataFolder().toPath();
+    }
+
+    /**
+     * Retrieves the singleton instance of the {@link ConfigWatcher}.
+     *
+     * @return the singleton {@link ConfigWatcher} instance.
+     */
+    public static ConfigWatcher get() {
+        if (configWatcher == null)
+            new ConfigWatcher();
+        return configWatcher;
+    }
+
+    /**
+     * Stops the watcher thread. Called when the plugin is disabled.
+     */
+    public static void shutdown() {
+        if (configWatcher != null) {
+            configWatcher.stop();
+            configWatcher = null;
+        }
+    }
+
+    /**
+     * Starts or stops the watcher thread according to the current configuration.
+     * Must be called after every change of {@code Config.yml}.
+     */
+    public void reload() {
+        ConfigManager cm = instance.getConfigManager();
+        logger.setVerbose(cm.isVerbose());
+        logger.setDebug(cm.isDebug_log());
+        delay = cm.getAuto_reload_delay();
+
+        if (!cm.isAuto_reload()) {
+            stop();
+            return;
+        }
+        if (watcherThread != null)
+            return;
+
+        WatchService watchService;
+        try {
+            watchService = pluginFolder.getFileSystem().newWatchService();
+            pluginFolder.register(watchService, StandardWatchEventKinds.ENTRY_CREATE,
+                    StandardWatchEventKinds.ENTRY_MODIFY);
+        } catch (IOException e) {
+            logger.error("&cCouldn't watch the plugin folder! Configuration files are not reloaded automatically.");
+            logger.error(e.getMessage());
+            return;
+        }
+
+        watcherThread = new Thread(() -> watch(watchService), "RealisticPlantGrowth-ConfigWatcher");
+        watcherThread.setDaemon(true);
+        watcherThread.start();
+        logger.verbose("Watching configuration files for changes.");
+    }
+
+    private void stop() {
+        if (watcherThread == null)
+            return;
+        watcherThread.interrupt();
+        watcherThread = null;
+        logger.verbose("Stopped watching configuration files.");
+    }
+
+    /**
+     * Collects written configuration files until no file was written for {@link #delay} milliseconds
+     * and reloads the configuration if the content of one of them has changed.
+     * Runs on the watcher thread until it is interrupted.
+     *
+     * @param watchService The {@link WatchService} registered on the plugin folder.
+     */
+    private void watch(@NotNull WatchService watchService) {
+        // Hashes of the last seen file contents, keyed by file name
+        Map<String, byte[]> fileHashes = new HashMap<>();
+        for (String fileName : watchedFiles.keySet()) {
+            fileHashes.put(fileName, hash(fileName));
+        }
+
+        Set<String> writtenFiles = new HashSet<>();
+        long deadline = 0;
+
+        try (watchService) {
+            while (!Thread.currentThread().isInterrupted()) {
+                WatchKey key = writtenFiles.isEmpty() ? watchService.take() :
+                        watchService.poll(Math.max(1, deadline - System.currentTimeMillis()), TimeUnit.MILLISECONDS);
+
+                if (key != null) {
+                    boolean written = false;
+                    for (WatchEvent<?> event : key.pollEvents()) {
+                        if (event.kind() == StandardWatchEventKinds.OVERFLOW) {
+                            writtenFiles.addAll(watchedFiles.keySet());
+                            written = true;
+                        } else if (event.context() instanceof Path path
+                                && watchedFiles.containsKey(path.getFileName().toString())) {
+                            writtenFiles.add(path.getFileName().toString());
+                            written = true;
+                        }
+                    }
+                    if (!key.reset()) {
+                        logger.warn("&eThe plugin folder can't be watched anymore. Automatic reload stopped.");
+                        return;
+                    }
+                    // Other files, e.g. log files, don't delay the reload
+                    if (written)
+                        deadline = System.currentTimeMillis() + delay;
+                    continue;
+                }
+
+                if (System.currentTimeMillis() < deadline)
+                    continue;
+
+                // Wait for a running reload, it might have read the file before it was written.
+                if (instance.isReloading()) {
+                    deadline = System.currentTimeMillis() + delay;
+                    continue;
+                }
+
+                Set<ConfigFile> changedFiles = EnumSet.noneOf(ConfigFile.class);
+                for (String fileName : writtenFiles) {
+                    byte[] fileHash = hash(fileName);
+                    if (!Arrays.equals(fileHash, fileHashes.get(fileName))) {
+                        fileHashes.put(fileName, fileHash);
+                        changedFiles.add(watchedFiles.get(fileName));
+                    }
+                }
+                writtenFiles.clear();
+
+                if (changedFiles.isEmpty()) {
+                    logger.verbose("Configuration files saved without changes.");
+                    continue;
+                }
+
+                logger.log("Changes in " + changedFiles + " detected.");
+                Bukkit.getScheduler().runTask(instance, () -> instance.reload(success -> {
+                    if (!success)
+                        logger.warn("&eAutomatic reload failed. Fix the configuration and save it again.");
+                }));
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        } catch (IOException | ClosedWatchServiceException e) {
+            logger.error("&cStopped watching configuration files: " + e.getMessage());
+        }
+    }
+
+    /**
+     * Computes the SHA-256 hash of a file in the plugin folder.
+     *
+     * @param fileName The name of the file.
+     * @return The hash of the file, or {@code null} if it doesn't exist or can't be read.
+     */
+    @Nullable
+    private byte[] hash(@NotNull String fileName) {
+        try {
+            return MessageDigest.getInstance("SHA-256").digest(Files.readAllBytes(pluginFolder.resolve(fileName)));
+        } catch (IOException e) {
+            return null;
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("SHA-256 is not supported.", e);
+        }
+    }
+}
@@ -7,9 +7,16 @@ import de.nightevolution.realisticplantgrowth.listeners.player.*;
 import de.nightevolution.realisticplantgrowth.utils.Logger;
 import de.nightevolution.realisticplantgrowth.utils.UpdateChecker;
 import de.nightevolution.realisticplantgrowth.utils.biome.BiomeChecker;
+import de.nightevolution.realisticplantgrowth.utils.biome.BiomeRegistry;
+import de.nightevolution.realisticplantgrowth.utils.enums.ConfigFile;
 import de.nightevolution.realisticplantgrowth.utils.exception.ConfigurationException;
+import de.nightevolution.realisticplantgrowth.utils.index.SpecialBlockIndex;
 import de.nightevolution.realisticplantgrowth.utils.mapper.VersionMapper;
 import de.nightevolution.realisticplantgrowth.utils.mapper.versions.*;
+import de.nightevolution.realisticplantgrowth.utils.plant.AsyncSurroundingSearch;
+import de.nightevolution.realisticplantgrowth.utils.plant.GreenhouseRegistry;
+import de.nightevolution.realisticplantgrowth.utils.plant.GrowthDecisionTable;
+import de.nightevolution.realisticplantgrowth.utils.plant.SurroundingCache;
 import de.nightevolution.realisticplantgrowth.utils.rest.ModrinthVersion;
 import org.bstats.bukkit.Metrics;
 import org.bukkit.Bukkit;
@@ -18,8 +25,13 @@ import org.bukkit.event.HandlerList;
 import org.bukkit.plugin.PluginManager;
 import org.bukkit.plugin.java.JavaPlugin;
 import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
 
+import java.util.EnumSet;
 import java.util.Objects;
+import java.util.Set;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.function.Consumer;
 
 /**
  * The main class for the {@link RealisticPlantGrowth} plugin.
@@ -65,6 +77,11 @@ public final class RealisticPlantGrowth extends JavaPlugin {
     private String pluginVersion;
     private boolean isPaperFork;
 
+    /**
+     * {@code true} while a reload is loading or applying the configuration files.
+     */
+    private final AtomicBoolean reloading = new AtomicBoolean();
+
     @Override
     public void onEnable() {
         // Create an instance of this Plugin
@@ -90,8 +107,16 @@ public final class RealisticPlantGrowth extends JavaPlugin {
             disablePlugin();
         }
 
+        cmdManager = new CommandManager();
+        registerCommands();
+        registerTabCompleter();
         updateVariables();
+        registerListeners();
         registerMetrics();
+
+        if (cm.check_for_updates())
+            checkForUpdates();
+
         drawLogo();
     }
 
@@ -198,7 +223,9 @@ public final class RealisticPlantGrowth extends JavaPlugin {
         new HopperCompostListener(instance);
         new PlayerInteractListener(instance);
         new PlayerQuitListener(instance);
+        new SpecialBlockIndexListener(instance);
         new StructureGrowListener(instance);
+        new ChangeJournalListener(instance);
         new VillagerFarmingListener(instance);
     }
 
@@ -222,14 +249,76 @@ public final class RealisticPlantGrowth extends JavaPlugin {
     }
 
     /**
-     * Reloads the plugin by refreshing YAML files, unregistering event handlers, and updating variables.
-     * This method is intended for use when reloading plugin configurations or making runtime adjustments.
+     * Reloads all configuration files without blocking the server.
+     * <p>
+     * The files are loaded and validated off the main thread. On the next tick, only the structures depending on
+     * changed files are rebuilt. Listeners and commands stay registered the whole time.
+     * An invalid configuration is rejected and the previous configuration stays active.
+     * </p>
+     *
+     * @param callback Called on the main thread with {@code true} if the reload succeeded, {@code false} otherwise.
      */
-    public void reload() {
-        cm.reloadAllYAMLFiles();
-        versionMapper.reload();
-        HandlerList.unregisterAll(instance);
-        updateVariables();
+    public void reload(@NotNull Consumer<Boolean> callback) {
+        if (!reloading.compareAndSet(false, true)) {
+            logger.warn("A reload is already in progress.");
+            callback.accept(false);
+            return;
+        }
+
+        logger.warn("&eReloading config files...");
+        Bukkit.getScheduler().runTaskAsynchronously(instance, () -> {
+            ConfigManager.LoadedConfig loaded;
+            try {
+                loaded = cm.loadAllYAMLFiles();
+            } catch (ConfigurationException e) {
+                logger.error("&cInvalid configuration! The previous configuration stays active.");
+                Bukkit.getScheduler().runTask(instance, () -> finishReload(callback, false));
+                return;
+            }
+
+            Bukkit.getScheduler().runTask(instance, () -> finishReload(callback, applyReload(loaded)));
+        });
+    }
+
+    /**
+     * @return {@code true} while a reload is loading or applying the configuration files.
+     */
+    public boolean isReloading() {
+        return reloading.get();
+    }
+
+    private void finishReload(@NotNull Consumer<Boolean> callback, boolean success) {
+        reloading.set(false);
+        if (success)
+            logger.log("&2All configuration files reloaded.");
+        callback.accept(success);
+    }
+
+    /**
+     * Applies a loaded configuration and rebuilds all structures depending on the changed files.
+     * If the configuration is rejected while rebuilding, the previous configuration is restored.
+     *
+     * @param loaded The loaded and validated configuration.
+     * @return {@code true} if the configuration was applied.
+     */
+    private boolean applyReload(@NotNull ConfigManager.LoadedConfig loaded) {
+        ConfigManager.LoadedConfig previous = cm.getLoadedConfig();
+        ConfigSnapshot previousSnapshot = cm.getSnapshot();
+        Set<ConfigFile> changedFiles = cm.apply(loaded);
+
+        try {
+            if (changedFiles.contains(ConfigFile.CONFIG) || changedFiles.contains(ConfigFile.GROWTH_MODIFIERS))
+                versionMapper.reload();
+            updateVariables(changedFiles, previousSnapshot);
+            return true;
+
+        } catch (ConfigurationException e) {
+            logger.error("&cInvalid configuration! Restoring the previous configuration.");
+            cm.apply(previous);
+            versionMapper.reload();
+            updateVariables();
+            return false;
+        }
     }
 
     /**
@@ -238,19 +327,44 @@ public final class RealisticPlantGrowth extends JavaPlugin {
      * and various cached data used by the plugin.
      */
     public void updateVariables() {
+        updateVariables(EnumSet.allOf(ConfigFile.class), null);
+    }
 
+    /**
+     * Rebuilds only the data depending on the changed configuration files.
+     *
+     * @param changedFiles     The configuration files changed by the reload.
+     * @param previousSnapshot The {@link ConfigSnapshot} before the reload, or {@code null} to rebuild everything.
+     */
+    private void updateVariables(@NotNull Set<ConfigFile> changedFiles, @Nullable ConfigSnapshot previousSnapshot) {
         logger.setVerbose(cm.isVerbose());
         logger.setDebug(cm.isDebug_log());
 
-        cmdManager = new CommandManager();
-
-        registerCommands();
-        registerTabCompleter();
-        BiomeChecker.clearCache();
-        registerListeners();
-
-        if (cm.check_for_updates())
-            checkForUpdates();
+        boolean configChanged = changedFiles.contains(ConfigFile.CONFIG);
+        boolean plantsChanged = configChanged || changedFiles.contains(ConfigFile.GROWTH_MODIFIERS);
+        boolean biomesChanged = changedFiles.contains(ConfigFile.BIOME_GROUPS);
+        boolean indexChanged = configChanged &&
+                (previousSnapshot == null || !previousSnapshot.hasSameIndexSettings(cm.getSnapshot()));
+
+        if (biomesChanged)
+            BiomeRegistry.get().reload();
+        if (plantsChanged || biomesChanged) {
+            BiomeChecker.clearCache();
+            GrowthDecisionTable.get().reload();
+        }
+        if (indexChanged) {
+            SpecialBlockIndex.get().rebuild();
+            AsyncSurroundingSearch.get().clear();
+            GreenhouseRegistry.get().reload();
+        }
+        if (plantsChanged || biomesChanged)
+            BiomeChecker.warmUp();
+        if (plantsChanged || biomesChanged)
+            SurroundingCache.get().reload();
+        if (configChanged || changedFiles.contains(ConfigFile.LANGUAGE))
+            MessageManager.checkAndUpdateMessages();
+        if (configChanged)
+            ConfigWatcher.get().reload();
     }
 
     /**
@@ -298,7 +412,9 @@ public final class RealisticPlantGrowth extends JavaPlugin {
 
     @Override
     public void onDisable() {
-
+        ConfigWatcher.shutdown();
+        SpecialBlockIndex.shutdown();
+        AsyncSurroundingSearch.shutdown();
     }
 
 
@@ -34,11 +34,9 @@ public class Reload extends SubCommand {
         if (!super.executeCommand())
             return false;
 
-        // Reload the plugin configuration
-        instance.reload();
-
-        // Send a message indicating that the reload is complete
-        msgManager.sendLocalizedMsg(commandSender, MessageType.RELOAD_COMPLETE_MSG, false);
+        // Reload the plugin configuration and send a message indicating the result
+        instance.reload(success -> msgManager.sendLocalizedMsg(commandSender,
+                success ? MessageType.RELOAD_COMPLETE_MSG : MessageType.RELOAD_FAILED_MSG, false));
         return true;
     }
 }
@@ -4,6 +4,8 @@ import de.nightevolution.realisticplantgrowth.ConfigManager;
 import de.nightevolution.realisticplantgrowth.RealisticPlantGrowth;
 import de.nightevolution.realisticplantgrowth.utils.Logger;
 import de.nightevolution.realisticplantgrowth.utils.mapper.VersionMapper;
+import de.nightevolution.realisticplantgrowth.utils.plant.AsyncSurroundingSearch;
+import de.nightevolution.realisticplantgrowth.utils.plant.GreenhouseRegistry;
 import de.nightevolution.realisticplantgrowth.utils.plant.PlantKiller;
 import de.nightevolution.realisticplantgrowth.utils.plant.SpecialBlockSearch;
 import de.nightevolution.realisticplantgrowth.utils.plant.Surrounding;
@@ -13,8 +15,12 @@ import org.bukkit.World;
 import org.bukkit.block.Biome;
 import org.bukkit.block.Block;
 import org.bukkit.block.BlockFace;
+import org.bukkit.block.BlockState;
 import org.bukkit.block.data.Ageable;
+import org.bukkit.block.data.BlockData;
 import org.bukkit.event.Listener;
+import org.bukkit.event.block.BlockGrowEvent;
+import org.jetbrains.annotations.NotNull;
 
 /**
  * An abstract base class for listeners that handle plant growth events.
@@ -31,7 +37,6 @@ public abstract class PlantGrowthListener implements Listener {
     protected RealisticPlantGrowth instance;
     protected Logger superLogger;
     protected String logFile = "PlantGrowthEvent";
-    protected boolean logEvent;
 
     protected ConfigManager configManager;
     protected SpecialBlockSearch specialBlockSearch;
@@ -57,6 +62,28 @@ public abstract class PlantGrowthListener implements Listener {
             BlockFace.EAST
     };
 
+    /**
+     * The data of a growth event deferred to the async search.
+     * Kept separate from the event data fields, which belong to the event currently being handled.
+     *
+     * @param plant     The plant {@link Block}.
+     * @param plantType The {@link Material} of the plant when the event was fired.
+     * @param oldData   The {@link BlockData} of the plant when the event was fired.
+     * @param newState  The {@link BlockState} the plant would have had after the growth event.
+     */
+    private record DeferredGrowth(Block plant, Material plantType, BlockData oldData, BlockState newState) {
+
+        /**
+         * Checks if the plant is still in the state the event was fired for.
+         *
+         * @return {@code false} if the plant was harvested, destroyed or has grown otherwise in the meantime.
+         */
+        private boolean isUnchanged() {
+            BlockData currentData = plant.getBlockData();
+            return currentData.equals(oldData) && !currentData.equals(newState.getBlockData());
+        }
+    }
+
     /**
      * Constructs a new PlantGrowthListener instance.
      * <p>
@@ -81,9 +108,17 @@ public abstract class PlantGrowthListener implements Listener {
         specialBlockSearch = SpecialBlockSearch.get();
         configManager = instance.getConfigManager();
         versionMapper = instance.getVersionMapper();
+    }
 
-        // Can get overwritten by child classes.
-        logEvent = RealisticPlantGrowth.isDebug() && configManager.isPlant_log();
+    /**
+     * Checks if events of this listener are logged.
+     * Read on every event, so a reload takes effect without registering the listener again.
+     * Can get overwritten by child classes.
+     *
+     * @return {@code true} if debug logging and the log setting of this listener are enabled.
+     */
+    protected boolean logEvent() {
+        return RealisticPlantGrowth.isDebug() && configManager.isPlant_log();
     }
 
     /**
@@ -96,7 +131,7 @@ public abstract class PlantGrowthListener implements Listener {
      * @return {@code true} if the event should proceed, {@code false} if it should be canceled.
      */
     protected boolean processEvent() {
-        if (logEvent) {
+        if (logEvent()) {
             superLogger.logToFile("  Event Block: " + eventBlockType, logFile);
             superLogger.logToFile("  Is Block a growth-modified plant: " +
                     versionMapper.isGrowthModifiedPlant(eventBlockType), logFile);
@@ -104,26 +139,108 @@ public abstract class PlantGrowthListener implements Listener {
 
         // Check if the event block is a growth-modified plant.
         if (!versionMapper.isGrowthModifiedPlant(eventBlockType)) {
-            if (logEvent) {
+            if (logEvent()) {
                 superLogger.logToFile("  -> Event Block not a growth-modified plant.", logFile);
             }
             return false;
         }
 
         // Retrieve surrounding environment data.
-        surrounding = specialBlockSearch.surroundingOf(eventBlock);
+        // In async mode, a recent background search result is used if available.
+        // Plants inside a greenhouse always use their enclosure, which isn't limited to the search radius.
+        surrounding = null;
+        if (configManager.isAsync_search() && !GreenhouseRegistry.get().isEnclosed(eventBlock))
+            surrounding = AsyncSurroundingSearch.get().getSurrounding(eventBlock);
+        if (surrounding == null)
+            surrounding = specialBlockSearch.surroundingOf(eventBlock);
 
         // Get death chance and growth rate from the surrounding environment.
         deathChance = surrounding.getDeathChance();
         growthRate = surrounding.getGrowthRate();
 
-        if (logEvent) {
+        if (logEvent()) {
             superLogger.logToFile("  Growth Rate: " + growthRate, logFile);
             superLogger.logToFile("  Death Chance: " + deathChance, logFile);
         }
         return true;
     }
 
+    /**
+     * Defers the decision about a growth event to a background search, if the async mode is enabled.
+     * <p>
+     * Only events that change the plant block itself (e.g. aging crops) are deferred and only if no recent
+     * search result exists for the plant. Plants inside a greenhouse are never deferred, since the background
+     * search is limited to the search radius. The event has to be cancelled by the caller. Once the search
+     * has finished, the growth is re-evaluated on the main thread and the new block state of the event is
+     * applied, if the plant is still unchanged and allowed to grow.
+     * </p>
+     *
+     * @param e The {@link BlockGrowEvent} of the plant.
+     * @return {@code true} if the event was deferred and must be cancelled, {@code false} otherwise.
+     */
+    protected boolean deferToAsyncSearch(@NotNull BlockGrowEvent e) {
+        if (!configManager.isAsync_search() || !e.getBlock().equals(eventBlock))
+            return false;
+
+        if (!versionMapper.isGrowthModifiedPlant(eventBlockType))
+            return false;
+
+        AsyncSurroundingSearch asyncSearch = AsyncSurroundingSearch.get();
+        if (asyncSearch.hasResult(eventBlock) || GreenhouseRegistry.get().isEnclosed(eventBlock))
+            return false;
+
+        DeferredGrowth growth = new DeferredGrowth(eventBlock, eventBlockType, eventBlock.getBlockData(), e.getNewState());
+        asyncSearch.requestSearch(eventBlock, () -> commitDeferredGrowth(growth));
+
+        if (logEvent()) {
+            superLogger.logToFile("  -> Event deferred to async search.", logFile);
+        }
+        return true;
+    }
+
+    /**
+     * Re-evaluates a deferred growth event on the main thread after the background search has finished.
+     * Only uses the given {@link DeferredGrowth}, so the event data fields of this listener are left untouched.
+     *
+     * @param growth The deferred growth event.
+     */
+    private void commitDeferredGrowth(@NotNull DeferredGrowth growth) {
+        if (!growth.isUnchanged())
+            return;
+
+        Block plant = growth.plant();
+        // The plant may have been enclosed while the search was running
+        Surrounding result = GreenhouseRegistry.get().isEnclosed(plant) ? specialBlockSearch.surroundingOf(plant) :
+                AsyncSurroundingSearch.get().getSurrounding(plant);
+        if (result == null)
+            return;
+
+        double growthRate = result.getGrowthRate();
+        double deathChance = result.getDeathChance();
+
+        if (logEvent()) {
+            superLogger.logToFile("", logFile);
+            superLogger.logToFile("-------------------- Deferred Grow Event --------------------", logFile);
+            superLogger.logToFile("  Event data:", logFile);
+            superLogger.logToFile("    Block Type: " + growth.plantType(), logFile);
+            superLogger.logToFile("    Location: " + plant.getLocation(), logFile);
+            superLogger.logToFile("    World: " + plant.getWorld().getName(), logFile);
+            superLogger.logToFile("    Biome: " + plant.getBiome(), logFile);
+            superLogger.logToFile("  Growth Rate: " + growthRate, logFile);
+            superLogger.logToFile("  Death Chance: " + deathChance, logFile);
+        }
+
+        if (shouldGrowthBeCancelled(plant, growth.plantType(), growthRate, deathChance))
+            return;
+
+        growth.newState().update(true);
+        checkFertilizerUsage(result);
+
+        if (logEvent()) {
+            superLogger.logToFile("  -> Deferred growth applied.", logFile);
+        }
+    }
+
     /**
      * Determines whether the plant growth event should be canceled based on configured parameters.
      * <p>
@@ -134,26 +251,40 @@ public abstract class PlantGrowthListener implements Listener {
      * @return {@code true} if the event should be canceled, {@code false} otherwise.
      */
     protected boolean shouldEventBeCancelled() {
+        return shouldGrowthBeCancelled(eventBlock, eventBlockType, growthRate, deathChance);
+    }
+
+    /**
+     * Determines whether the growth of the given plant should be canceled and kills the plant if required.
+     *
+     * @param plant       The plant {@link Block}.
+     * @param plantType   The {@link Material} of the plant.
+     * @param growthRate  The growth rate of the plant.
+     * @param deathChance The death chance of the plant.
+     * @return {@code true} if the growth should be canceled, {@code false} otherwise.
+     */
+    private boolean shouldGrowthBeCancelled(@NotNull Block plant, @NotNull Material plantType,
+                                            double growthRate, double deathChance) {
         if (deathChance >= 100.0 || growthRate <= 0.0) {
-            if (logEvent) {
+            if (logEvent()) {
                 superLogger.logToFile("  -> Event: Kill plant.", logFile);
             }
-            killPlant();
+            killPlant(plant);
             return true;
         }
 
-        if (cancelDueToGrowthRate()) {
-            if (logEvent) {
+        if (cancelDueToGrowthRate(growthRate)) {
+            if (logEvent()) {
                 superLogger.logToFile("  -> Event canceled due to growth rate.", logFile);
             }
             return true;
         }
 
-        if (cancelDueToDeathChance()) {
-            if (logEvent) {
+        if (cancelDueToDeathChance(plant, plantType, deathChance)) {
+            if (logEvent()) {
                 superLogger.logToFile("  -> Event canceled due to death chance.", logFile);
             }
-            killPlant();
+            killPlant(plant);
             return true;
         }
 
@@ -174,17 +305,17 @@ public abstract class PlantGrowthListener implements Listener {
         Material plantBlockType = plantBlock.getType();
         Block returnBlock = plantBlock;
 
-        if (logEvent) {
+        if (logEvent()) {
             superLogger.logToFile("  getRootBlockOf(): Starting with plantBlock: " + plantBlock, logFile);
         }
 
         if (versionMapper.isUpwardsGrowingPlant(plantBlockType)) {
-            if (logEvent) {
+            if (logEvent()) {
                 superLogger.logToFile("    Searching downwards.", logFile);
             }
             returnBlock = iterateThroughPlantBlocks(plantBlock, BlockFace.DOWN);
         } else if (versionMapper.isDownwardsGrowingPlant(plantBlockType)) {
-            if (logEvent) {
+            if (logEvent()) {
                 superLogger.logToFile("    Searching upwards.", logFile);
             }
             returnBlock = iterateThroughPlantBlocks(plantBlock, BlockFace.UP);
@@ -194,7 +325,7 @@ public abstract class PlantGrowthListener implements Listener {
             // TODO: Handling special cases like Vines or Glow Lichen here.
         }
 
-        if (logEvent) {
+        if (logEvent()) {
             superLogger.logToFile("  getRootBlockOf(): Found root block: " + returnBlock, logFile);
         }
 
@@ -239,6 +370,10 @@ public abstract class PlantGrowthListener implements Listener {
      * @return {@code true} if the event should be canceled due to the growth rate, {@code false} otherwise.
      */
     protected boolean cancelDueToGrowthRate() {
+        return cancelDueToGrowthRate(growthRate);
+    }
+
+    private static boolean cancelDueToGrowthRate(double growthRate) {
         return (Math.random() * 100) > growthRate;
     }
 
@@ -252,25 +387,29 @@ public abstract class PlantGrowthListener implements Listener {
      * @return {@code true} if the event should be canceled due to the death chance, {@code false} otherwise.
      */
     protected boolean cancelDueToDeathChance() {
-        if (eventBlock.getBlockData() instanceof Ageable crop) {
-            if ((crop.getAge() != crop.getMaximumAge()) && versionMapper.isAgriculturalPlant(eventBlock)) {
+        return cancelDueToDeathChance(eventBlock, eventBlockType, deathChance);
+    }
+
+    private boolean cancelDueToDeathChance(@NotNull Block plant, @NotNull Material plantType, double deathChance) {
+        if (plant.getBlockData() instanceof Ageable crop) {
+            if ((crop.getAge() != crop.getMaximumAge()) && versionMapper.isAgriculturalPlant(plant)) {
                 deathChance /= crop.getMaximumAge();
 
-                if (logEvent)
+                if (logEvent())
                     superLogger.verbose("Adjusted DeathChance using Ageable interface.");
 
-            } else if (eventBlockType == Material.BAMBOO) {
+            } else if (plantType == Material.BAMBOO) {
                 deathChance /= 14;
 
-                if (logEvent)
+                if (logEvent())
                     superLogger.verbose("Adjusted DeathChance for Bamboo using Ageable interface.");
 
             } else {
-                if (logEvent)
+                if (logEvent())
                     superLogger.verbose("Full DeathChance used with Ageable interface.");
             }
 
-            if (logEvent)
+            if (logEvent())
                 superLogger.logToFile("  Crop age: " + crop.getAge() + " / " + crop.getMaximumAge(), logFile);
         }
         return (Math.random() * 100) < deathChance;
@@ -283,8 +422,12 @@ public abstract class PlantGrowthListener implements Listener {
      * </p>
      */
     protected void killPlant() {
+        killPlant(eventBlock);
+    }
+
+    private void killPlant(@NotNull Block plant) {
         PlantKiller pk = new PlantKiller();
-        pk.killPlant(eventBlock);
+        pk.killPlant(plant);
     }
 
     /**
@@ -295,8 +438,12 @@ public abstract class PlantGrowthListener implements Listener {
      * </p>
      */
     protected void checkFertilizerUsage() {
+        checkFertilizerUsage(surrounding);
+    }
+
+    private void checkFertilizerUsage(@NotNull Surrounding surrounding) {
         if (surrounding.usedFertilizer() && !configManager.isFertilizer_passive()) {
-            if (logEvent) {
+            if (logEvent()) {
                 superLogger.logToFile("  Fertilizer was used.", logFile);
                 superLogger.logToFile("  Reducing fill level of the closest composter.", logFile);
             }
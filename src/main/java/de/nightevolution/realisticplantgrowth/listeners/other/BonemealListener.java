@@ -20,7 +20,6 @@ public class BonemealListener implements Listener {
 
     // Log data
     private final String logFile;
-    private final boolean logEvent;
     private RealisticPlantGrowth instance;
     private VersionMapper versionMapper;
     private Logger logger;
@@ -41,7 +40,6 @@ public class BonemealListener implements Listener {
         instance.getServer().getPluginManager().registerEvents(this, instance);
 
         // Set up logging specific for block fertilization events
-        logEvent = RealisticPlantGrowth.isDebug() && instance.getConfigManager().isBonemeal_log();
         logFile = "Bonemeal";
     }
 
@@ -58,7 +56,7 @@ public class BonemealListener implements Listener {
     @EventHandler(priority = EventPriority.HIGHEST, ignoreCancelled = true)
     public void onPlayerBonemealEvent(@NotNull PlayerInteractEvent e) {
 
-        if (logEvent) {
+        if (logEvent()) {
             logger.logToFile("", logFile);
             logger.logToFile("-------------------- Player Bonemeal Event --------------------", logFile);
             logger.logToFile("  Player: " + e.getPlayer().getName(), logFile);
@@ -68,7 +66,7 @@ public class BonemealListener implements Listener {
         eventWorld = e.getPlayer().getWorld();
 
         if (instance.isWorldDisabled(eventWorld)) {
-            if (logEvent) {
+            if (logEvent()) {
                 logger.logToFile("  -> World is disabled for RealisticPlantGrowth.", logFile);
             }
             return;
@@ -78,7 +76,7 @@ public class BonemealListener implements Listener {
             return;
         }
 
-        if (logEvent) {
+        if (logEvent()) {
             logEventData();
             logger.logToFile("  Initialized BlockBonemealEvent.", logFile);
         }
@@ -98,4 +96,11 @@ public class BonemealListener implements Listener {
         logger.logToFile("    Location: " + eventLocation, logFile);
         logger.logToFile("    World: " + eventWorld.getName(), logFile);
     }
-}
\ No newline at end of file
+
+    /**
+     * Checks if events are logged. Read on every event, so a reload takes effect immediately.
+     */
+    private boolean logEvent() {
+        return RealisticPlantGrowth.isDebug() && instance.getConfigManager().isBonemeal_log();
+    }
+}
@@ -0,0 +1,172 @@
+package de.nightevolution.realisticplantgrowth.listeners.other;
+
+import de.nightevolution.realisticplantgrowth.RealisticPlantGrowth;
+import de.nightevolution.realisticplantgrowth.utils.Logger;
+import de.nightevolution.realisticplantgrowth.utils.index.ChangeJournal;
+import de.nightevolution.realisticplantgrowth.utils.plant.GreenhouseRegistry;
+import org.bukkit.block.Block;
+import org.bukkit.block.BlockState;
+import org.bukkit.event.EventHandler;
+import org.bukkit.event.EventPriority;
+import org.bukkit.event.Listener;
+import org.bukkit.event.block.*;
+import org.bukkit.event.entity.EntityChangeBlockEvent;
+import org.bukkit.event.entity.EntityExplodeEvent;
+import org.bukkit.event.world.ChunkLoadEvent;
+import org.bukkit.event.world.ChunkUnloadEvent;
+import org.bukkit.event.world.StructureGrowEvent;
+import org.jetbrains.annotations.NotNull;
+
+/**
+ * Records block changes in the {@link ChangeJournal} and notifies the {@link GreenhouseRegistry} about them.
+ * <p>
+ * Every event that changes the material of a block is recorded: placing, breaking, burning, fading, forming,
+ * spreading, decaying leaves, flowing fluids, explosions, pistons, entities, structure growth and bonemeal.
+ * Plants growing into the next age keep their material and are not recorded. Block physics updates are
+ * not recorded either, because they don't change blocks themselves and fire constantly in redstone builds.
+ * Chunks are recorded as a whole when they get loaded or unloaded.
+ * </p>
+ * <p>
+ * All handlers run on {@link EventPriority#MONITOR} and ignore cancelled events.
+ * </p>
+ */
+public class ChangeJournalListener implements Listener {
+
+    private final ChangeJournal journal;
+    private final GreenhouseRegistry greenhouses;
+    private final Logger logger;
+
+    /**
+     * Constructs and registers a new {@link ChangeJournalListener}.
+     *
+     * @param instance The main plugin instance of {@link RealisticPlantGrowth}.
+     */
+    public ChangeJournalListener(RealisticPlantGrowth instance) {
+        this.journal = ChangeJournal.get();
+        this.greenhouses = GreenhouseRegistry.get();
+        this.logger = new Logger(this.getClass().getSimpleName(), RealisticPlantGrowth.isVerbose(), RealisticPlantGrowth.isDebug());
+
+        instance.getServer().getPluginManager().registerEvents(this, instance);
+        logger.verbose("Registered new " + this.getClass().getSimpleName() + ".");
+    }
+
+    @EventHandler(priority = EventPriority.MONITOR)
+    public void onChunkLoad(@NotNull ChunkLoadEvent e) {
+        journal.chunkChanged(e.getWorld(), e.getChunk().getX(), e.getChunk().getZ());
+    }
+
+    @EventHandler(priority = EventPriority.MONITOR)
+    public void onChunkUnload(@NotNull ChunkUnloadEvent e) {
+        journal.chunkChanged(e.getWorld(), e.getChunk().getX(), e.getChunk().getZ());
+        greenhouses.chunkUnloaded(e.getWorld(), e.getChunk().getX(), e.getChunk().getZ());
+    }
+
+    @EventHandler(priority = EventPriority.MONITOR, ignoreCancelled = true)
+    public void onBlockGrow(@NotNull BlockGrowEvent e) {
+        // Only plants that grow into another material (e.g. melons) change their surrounding
+        if (e.getBlock().getType() != e.getNewState().getType())
+            markChanged(e.getBlock());
+    }
+
+    @EventHandler(priority = EventPriority.MONITOR, ignoreCancelled = true)
+    public void onBlockSpread(@NotNull BlockSpreadEvent e) {
+        markChanged(e.getBlock());
+    }
+
+    @EventHandler(priority = EventPriority.MONITOR, ignoreCancelled = true)
+    public void onBlockFromTo(@NotNull BlockFromToEvent e) {
+        markChanged(e.getToBlock());
+    }
+
+    @EventHandler(priority = EventPriority.MONITOR, ignoreCancelled = true)
+    public void onEntityChangeBlock(@NotNull EntityChangeBlockEvent e) {
+        if (e.getBlock().getType() != e.getTo())
+            markChanged(e.getBlock());
+    }
+
+    @EventHandler(priority = EventPriority.MONITOR, ignoreCancelled = true)
+    public void onBlockFertilize(@NotNull BlockFertilizeEvent e) {
+        for (BlockState state : e.getBlocks()) {
+            markChanged(state.getBlock());
+        }
+    }
+
+    @EventHandler(priority = EventPriority.MONITOR, ignoreCancelled = true)
+    public void onBlockPlace(@NotNull BlockPlaceEvent e) {
+        markChanged(e.getBlockPlaced());
+    }
+
+    @EventHandler(priority = EventPriority.MONITOR, ignoreCancelled = true)
+    public void onBlockBreak(@NotNull BlockBreakEvent e) {
+        markChanged(e.getBlock());
+    }
+
+    @EventHandler(priority = EventPriority.MONITOR, ignoreCancelled = true)
+    public void onBlockBurn(@NotNull BlockBurnEvent e) {
+        markChanged(e.getBlock());
+    }
+
+    @EventHandler(priority = EventPriority.MONITOR, ignoreCancelled = true)
+    public void onBlockFade(@NotNull BlockFadeEvent e) {
+        markChanged(e.getBlock());
+    }
+
+    @EventHandler(priority = EventPriority.MONITOR, ignoreCancelled = true)
+    public void onBlockForm(@NotNull BlockFormEvent e) {
+        markChanged(e.getBlock());
+    }
+
+    @EventHandler(priority = EventPriority.MONITOR, ignoreCancelled = true)
+    public void onLeavesDecay(@NotNull LeavesDecayEvent e) {
+        markChanged(e.getBlock());
+    }
+
+    @EventHandler(priority = EventPriority.MONITOR, ignoreCancelled = true)
+    public void onBlockExplode(@NotNull BlockExplodeEvent e) {
+        for (Block block : e.blockList()) {
+            markChanged(block);
+        }
+    }
+
+    @EventHandler(priority = EventPriority.MONITOR, ignoreCancelled = true)
+    public void onEntityExplode(@NotNull EntityExplodeEvent e) {
+        for (Block block : e.blockList()) {
+            markChanged(block);
+        }
+    }
+
+    @EventHandler(priority = EventPriority.MONITOR, ignoreCancelled = true)
+    public void onPistonExtend(@NotNull BlockPistonExtendEvent e) {
+        markChanged(e.getBlock());
+        for (Block block : e.getBlocks()) {
+            markChanged(block);
+            markChanged(block.getRelative(e.getDirection()));
+        }
+    }
+
+    @EventHandler(priority = EventPriority.MONITOR, ignoreCancelled = true)
+    public void onPistonRetract(@NotNull BlockPistonRetractEvent e) {
+        markChanged(e.getBlock());
+        for (Block block : e.getBlocks()) {
+            markChanged(block);
+            markChanged(block.getRelative(e.getDirection()));
+        }
+    }
+
+    @EventHandler(priority = EventPriority.MONITOR, ignoreCancelled = true)
+    public void onStructureGrow(@NotNull StructureGrowEvent e) {
+        for (BlockState state : e.getBlocks()) {
+            markChanged(state.getBlock());
+        }
+    }
+
+    /**
+     * Records a changed block in the journal and notifies the greenhouse detection.
+     *
+     * @param block The changed {@link Block}.
+     */
+    private void markChanged(@NotNull Block block) {
+        journal.blockChanged(block);
+        greenhouses.blockChanged(block);
+    }
+}
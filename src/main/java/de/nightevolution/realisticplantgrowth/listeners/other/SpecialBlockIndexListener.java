@@ -0,0 +1,200 @@
+package de.nightevolution.realisticplantgrowth.listeners.other;
+
+import de.nightevolution.realisticplantgrowth.RealisticPlantGrowth;
+import de.nightevolution.realisticplantgrowth.utils.Logger;
+import de.nightevolution.realisticplantgrowth.utils.index.SpecialBlockIndex;
+import org.bukkit.Location;
+import org.bukkit.Material;
+import org.bukkit.block.Block;
+import org.bukkit.block.BlockFace;
+import org.bukkit.event.EventHandler;
+import org.bukkit.event.EventPriority;
+import org.bukkit.event.Listener;
+import org.bukkit.event.block.*;
+import org.bukkit.event.entity.EntityChangeBlockEvent;
+import org.bukkit.event.entity.EntityExplodeEvent;
+import org.bukkit.event.inventory.InventoryMoveItemEvent;
+import org.bukkit.event.inventory.InventoryType;
+import org.bukkit.event.player.PlayerInteractEvent;
+import org.bukkit.event.world.ChunkLoadEvent;
+import org.bukkit.event.world.ChunkUnloadEvent;
+import org.bukkit.inventory.Inventory;
+import org.jetbrains.annotations.NotNull;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Keeps the {@link SpecialBlockIndex} up to date.
+ * <p>
+ * Chunks are indexed when they are loaded and dropped when they are unloaded.
+ * UV light sources and composters that get placed, broken, blown up, pushed, burned or faded
+ * are updated in the index. All handlers run on {@link EventPriority#MONITOR} and ignore cancelled events,
+ * so only the final outcome of an event is recorded.
+ * </p>
+ * <p>
+ * Fill level changes of composters don't fire block events. Composters used by players, hoppers or villagers
+ * are re-read after the interaction, so the {@link de.nightevolution.realisticplantgrowth.utils.index.ComposterRegistry}
+ * stays up to date.
+ * </p>
+ */
+public class SpecialBlockIndexListener implements Listener {
+
+    /**
+     * Delay in ticks before blocks moved by a piston are re-read.
+     * Moving blocks are only placed at their destination after the piston animation.
+     */
+    private static final long PISTON_REFRESH_DELAY = 3;
+
+    /**
+     * Delay in ticks before composters are re-read after an interaction.
+     * The new fill level is only set after the event was handled.
+     */
+    private static final long COMPOSTER_REFRESH_DELAY = 1;
+
+    private final SpecialBlockIndex index;
+    private final Logger logger;
+
+    /**
+     * Constructs a new {@link SpecialBlockIndexListener}.
+     *
+     * @param instance The main plugin instance of {@link RealisticPlantGrowth}.
+     */
+    public SpecialBlockIndexListener(RealisticPlantGrowth instance) {
+        this.index = SpecialBlockIndex.get();
+        this.logger = new Logger(this.getClass().getSimpleName(), RealisticPlantGrowth.isVerbose(), RealisticPlantGrowth.isDebug());
+        instance.getServer().getPluginManager().registerEvents(this, instance);
+        logger.verbose("Registered new " + this.getClass().getSimpleName() + ".");
+    }
+
+    @EventHandler(priority = EventPriority.MONITOR)
+    public void onChunkLoad(@NotNull ChunkLoadEvent e) {
+        index.indexChunk(e.getChunk());
+    }
+
+    @EventHandler(priority = EventPriority.MONITOR)
+    public void onChunkUnload(@NotNull ChunkUnloadEvent e) {
+        index.unloadChunk(e.getChunk());
+    }
+
+    @EventHandler(priority = EventPriority.MONITOR, ignoreCancelled = true)
+    public void onBlockPlace(@NotNull BlockPlaceEvent e) {
+        Block placed = e.getBlockPlaced();
+        Material placedType = placed.getType();
+        if (index.isTracked(placedType) || index.isTracked(e.getBlockReplacedState().getType())) {
+            index.updateBlock(placed, placed.getBlockData());
+        }
+    }
+
+    @EventHandler(priority = EventPriority.MONITOR, ignoreCancelled = true)
+    public void onBlockBreak(@NotNull BlockBreakEvent e) {
+        removeIfTracked(e.getBlock());
+    }
+
+    @EventHandler(priority = EventPriority.MONITOR, ignoreCancelled = true)
+    public void onBlockExplode(@NotNull BlockExplodeEvent e) {
+        for (Block block : e.blockList()) {
+            removeIfTracked(block);
+        }
+    }
+
+    @EventHandler(priority = EventPriority.MONITOR, ignoreCancelled = true)
+    public void onEntityExplode(@NotNull EntityExplodeEvent e) {
+        for (Block block : e.blockList()) {
+            removeIfTracked(block);
+        }
+    }
+
+    @EventHandler(priority = EventPriority.MONITOR, ignoreCancelled = true)
+    public void onPistonExtend(@NotNull BlockPistonExtendEvent e) {
+        refreshMovedBlocks(e.getBlocks(), e.getDirection());
+    }
+
+    @EventHandler(priority = EventPriority.MONITOR, ignoreCancelled = true)
+    public void onPistonRetract(@NotNull BlockPistonRetractEvent e) {
+        refreshMovedBlocks(e.getBlocks(), e.getDirection());
+    }
+
+    @EventHandler(priority = EventPriority.MONITOR, ignoreCancelled = true)
+    public void onBlockBurn(@NotNull BlockBurnEvent e) {
+        removeIfTracked(e.getBlock());
+    }
+
+    @EventHandler(priority = EventPriority.MONITOR, ignoreCancelled = true)
+    public void onBlockFade(@NotNull BlockFadeEvent e) {
+        Block block = e.getBlock();
+        if (index.isTracked(block.getType())) {
+            index.updateBlock(block, e.getNewState().getBlockData());
+        }
+    }
+
+    @EventHandler(priority = EventPriority.MONITOR, ignoreCancelled = true)
+    public void onEntityChangeBlock(@NotNull EntityChangeBlockEvent e) {
+        // e.g. farmer villagers filling composters
+        Block block = e.getBlock();
+        if (index.isTracked(block.getType()) || index.isTracked(e.getTo())) {
+            index.updateBlock(block, e.getBlockData());
+        }
+    }
+
+    /**
+     * Composters filled or emptied by players.
+     * Cancelled events are included, because composter interactions handled by this plugin cancel the event
+     * after changing the fill level themselves.
+     */
+    @EventHandler(priority = EventPriority.MONITOR)
+    public void onComposterInteract(@NotNull PlayerInteractEvent e) {
+        Block clickedBlock = e.getClickedBlock();
+        if (e.getAction() == Action.RIGHT_CLICK_BLOCK && clickedBlock != null
+                && clickedBlock.getType() == Material.COMPOSTER && index.isTracked(Material.COMPOSTER)) {
+            index.refreshLater(List.of(clickedBlock), COMPOSTER_REFRESH_DELAY);
+        }
+    }
+
+    /**
+     * Composters filled or emptied by hoppers.
+     */
+    @EventHandler(priority = EventPriority.MONITOR)
+    public void onComposterInventoryMove(@NotNull InventoryMoveItemEvent e) {
+        Inventory composterInventory;
+        if (e.getDestination().getType() == InventoryType.COMPOSTER)
+            composterInventory = e.getDestination();
+        else if (e.getSource().getType() == InventoryType.COMPOSTER)
+            composterInventory = e.getSource();
+        else
+            return;
+
+        Location location = composterInventory.getLocation();
+        if (location != null && index.isTracked(Material.COMPOSTER)) {
+            index.refreshLater(List.of(location.getBlock()), COMPOSTER_REFRESH_DELAY);
+        }
+    }
+
+    /**
+     * Removes the given {@link Block} from the index, if it is a tracked special block.
+     *
+     * @param block The removed {@link Block}.
+     */
+    private void removeIfTracked(@NotNull Block block) {
+        if (index.isTracked(block.getType())) {
+            index.updateBlock(block, Material.AIR.createBlockData());
+        }
+    }
+
+    /**
+     * Schedules a refresh of the source and destination positions of all tracked blocks moved by a piston.
+     *
+     * @param movedBlocks The {@link Block}s moved by the piston.
+     * @param direction   The direction the blocks are moved in.
+     */
+    private void refreshMovedBlocks(@NotNull List<Block> movedBlocks, @NotNull BlockFace direction) {
+        List<Block> toRefresh = new ArrayList<>();
+        for (Block block : movedBlocks) {
+            if (index.isTracked(block.getType())) {
+                toRefresh.add(block);
+                toRefresh.add(block.getRelative(direction));
+            }
+        }
+        index.refreshLater(toRefresh, PISTON_REFRESH_DELAY);
+    }
+}
@@ -47,7 +47,7 @@ public class BlockGrowListener extends PlantGrowthListener {
      */
     @EventHandler(priority = EventPriority.HIGHEST, ignoreCancelled = true)
     public void onPlantGrow(BlockGrowEvent e) {
-        if (logEvent) {
+        if (logEvent()) {
             superLogger.logToFile("", logFile);
             superLogger.logToFile("-------------------- Block Grow Event --------------------", logFile);
         }
@@ -57,13 +57,13 @@ public class BlockGrowListener extends PlantGrowthListener {
             return;
         }
 
-        if (logEvent) {
+        if (logEvent()) {
             superLogger.verbose("  Initialized BlockGrowEvent");
         }
 
         // Handle cases where the event block is AIR by finding the source block.
         if (eventBlockType == Material.AIR) {
-            if (logEvent) {
+            if (logEvent()) {
                 superLogger.log("  AIR Block Grow Event.");
             }
 
@@ -72,10 +72,16 @@ public class BlockGrowListener extends PlantGrowthListener {
             eventBlockType = eventBlock.getType();
         }
 
-        if (logEvent) {
+        if (logEvent()) {
             logEventData();
         }
 
+        // Decide on the next tick, if the surrounding has to be searched in the background first.
+        if (deferToAsyncSearch(e)) {
+            e.setCancelled(true);
+            return;
+        }
+
         // Process the event and determine if it should be cancelled.
         if (!processEvent()) {
             return;
@@ -88,7 +94,7 @@ public class BlockGrowListener extends PlantGrowthListener {
 
         // Handle cases where the growth rate is above 100%.
         if (growthRate > 100) {
-            if (logEvent) {
+            if (logEvent()) {
                 superLogger.logToFile("  Growth rate above 100% not implemented yet!", logFile);
             }
         }
@@ -96,7 +102,7 @@ public class BlockGrowListener extends PlantGrowthListener {
         // Check if fertilizer was used and adjust the composter fill level if necessary.
         checkFertilizerUsage();
 
-        if (logEvent) {
+        if (logEvent()) {
             superLogger.logToFile("  -> Event handled normally.", logFile);
         }
     }
@@ -142,7 +148,7 @@ public class BlockGrowListener extends PlantGrowthListener {
         for (BlockFace blockFace : blockFaceArray) {
             Block relativeEventBlock = eventBlock.getRelative(blockFace);
             if (versionMapper.isGrowEventReturnsAirBlockPlant(relativeEventBlock.getType())) {
-                if (logEvent) {
+                if (logEvent()) {
                     superLogger.logToFile("  getSourceFromAirBlock(): Found source block: " + relativeEventBlock, logFile);
                 }
                 return relativeEventBlock;
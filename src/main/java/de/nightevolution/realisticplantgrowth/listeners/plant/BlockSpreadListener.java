@@ -47,24 +47,30 @@ public class BlockSpreadListener extends PlantGrowthListener {
      */
     @EventHandler(priority = EventPriority.HIGHEST, ignoreCancelled = true)
     public void onPlantGrow(BlockSpreadEvent e) {
-        if (logEvent) {
+        if (logEvent()) {
             superLogger.logToFile("", logFile);
             superLogger.logToFile("-------------------- Block Spread Event --------------------", logFile);
         }
 
         // Initialize event data from the BlockSpreadEvent
         if (!initEventData(e)) {
-            if (logEvent) {
+            if (logEvent()) {
                 superLogger.logToFile("  -> World is disabled for RealisticPlantGrowth.", logFile);
             }
             return;
         }
 
-        if (logEvent) {
+        if (logEvent()) {
             logEventData();
             superLogger.logToFile("  Initialized BlockSpreadEvent.", logFile);
         }
 
+        // Decide on the next tick, if the surrounding has to be searched in the background first.
+        if (deferToAsyncSearch(e)) {
+            e.setCancelled(true);
+            return;
+        }
+
         // Process the event and determine if it should proceed
         if (!processEvent()) {
             return;
@@ -79,7 +85,7 @@ public class BlockSpreadListener extends PlantGrowthListener {
         // Check for fertilizer usage
         checkFertilizerUsage();
 
-        if (logEvent) {
+        if (logEvent()) {
             superLogger.logToFile("  -> Event handled normally.", logFile);
         }
     }
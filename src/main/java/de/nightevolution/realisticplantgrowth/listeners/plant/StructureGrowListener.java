@@ -27,12 +27,15 @@ public class StructureGrowListener extends PlantGrowthListener {
      */
     public StructureGrowListener(RealisticPlantGrowth instance) {
         super(instance);
-        // Configure logging based on the debug settings and configuration
-        logEvent = RealisticPlantGrowth.isDebug() && instance.getConfigManager().isStructure_log();
         // Set log file name for this listener
         logFile = "StructureGrowEvent";
     }
 
+    @Override
+    protected boolean logEvent() {
+        return RealisticPlantGrowth.isDebug() && configManager.isStructure_log();
+    }
+
     /**
      * Handles the StructureGrowEvent to manage organic structure growth.
      * <p>
@@ -43,14 +46,14 @@ public class StructureGrowListener extends PlantGrowthListener {
      */
     @EventHandler(priority = EventPriority.HIGHEST, ignoreCancelled = true)
     public void onPlantGrow(StructureGrowEvent e) {
-        if (logEvent) {
+        if (logEvent()) {
             superLogger.logToFile("", logFile);
             superLogger.logToFile("-------------------- Structure Grow Event --------------------", logFile);
         }
 
         // Initialize event data from the StructureGrowEvent
         if (!initEventData(e)) {
-            if (logEvent) {
+            if (logEvent()) {
                 superLogger.logToFile("  -> World is disabled for RealisticPlantGrowth.", logFile);
             }
             return;
@@ -69,7 +72,7 @@ public class StructureGrowListener extends PlantGrowthListener {
         // Check for fertilizer usage
         checkFertilizerUsage();
 
-        if (logEvent) {
+        if (logEvent()) {
             superLogger.logToFile("  -> Event handled normally.", logFile);
         }
     }
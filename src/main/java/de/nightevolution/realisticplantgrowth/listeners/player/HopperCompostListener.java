@@ -25,7 +25,6 @@ public class HopperCompostListener implements Listener {
 
     private final ConfigManager cm;
     private final Logger logger;
-    private final boolean logEvent;
     private static final String LOG_FILE = "Bonemeal";
 
     /**
@@ -35,7 +34,6 @@ public class HopperCompostListener implements Listener {
      */
     public HopperCompostListener(RealisticPlantGrowth instance) {
         this.cm = instance.getConfigManager();
-        this.logEvent = RealisticPlantGrowth.isDebug() && cm.isBonemeal_log();
 
         this.logger = new Logger(this.getClass().getSimpleName(), RealisticPlantGrowth.isVerbose(), RealisticPlantGrowth.isDebug());
         instance.getServer().getPluginManager().registerEvents(this, instance);
@@ -50,7 +48,7 @@ public class HopperCompostListener implements Listener {
      */
     @EventHandler(priority = EventPriority.NORMAL, ignoreCancelled = true)
     public void onHopperComposterInteraction(InventoryMoveItemEvent e) {
-        if (logEvent) logEventDetails(e);
+        if (logEvent()) logEventDetails(e);
 
         final ItemStack item = e.getItem();
         if (item.getType() != Material.BONE_MEAL || item.getAmount() <= 0) return;
@@ -99,7 +97,7 @@ public class HopperCompostListener implements Listener {
         item.setAmount(item.getAmount() - 1);
 
         // Logging
-        if (logEvent) {
+        if (logEvent()) {
             logger.logToFile(String.format("  Composter accepted bonemeal at %s, level increased to %d",
                     composterBlock.getLocation(), newLevel), LOG_FILE);
         }
@@ -113,7 +111,7 @@ public class HopperCompostListener implements Listener {
     private void handleBonemealOutput(InventoryMoveItemEvent e) {
         e.setCancelled(true);
 
-        if (logEvent) {
+        if (logEvent()) {
             logger.logToFile("  Cancelled bonemeal extraction from composter.", LOG_FILE);
         }
     }
@@ -130,4 +128,11 @@ public class HopperCompostListener implements Listener {
         logger.logToFile("  Destination: " + e.getDestination().getType().name(), LOG_FILE);
         logger.logToFile("  Location: " + e.getDestination().getLocation(), LOG_FILE);
     }
+
+    /**
+     * Checks if events are logged. Read on every event, so a reload takes effect immediately.
+     */
+    private boolean logEvent() {
+        return RealisticPlantGrowth.isDebug() && cm.isBonemeal_log();
+    }
 }
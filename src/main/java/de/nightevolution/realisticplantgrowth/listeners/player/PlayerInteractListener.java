@@ -38,7 +38,6 @@ public class PlayerInteractListener implements Listener, PlaceholderInterface {
     private final MessageManager msgManager;
     private final VersionMapper versionMapper;
     private final Random randomNumberGenerator;
-    private final boolean logEvent;
     private static final String LOG_FILE = "PlayerInteractEvent";
 
     private static final HashMap<UUID, Long> playerCooldownMap = new HashMap<>();
@@ -54,9 +53,6 @@ public class PlayerInteractListener implements Listener, PlaceholderInterface {
         this.msgManager = instance.getMessageManager();
         this.versionMapper = instance.getVersionMapper();
 
-        // Enable logging if debug mode is active and player logging is enabled
-        this.logEvent = (RealisticPlantGrowth.isDebug() && cm.isPlayer_log());
-
         logger = new Logger(this.getClass().getSimpleName(), RealisticPlantGrowth.isVerbose(), RealisticPlantGrowth.isDebug());
         instance.getServer().getPluginManager().registerEvents(this, instance);
 
@@ -76,7 +72,7 @@ public class PlayerInteractListener implements Listener, PlaceholderInterface {
 
         Player player = e.getPlayer();
         if (instance.isWorldDisabled(player.getWorld())) {
-            if (logEvent) logger.logToFile("  -> World is disabled for RealisticPlantGrowth.", LOG_FILE);
+            if (logEvent()) logger.logToFile("  -> World is disabled for RealisticPlantGrowth.", LOG_FILE);
             return;
         }
 
@@ -97,7 +93,7 @@ public class PlayerInteractListener implements Listener, PlaceholderInterface {
 
         // Check if growth rate display is enabled
         if (!cm.isDisplay_growth_rates()) {
-            if (logEvent)
+            if (logEvent())
                 logger.logToFile("  display_growth_rates deactivated.", LOG_FILE);
             return;
         }
@@ -114,7 +110,7 @@ public class PlayerInteractListener implements Listener, PlaceholderInterface {
 
         // Check if the player has the required permission
         if (!ePlayer.hasPermission("rpg.info.interact")) {
-            if (logEvent)
+            if (logEvent())
                 logger.logToFile("Player " + ePlayer.getName() + " lacks 'rpg.info.interact' permission.", LOG_FILE);
             return;
         }
@@ -125,7 +121,7 @@ public class PlayerInteractListener implements Listener, PlaceholderInterface {
 
         // getMaterialFromSeed is nullable
         if (plantMaterial == null) {
-            if (logEvent)
+            if (logEvent())
                 logger.logToFile("Could not retrieve plant material from seed material: " + e.getMaterial(), LOG_FILE);
             return;
         }
@@ -137,14 +133,14 @@ public class PlayerInteractListener implements Listener, PlaceholderInterface {
         // Cooldown in milliseconds
         int cooldown = cm.getDisplay_cooldown() * 1000;
         if (lastTime != null) {
-            if (logEvent) {
+            if (logEvent()) {
                 logger.logToFile("  Last interact time: " + lastTime, LOG_FILE);
                 logger.logToFile("  Current time: " + currentTime, LOG_FILE);
                 logger.logToFile("  Cooldown: " + cooldown + " ms", LOG_FILE);
             }
 
             if ((currentTime - lastTime) < cooldown) {
-                if (logEvent)
+                if (logEvent())
                     logger.logToFile("  PlayerInteractEvent triggered during cooldown period.", LOG_FILE);
                 return;
             }
@@ -158,7 +154,7 @@ public class PlayerInteractListener implements Listener, PlaceholderInterface {
         if (ePlayer.getGameMode() == GameMode.CREATIVE)
             e.setCancelled(true);
 
-        if (logEvent) {
+        if (logEvent()) {
             logger.logToFile("  All pre-checks passed.", LOG_FILE);
             logger.logToFile("  Seed material in player's hand: " + e.getMaterial(), LOG_FILE);
             logger.logToFile("  Material derived from seed: " + plantMaterial, LOG_FILE);
@@ -166,7 +162,7 @@ public class PlayerInteractListener implements Listener, PlaceholderInterface {
 
         // Check if the plant's growth is modified by the plugin
         if (!versionMapper.isGrowthModifiedPlant(plantMaterial)) {
-            if (logEvent)
+            if (logEvent())
                 logger.logToFile("  Vanilla behavior for plant material: " + plantMaterial, LOG_FILE);
 
             // Send a message to the player
@@ -179,7 +175,7 @@ public class PlayerInteractListener implements Listener, PlaceholderInterface {
         // Temporarily set the event block state to the plant material
         eventBlockState.setType(plantMaterial);
 
-        if (logEvent)
+        if (logEvent())
             logger.logToFile("  Growth Modifier Data:", LOG_FILE);
 
         // Calculate the surrounding environment's effect on the plant's growth
@@ -188,7 +184,7 @@ public class PlayerInteractListener implements Listener, PlaceholderInterface {
         double growthRate = surrounding.getGrowthRate();
         double deathChance = surrounding.getDeathChance();
 
-        if (logEvent) {
+        if (logEvent()) {
             logger.logToFile("    Growth rate: " + growthRate, LOG_FILE);
             logger.logToFile("    Death chance: " + deathChance, LOG_FILE);
             logger.logToFile("    Biome: " + surrounding.getBiome(), LOG_FILE);
@@ -260,7 +256,7 @@ public class PlayerInteractListener implements Listener, PlaceholderInterface {
         final float compostChance = getCompostChance(heldMaterial);
 
         if (compostChance <= 0.0f) {
-            if (logEvent) logger.logToFile("  Item '" + heldMaterial + "' is not compostable.", LOG_FILE);
+            if (logEvent()) logger.logToFile("  Item '" + heldMaterial + "' is not compostable.", LOG_FILE);
             return;
         }
 
@@ -288,7 +284,7 @@ public class PlayerInteractListener implements Listener, PlaceholderInterface {
         assert itemsAvailable >= itemsConsumed :
                 "Consumed more items than available. ItemsAvailable=" + itemsAvailable + ", Consumed=" + itemsConsumed;
 
-        if (logEvent) {
+        if (logEvent()) {
             logger.logToFile("  Material: " + heldMaterial, LOG_FILE);
             logger.logToFile("  Compost chance: " + compostChance, LOG_FILE);
             logger.logToFile("  Compost successes applied: " + compostSuccesses, LOG_FILE);
@@ -303,7 +299,7 @@ public class PlayerInteractListener implements Listener, PlaceholderInterface {
         updateComposterLevel(composterBlock, composterData, currentLevel + compostSuccesses);
         e.setCancelled(true);
 
-        if (logEvent) {
+        if (logEvent()) {
             logger.logToFile("  Composter at " + composterBlock.getLocation() +
                     " quick-filled to level " + (currentLevel + compostSuccesses) + ".", LOG_FILE);
         }
@@ -330,7 +326,7 @@ public class PlayerInteractListener implements Listener, PlaceholderInterface {
         updateComposterLevel(composterBlock, composterData, newLevel);
         e.setCancelled(true);
 
-        if (logEvent) {
+        if (logEvent()) {
             logger.logToFile("  Bonemeal applied to composter. New level: " + newLevel, LOG_FILE);
         }
     }
@@ -344,7 +340,7 @@ public class PlayerInteractListener implements Listener, PlaceholderInterface {
             final Levelled composterData = (Levelled) composterBlock.getBlockData();
             final boolean isFull = composterData.getLevel() >= composterData.getMaximumLevel();
             if (isFull) {
-                if (logEvent) {
+                if (logEvent()) {
                     logger.logToFile("  Bonemeal output is disabled. Prevented player from extracting.", LOG_FILE);
                 }
                 return false;
@@ -382,7 +378,7 @@ public class PlayerInteractListener implements Listener, PlaceholderInterface {
             player.getInventory().setItem(playerHand, null);
             player.updateInventory(); // Only needed when removing the item completely
 
-            if (logEvent) {
+            if (logEvent()) {
                 logger.logToFile("  All items in hand were consumed.", LOG_FILE);
                 logger.logToFile("  -> ItemStack removed from player inventory.", LOG_FILE);
             }
@@ -443,7 +439,7 @@ public class PlayerInteractListener implements Listener, PlaceholderInterface {
     }
 
     private void logEventHeader(PlayerInteractEvent e) {
-        if (logEvent) {
+        if (logEvent()) {
             logger.logToFile("", LOG_FILE);
             logger.logToFile("-------------------- Player Interact Event --------------------", LOG_FILE);
             logger.logToFile("  Player: " + e.getPlayer().getName(), LOG_FILE);
@@ -462,4 +458,12 @@ public class PlayerInteractListener implements Listener, PlaceholderInterface {
     public static void clearPlayerCooldownData(UUID uuid) {
         playerCooldownMap.remove(uuid);
     }
-}
\ No newline at end of file
+
+    /**
+     * Enables logging if debug mode is active and player logging is enabled.
+     * Read on every event, so a reload takes effect immediately.
+     */
+    private boolean logEvent() {
+        return RealisticPlantGrowth.isDebug() && cm.isPlayer_log();
+    }
+}
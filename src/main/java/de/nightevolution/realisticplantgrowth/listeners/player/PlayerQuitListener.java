@@ -20,7 +20,6 @@ public class PlayerQuitListener implements Listener {
     private final RealisticPlantGrowth instance;
     private final Logger logger;
     private final BukkitScheduler scheduler;
-    private final boolean logEvent;
 
     /**
      * Constructs a new {@link PlayerQuitListener} instance.
@@ -33,9 +32,6 @@ public class PlayerQuitListener implements Listener {
         instance.getServer().getPluginManager().registerEvents(this, instance);
         logger.verbose("Registered new " + this.getClass().getSimpleName() + ".");
         scheduler = Bukkit.getScheduler();
-
-        // Enable logging if debug mode is active and player logging is enabled
-        this.logEvent = (RealisticPlantGrowth.isDebug() && instance.getConfigManager().isPlayer_log());
     }
 
     /**
@@ -47,7 +43,7 @@ public class PlayerQuitListener implements Listener {
     public void onPlayerQuitEvent(PlayerQuitEvent e) {
         UUID quittingPlayer = e.getPlayer().getUniqueId();
 
-        if (logEvent) {
+        if (logEvent()) {
             logger.logToFile("", "PlayerInteractEvent");
             logger.logToFile("-------------------- Player Quit Event --------------------\"", "PlayerInteractEvent");
             logger.logToFile("  Clearing '" + e.getPlayer().getName() + "'s cooldown.", "PlayerInteractEvent");
@@ -57,4 +53,12 @@ public class PlayerQuitListener implements Listener {
             PlayerInteractListener.clearPlayerCooldownData(quittingPlayer);
         });
     }
+
+    /**
+     * Enables logging if debug mode is active and player logging is enabled.
+     * Read on every event, so a reload takes effect immediately.
+     */
+    private boolean logEvent() {
+        return RealisticPlantGrowth.isDebug() && instance.getConfigManager().isPlayer_log();
+    }
 }
@@ -3,12 +3,15 @@ package de.nightevolution.realisticplantgrowth.utils.biome;
 import de.nightevolution.realisticplantgrowth.ConfigManager;
 import de.nightevolution.realisticplantgrowth.RealisticPlantGrowth;
 import de.nightevolution.realisticplantgrowth.utils.Logger;
+import de.nightevolution.realisticplantgrowth.utils.index.SpecialBlockIndex;
 import de.nightevolution.realisticplantgrowth.utils.mapper.MaterialMapper;
 import dev.dejvokep.boostedyaml.block.implementation.Section;
 import dev.dejvokep.boostedyaml.route.Route;
+import org.bukkit.Bukkit;
 import org.bukkit.Material;
 import org.bukkit.NamespacedKey;
 import org.bukkit.block.Biome;
+import org.bukkit.scheduler.BukkitTask;
 import org.jetbrains.annotations.NotNull;
 import org.jetbrains.annotations.Nullable;
 
@@ -17,6 +20,13 @@ import java.util.*;
 /**
  * Utility class for checking if a given plant {@link Material} and {@link Biome} combination is valid
  * based on configured BiomeGroups and Default Biomes.
+ * <p>
+ * Biomes are identified by their id of the {@link BiomeRegistry}, so all comparisons are bit tests on the
+ * {@link BitSet}s of the BiomeGroups and Default Biomes. The result of every combination is cached in a table
+ * indexed by the plant ordinal and the biome id, so the configuration is only evaluated once per combination.
+ * The cache is dropped by {@link #clearCache()} on every reload and filled again by {@link #warmUp()}.
+ * All methods must be called on the main thread.
+ * </p>
  */
 public class BiomeChecker {
     private final RealisticPlantGrowth instance;
@@ -24,17 +34,41 @@ public class BiomeChecker {
     private final Logger logger;
 
     private final Material plantMaterial;
-    private Biome currentBiome;
-    private String currentBiomeNameSpace;
+    private final int biomeId;
 
     private static final Route biomeGroupsListRoute = Route.from("BiomeGroup", "Groups");
     private static final Route defaultBiomeListRoute = Route.from("Default", "Biome");
-    private final Route currentPlantRoute;
 
     private String matchingBiomeGroup;
     private Section plantSection;
 
-    private final static Map<Material, Biome> validBiomesCache = new HashMap<>();
+    /**
+     * Cached result of a combination that wasn't checked yet.
+     */
+    private static final byte UNKNOWN = 0;
+
+    /**
+     * Cached result of an invalid combination. Valid combinations store {@code VALID + group slot}.
+     */
+    private static final byte INVALID = 1;
+    private static final byte VALID = 2;
+
+    /**
+     * Cached results indexed by the plant ordinal and the biome id. Each row grows with the number of biome ids.
+     */
+    private static final byte[][] validBiomesCache = new byte[Material.values().length][];
+
+    /**
+     * Resolved Default Biomes of every plant, indexed by the plant ordinal.
+     * {@code null} until first use. Plants with {@code ALL} Default Biomes use {@link #ALL_BIOMES}.
+     */
+    private static final BitSet[] defaultBiomesCache = new BitSet[Material.values().length];
+    private static final BitSet ALL_BIOMES = new BitSet(0);
+
+    /**
+     * Running task filling the {@link #validBiomesCache} in the background, or {@code null}.
+     */
+    private static BukkitTask warmupTask;
 
 
 
@@ -45,19 +79,7 @@ public class BiomeChecker {
      * @param currentBiomeNameSpace  The current {@link org.bukkit.NamespacedKey} of a {@link Biome} where the plant is located.
      */
     public BiomeChecker(@NotNull Material plantMaterial, @NotNull NamespacedKey currentBiomeNameSpace) {
-        instance = RealisticPlantGrowth.getInstance();
-        this.cm = instance.getConfigManager();
-        MaterialMapper materialMapper = instance.getVersionMapper().getMaterialMapper();
-
-        this.plantMaterial = plantMaterial;
-        this.currentBiomeNameSpace = currentBiomeNameSpace.asString();
-
-        this.currentPlantRoute = materialMapper.getConfigKeyByMaterial(plantMaterial);
-
-        logger = new Logger(this.getClass().getSimpleName(), RealisticPlantGrowth.isVerbose(), RealisticPlantGrowth.isDebug());
-        logger.verbose("Creating new Biome Checker.");
-        logger.verbose("NameSpacedKey: " + currentBiomeNameSpace.asString()); // e.g. terralith:moonlight_valley
-        initPlantSection();
+        this(plantMaterial, BiomeRegistry.get().getId(currentBiomeNameSpace));
     }
 
 
@@ -69,28 +91,41 @@ public class BiomeChecker {
      */
     @Deprecated
     public BiomeChecker(@NotNull Material plantMaterial, @NotNull Biome currentBiome) {
+        this(plantMaterial, BiomeRegistry.get().getId(currentBiome.getKey()));
+    }
+
+
+    /**
+     * Constructs a {@link BiomeChecker} for a specific plant {@link Material} and biome id.
+     *
+     * @param plantMaterial The {@link Material} of the plant.
+     * @param biomeId       The id of the biome in the {@link BiomeRegistry} where the plant is located.
+     */
+    public BiomeChecker(@NotNull Material plantMaterial, int biomeId) {
         instance = RealisticPlantGrowth.getInstance();
         this.cm = instance.getConfigManager();
-        MaterialMapper materialMapper = instance.getVersionMapper().getMaterialMapper();
 
         this.plantMaterial = plantMaterial;
-        this.currentBiome = currentBiome;
-
-        this.currentPlantRoute = materialMapper.getConfigKeyByMaterial(plantMaterial);
+        this.biomeId = biomeId;
 
         logger = new Logger(this.getClass().getSimpleName(), RealisticPlantGrowth.isVerbose(), RealisticPlantGrowth.isDebug());
-        logger.verbose("Creating new Biome Checker.");
-        if (RealisticPlantGrowth.isVerbose())
-            logger.logToFile("BiomeKey: " + currentBiome.getKey(), "verbose");
-        initPlantSection();
+        if (logger.isVerbose()) {
+            logger.verbose("Creating new Biome Checker.");
+            logger.verbose("NameSpacedKey: " + BiomeRegistry.get().getKey(biomeId)); // e.g. terralith:moonlight_valley
+        }
     }
 
 
     /**
-     * Initializes the plant {@link Section} from the {@link ConfigManager}.
+     * Initializes the plant {@link Section} from the {@link ConfigManager}, if it wasn't initialized yet.
      * Throws an exception if the section cannot be obtained.
      */
     private void initPlantSection() {
+        if (plantSection != null)
+            return;
+
+        MaterialMapper materialMapper = instance.getVersionMapper().getMaterialMapper();
+        Route currentPlantRoute = materialMapper.getConfigKeyByMaterial(plantMaterial);
         logger.verbose(currentPlantRoute.toString());
         Optional<Section> optionalSection = cm.getGrowthModifierSection(currentPlantRoute);
         if (optionalSection.isEmpty()) {
@@ -104,98 +139,191 @@ public class BiomeChecker {
     /**
      * Checks if the configured BiomeGroups include the current {@link Biome}.
      *
-     * @return true if the current {@link Biome} is in any BiomeGroup, false otherwise.
+     * @param biomeId The id of the biome to check.
+     * @return the position of the first matching BiomeGroup in the BiomeGroup list (starting at 1), or 0 if none matches.
      */
-    private boolean checkBiomeGroups() {
+    private int checkBiomeGroups(int biomeId) {
+        BiomeRegistry registry = BiomeRegistry.get();
         List<String> biomeGroupStringList = getBiomeGroupStringList();
-        if (!biomeGroupStringList.isEmpty()) {
-            for (String biomeGroup : biomeGroupStringList) {
-                if (instance.isPaperFork()) {
-                    // TODO: ConfigManager getBiomeSetOfBiomeGroup need to return Strings
-                    for (String biomeString : cm.getBiomeSetOfBiomeGroup(biomeGroup)) {
-                        logger.verbose("returned String: " + biomeString);
-                        logger.verbose("String to check: " + currentBiomeNameSpace);
-                        if (biomeString.equalsIgnoreCase(currentBiomeNameSpace)){
-                            matchingBiomeGroup = biomeGroup;
-                            return true;
-                        }
-                    }
-                } else {
-                    for (String biomeString : cm.getBiomeSetOfBiomeGroup(biomeGroup)) {
-                        logger.verbose("returned String: " + biomeString);
-                        logger.verbose("String to check: " + currentBiome);
-                        if (biomeString.equalsIgnoreCase(currentBiome.toString())){
-                            matchingBiomeGroup = biomeGroup;
-                            return true;
-                        }
-                    }
-                }
-            }
+
+        for (int i = 0; i < biomeGroupStringList.size(); i++) {
+            BitSet biomeGroup = registry.getGroup(biomeGroupStringList.get(i));
+            if (biomeGroup != null && biomeGroup.get(biomeId))
+                return i + 1;
         }
-        return false;
+        return 0;
     }
 
     /**
      * Checks if the configured Default {@link Biome}s include the current {@link Biome}.
      *
+     * @param biomeId The id of the biome to check.
      * @return true if the current {@link Biome} is in the list of Default {@link Biome}s, false otherwise.
      */
-    private boolean checkDefaultBiomes() {
-        Optional<List<String>> optionalStringList = plantSection.getOptionalStringList(defaultBiomeListRoute);
-        List<String> biomeStringList = optionalStringList.orElseGet(ArrayList::new);
-        if (!biomeStringList.isEmpty()) {
-            if (biomeStringList.size() == 1 && biomeStringList.getFirst().equalsIgnoreCase("ALL"))
-                return true;
+    private boolean checkDefaultBiomes(int biomeId) {
+        BitSet defaultBiomes = defaultBiomesCache[plantMaterial.ordinal()];
+        if (defaultBiomes == null) {
+            List<String> biomeStringList = getDefaultBiomes();
+            if (biomeStringList.size() == 1 && biomeStringList.getFirst().equals("ALL"))
+                defaultBiomes = ALL_BIOMES;
+            else
+                defaultBiomes = BiomeRegistry.get().resolve(biomeStringList);
+            defaultBiomesCache[plantMaterial.ordinal()] = defaultBiomes;
+        }
+
+        return defaultBiomes == ALL_BIOMES || defaultBiomes.get(biomeId);
+    }
+
+    /**
+     * Drops all cached results. Must be called after every configuration (re)load.
+     */
+    public static void clearCache() {
+        Arrays.fill(validBiomesCache, null);
+        Arrays.fill(defaultBiomesCache, null);
+    }
 
-            if (instance.isPaperFork()) {
+    /**
+     * Evaluates every combination of a growth modified plant and a biome of the {@link BiomeRegistry} in the
+     * background, so growth events after a (re)load only read the cache. Takes at most {@code warmup_tick_budget}
+     * milliseconds of every tick and waits while the {@link SpecialBlockIndex} is warming up.
+     * Combinations already checked by growth events are skipped. Must be called after {@link #clearCache()}.
+     */
+    public static void warmUp() {
+        if (warmupTask != null) {
+            warmupTask.cancel();
+            warmupTask = null;
+        }
 
-                // Handles given namespaced biome key in the default Biome section
-                if (biomeStringList.contains(currentBiomeNameSpace)){
-                    return true;
-                }
+        RealisticPlantGrowth instance = RealisticPlantGrowth.getInstance();
+        CacheWarmup warmup = new CacheWarmup(instance.getVersionMapper().getMaterialMapper().getGrowthModifiedPlants(),
+                (long) (instance.getConfigManager().getWarmup_tick_budget() * 1_000_000L));
+
+        if (warmup.budget <= 0) {
+            // No budget configured: evaluate everything right away
+            warmup.run();
+        } else {
+            warmupTask = Bukkit.getScheduler().runTaskTimer(instance, warmup, 1L, 1L);
+        }
+    }
+
+    /**
+     * Fills the cache plant by plant, one {@link BiomeChecker} per plant.
+     */
+    private static final class CacheWarmup implements Runnable {
+        private final Iterator<Material> plants;
+        private final int plantCount;
+        private final int biomeCount = BiomeRegistry.get().size();
+        private final long budget;
+        private final long start = System.currentTimeMillis();
+
+        private BiomeChecker checker;
+        private int nextBiomeId;
+        private int evaluated;
+
+        private CacheWarmup(@NotNull Set<Material> plants, long budget) {
+            this.plants = new ArrayList<>(plants).iterator();
+            this.plantCount = plants.size();
+            this.budget = budget;
+        }
 
-                // Check if Bukkit Biome name match
-                for (String biomeString : biomeStringList) {
-                    // provided a namespaced key in the default biome list
-                    try {
-                        Biome vanillaBiome = Biome.valueOf(biomeString);
-                        if (vanillaBiome.getKey().asString().equalsIgnoreCase(currentBiomeNameSpace)) {
-                            return true;
-                        }
-                    } catch (IllegalArgumentException ignored) {
-                        logger.verbose("Not a vanilla Biome: " + biomeString);
+        @Override
+        public void run() {
+            if (budget > 0 && SpecialBlockIndex.get().isWarmingUp())
+                return;
+
+            long deadline = System.nanoTime() + budget;
+            while (budget <= 0 || System.nanoTime() < deadline) {
+                if (checker == null || nextBiomeId >= biomeCount) {
+                    if (!plants.hasNext() || biomeCount == 0) {
+                        finish();
+                        return;
                     }
+                    checker = new BiomeChecker(plants.next(), 0);
+                    nextBiomeId = 0;
                 }
 
-                // return false, if nothing matched currentBiomeNameSpace
-                return false;
-
-            } else {
-                logger.verbose("currentBiomeNameSpaceString: " + currentBiome.getKey().asString());
-                return (cm.getCheckedBiomeSet(biomeStringList).contains(currentBiome.getKey().asString()));
+                try {
+                    checker.getCachedResult(nextBiomeId++);
+                    evaluated++;
+                } catch (IllegalArgumentException e) {
+                    // Missing GrowthModifier section, already logged by the checker
+                    nextBiomeId = biomeCount;
+                }
             }
+        }
 
+        private void finish() {
+            if (warmupTask != null) {
+                warmupTask.cancel();
+                warmupTask = null;
+            }
+            checker = null;
+            new Logger(BiomeChecker.class.getSimpleName(), RealisticPlantGrowth.isVerbose(), RealisticPlantGrowth.isDebug())
+                    .verbose("Biome warm-up finished: " + evaluated + " combinations of " + plantCount + " plants in " +
+                            (System.currentTimeMillis() - start) + " ms.");
         }
-        return false;
     }
 
-    public static void clearCache() {
-        validBiomesCache.clear();
+    /**
+     * Checks if the plant can grow in the current biome.
+     * The configuration is only evaluated on the first check of a plant and biome combination.
+     *
+     * @return true if the current {@link Biome} is in a BiomeGroup or the Default Biomes of the plant.
+     */
+    public boolean isValid() {
+        return getCachedResult() != INVALID;
     }
 
-    public boolean isValid() {
-        // TODO: implement caching
-        return (checkBiomeGroups() || checkDefaultBiomes());
+    /**
+     * Retrieves the slot of the matching BiomeGroup, as used by the
+     * {@link de.nightevolution.realisticplantgrowth.utils.plant.GrowthDecisionTable}.
+     *
+     * @return the position of the matching BiomeGroup in the BiomeGroup list of the plant (starting at 1),
+     * or 0 if no BiomeGroup matches.
+     */
+    public int getMatchingGroupSlot() {
+        int result = getCachedResult();
+        return result == INVALID ? 0 : result - VALID;
+    }
+
+    /**
+     * Looks up the result of the current plant and biome combination and evaluates it on a cache miss.
+     */
+    private int getCachedResult() {
+        return getCachedResult(biomeId);
+    }
+
+    private int getCachedResult(int biomeId) {
+        byte[] plantResults = validBiomesCache[plantMaterial.ordinal()];
+        if (plantResults == null || biomeId >= plantResults.length) {
+            plantResults = Arrays.copyOf(plantResults == null ? new byte[0] : plantResults,
+                    Math.max(biomeId + 1, BiomeRegistry.get().size()));
+            validBiomesCache[plantMaterial.ordinal()] = plantResults;
+        }
+
+        if (plantResults[biomeId] == UNKNOWN) {
+            int groupSlot = checkBiomeGroups(biomeId);
+            if (groupSlot > 0)
+                plantResults[biomeId] = (byte) (VALID + groupSlot);
+            else if (checkDefaultBiomes(biomeId))
+                plantResults[biomeId] = VALID;
+            else
+                plantResults[biomeId] = INVALID;
+        }
+
+        return plantResults[biomeId];
     }
 
     @NotNull
     public List<String> getBiomeGroupStringList() {
+        initPlantSection();
         Optional<List<String>> biomeGroupStringList = plantSection.getOptionalStringList(biomeGroupsListRoute);
         return biomeGroupStringList.orElseGet(ArrayList::new);
     }
 
     @NotNull
     public List<String> getDefaultBiomes() {
+        initPlantSection();
         Optional<List<String>> biomeStringList = plantSection.getOptionalStringList(defaultBiomeListRoute);
         List<String> stringList = biomeStringList.orElseGet(ArrayList::new);
 
@@ -208,6 +336,12 @@ public class BiomeChecker {
 
     @Nullable
     public String getMatchingBiomeGroup() {
+        int slot = getMatchingGroupSlot();
+        if (slot == 0)
+            return null;
+
+        if (matchingBiomeGroup == null)
+            matchingBiomeGroup = getBiomeGroupStringList().get(slot - 1);
         return matchingBiomeGroup;
     }
 
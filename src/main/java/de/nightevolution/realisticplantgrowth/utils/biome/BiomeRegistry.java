@@ -0,0 +1,178 @@
+package de.nightevolution.realisticplantgrowth.utils.biome;
+
+import de.nightevolution.realisticplantgrowth.ConfigManager;
+import de.nightevolution.realisticplantgrowth.RealisticPlantGrowth;
+import de.nightevolution.realisticplantgrowth.utils.Logger;
+import org.bukkit.Bukkit;
+import org.bukkit.NamespacedKey;
+import org.bukkit.Registry;
+import org.bukkit.World;
+import org.bukkit.block.Biome;
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+
+import java.util.*;
+
+/**
+ * Assigns every biome a dense {@code int} id and stores the biomes of every group of {@code BiomeGroups.yml}
+ * as a {@link BitSet} of these ids.
+ * <p>
+ * All biomes of the server registry (vanilla and datapack biomes) get their ids on startup.
+ * Biomes that are not part of the registry (e.g. custom biomes of older server versions) get the next free id
+ * on first sight. Ids never change while the plugin is enabled, so cached results stay valid across reloads
+ * as long as they don't depend on the configuration.
+ * </p>
+ * <p>
+ * Biome names in the configuration are resolved once per reload: names containing a namespace
+ * (e.g. {@code terralith:moonlight_valley}) are used as keys, other names must be Bukkit {@link Biome} names.
+ * All methods must be called on the main thread.
+ * </p>
+ */
+public class BiomeRegistry {
+
+    /**
+     * Singleton instance, initialized lazily on first access via {@link #get()}.
+     */
+    private static BiomeRegistry biomeRegistry;
+
+    private final RealisticPlantGrowth instance;
+    private final Logger logger;
+
+    private final Map<NamespacedKey, Integer> biomeIds = new HashMap<>();
+    private final List<NamespacedKey> biomeKeys = new ArrayList<>();
+
+    /**
+     * Biomes of every group of {@code BiomeGroups.yml}, keyed by the group name.
+     */
+    private final Map<String, BitSet> biomeGroups = new HashMap<>();
+
+    private BiomeRegistry() {
+        biomeRegistry = this;
+        instance = RealisticPlantGrowth.getInstance();
+        logger = new Logger(this.getClass().getSimpleName(), RealisticPlantGrowth.isVerbose(), RealisticPlantGrowth.isDebug());
+
+        for (Biome biome : Registry.BIOME) {
+            getId(biome.getKey());
+        }
+        logger.verbose("Registered " + biomeKeys.size() + " biomes.");
+    }
+
+    /**
+     * Retrieves the singleton instance of the {@link BiomeRegistry}.
+     *
+     * @return the singleton {@link BiomeRegistry} instance.
+     */
+    public static BiomeRegistry get() {
+        if (biomeRegistry == null)
+            new BiomeRegistry();
+        return biomeRegistry;
+    }
+
+    /**
+     * Resolves the biomes of all groups of {@code BiomeGroups.yml}.
+     * Must be called after every configuration (re)load.
+     */
+    public void reload() {
+        ConfigManager cm = instance.getConfigManager();
+        biomeGroups.clear();
+
+        for (String biomeGroup : cm.getBiomeGroupNames()) {
+            biomeGroups.put(biomeGroup, resolve(cm.getBiomeGroupEntries(biomeGroup)));
+        }
+        logger.verbose("Resolved " + biomeGroups.size() + " biome groups.");
+    }
+
+    /**
+     * Retrieves the id of a biome and assigns the next free id to unknown biomes.
+     *
+     * @param biomeKey The {@link NamespacedKey} of the biome.
+     * @return The id of the biome.
+     */
+    public int getId(@NotNull NamespacedKey biomeKey) {
+        Integer id = biomeIds.get(biomeKey);
+        if (id == null) {
+            id = biomeKeys.size();
+            biomeIds.put(biomeKey, id);
+            biomeKeys.add(biomeKey);
+        }
+        return id;
+    }
+
+    /**
+     * Retrieves the id of the biome at a block position.
+     * Paper servers resolve the key of custom biomes, Spigot servers only know Bukkit {@link Biome}s.
+     *
+     * @param world The {@link World} of the position.
+     * @param x     The block X coordinate.
+     * @param y     The block Y coordinate.
+     * @param z     The block Z coordinate.
+     * @return The id of the biome.
+     */
+    public int getId(@NotNull World world, int x, int y, int z) {
+        if (instance.isPaperFork())
+            return getId(Bukkit.getUnsafe().getBiomeKey(world, x, y, z));
+        return getId(world.getBiome(x, y, z).getKey());
+    }
+
+    /**
+     * @return the {@link NamespacedKey} of the biome with the given id.
+     */
+    @NotNull
+    public NamespacedKey getKey(int id) {
+        return biomeKeys.get(id);
+    }
+
+    /**
+     * @return the number of assigned ids.
+     */
+    public int size() {
+        return biomeKeys.size();
+    }
+
+    /**
+     * Retrieves the biomes of a group of {@code BiomeGroups.yml}.
+     *
+     * @param biomeGroup The name of the group.
+     * @return The ids of all biomes of the group, or {@code null} if the group is not defined.
+     */
+    @Nullable
+    public BitSet getGroup(@NotNull String biomeGroup) {
+        return biomeGroups.get(biomeGroup);
+    }
+
+    /**
+     * Resolves biome names of the configuration to biome ids.
+     * Invalid names are logged and skipped.
+     *
+     * @param biomeNames Namespaced biome keys or Bukkit {@link Biome} names.
+     * @return The ids of all valid biomes.
+     */
+    @NotNull
+    public BitSet resolve(@NotNull Collection<String> biomeNames) {
+        BitSet biomes = new BitSet(biomeKeys.size());
+        for (String biomeName : biomeNames) {
+            NamespacedKey biomeKey = toKey(biomeName);
+            if (biomeKey != null)
+                biomes.set(getId(biomeKey));
+        }
+        return biomes;
+    }
+
+    @Nullable
+    private NamespacedKey toKey(@NotNull String biomeName) {
+        if (biomeName.contains(":")) {
+            NamespacedKey biomeKey = NamespacedKey.fromString(biomeName.toLowerCase(Locale.ROOT));
+            if (biomeKey == null)
+                logger.warn("Biome '" + biomeName + "' is not a valid namespaced key!");
+            return biomeKey;
+        }
+
+        try {
+            return Biome.valueOf(biomeName).getKey();
+        } catch (IllegalArgumentException e) {
+            logger.warn("Biome '" + biomeName + "' is not a valid Bukkit Biome name!");
+            logger.warn("Include the Namespace of custom Biomes!");
+            return null;
+        }
+    }
+}
@@ -0,0 +1,11 @@
+package de.nightevolution.realisticplantgrowth.utils.enums;
+
+/**
+ * The configuration files of the plugin, used to report which files were changed by a reload.
+ */
+public enum ConfigFile {
+    CONFIG,
+    BIOME_GROUPS,
+    GROWTH_MODIFIERS,
+    LANGUAGE
+}
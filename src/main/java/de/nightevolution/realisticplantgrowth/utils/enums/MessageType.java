@@ -8,6 +8,7 @@ public enum MessageType {
     INFO_CMD_MSG,
     RELOAD_CMD_MSG,
     RELOAD_COMPLETE_MSG,
+    RELOAD_FAILED_MSG,
     GROWTH_RATE_MSG,
     PLANT_NOT_MODIFIED_MSG,
     INFO_CMD_RESULT,
@@ -0,0 +1,140 @@
+package de.nightevolution.realisticplantgrowth.utils.index;
+
+import org.bukkit.World;
+import org.bukkit.block.Block;
+import org.jetbrains.annotations.NotNull;
+
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicLongArray;
+
+/**
+ * Central record of block changes, kept as version stamps per chunk section.
+ * <p>
+ * Every change advances a global clock and stores the new clock value in the slot of the changed section.
+ * A cached value remembers the clock value at the time it was computed (see {@link #now()}) and is still valid,
+ * if no section it depends on has a newer stamp. Sections are hashed into a fixed number of slots,
+ * so collisions can only cause additional invalidations, never missed ones.
+ * </p>
+ * <p>
+ * Recording a change is lock-free and doesn't allocate, so it can be called for every block event.
+ * The journal is filled by the {@link de.nightevolution.realisticplantgrowth.listeners.other.ChangeJournalListener}.
+ * </p>
+ */
+public final class ChangeJournal {
+
+    /**
+     * Singleton instance, initialized lazily on first access via {@link #get()}.
+     */
+    private static ChangeJournal changeJournal;
+
+    private static final int SLOT_BITS = 16;
+    private static final int SLOT_MASK = (1 << SLOT_BITS) - 1;
+
+    private final AtomicLong clock = new AtomicLong();
+    private final AtomicLongArray sectionStamps = new AtomicLongArray(1 << SLOT_BITS);
+
+    private ChangeJournal() {
+        changeJournal = this;
+    }
+
+    /**
+     * Retrieves the singleton instance of the {@link ChangeJournal}.
+     *
+     * @return the singleton {@link ChangeJournal} instance.
+     */
+    public static ChangeJournal get() {
+        if (changeJournal == null)
+            new ChangeJournal();
+        return changeJournal;
+    }
+
+    /**
+     * @return the current clock value. Store it together with a cached value to validate it later.
+     */
+    public long now() {
+        return clock.get();
+    }
+
+    /**
+     * Records a change of a single block.
+     *
+     * @param block The changed {@link Block}.
+     */
+    public void blockChanged(@NotNull Block block) {
+        sectionChanged(block.getWorld(), block.getX() >> 4, block.getY() >> 4, block.getZ() >> 4);
+    }
+
+    /**
+     * Records a change of all sections of a chunk, e.g. because it was loaded or unloaded.
+     *
+     * @param world  The {@link World} of the chunk.
+     * @param chunkX The chunk X coordinate.
+     * @param chunkZ The chunk Z coordinate.
+     */
+    public void chunkChanged(@NotNull World world, int chunkX, int chunkZ) {
+        int maxSection = (world.getMaxHeight() - 1) >> 4;
+        for (int sectionY = world.getMinHeight() >> 4; sectionY <= maxSection; sectionY++) {
+            sectionChanged(world, chunkX, sectionY, chunkZ);
+        }
+    }
+
+    /**
+     * Records a change of a chunk section.
+     *
+     * @param world    The {@link World} of the section.
+     * @param chunkX   The chunk X coordinate.
+     * @param sectionY The section Y coordinate.
+     * @param chunkZ   The chunk Z coordinate.
+     */
+    public void sectionChanged(@NotNull World world, int chunkX, int sectionY, int chunkZ) {
+        long stamp = clock.incrementAndGet();
+        sectionStamps.accumulateAndGet(slotOf(world, chunkX, sectionY, chunkZ), stamp, Math::max);
+    }
+
+    /**
+     * Retrieves the version of a chunk section: the clock value of its last recorded change.
+     *
+     * @return The version of the section, or {@code 0} if no change was recorded.
+     */
+    public long getVersion(@NotNull World world, int chunkX, int sectionY, int chunkZ) {
+        return sectionStamps.get(slotOf(world, chunkX, sectionY, chunkZ));
+    }
+
+    /**
+     * Checks if any section overlapping a block area changed after the given clock value.
+     *
+     * @param world The {@link World} of the area.
+     * @param minX  The minimum block X coordinate.
+     * @param minY  The minimum block Y coordinate.
+     * @param minZ  The minimum block Z coordinate.
+     * @param maxX  The maximum block X coordinate.
+     * @param maxY  The maximum block Y coordinate.
+     * @param maxZ  The maximum block Z coordinate.
+     * @param since The clock value returned by {@link #now()} when the cached value was computed.
+     * @return {@code true} if a block in one of the sections may have changed.
+     */
+    public boolean hasChangedSince(@NotNull World world, int minX, int minY, int minZ, int maxX, int maxY, int maxZ,
+                                   long since) {
+        if (clock.get() == since)
+            return false;
+
+        for (int chunkX = minX >> 4; chunkX <= maxX >> 4; chunkX++) {
+            for (int chunkZ = minZ >> 4; chunkZ <= maxZ >> 4; chunkZ++) {
+                for (int sectionY = minY >> 4; sectionY <= maxY >> 4; sectionY++) {
+                    if (getVersion(world, chunkX, sectionY, chunkZ) > since)
+                        return true;
+                }
+            }
+        }
+        return false;
+    }
+
+    private static int slotOf(@NotNull World world, int chunkX, int sectionY, int chunkZ) {
+        long hash = world.getUID().getLeastSignificantBits();
+        hash ^= chunkX * 0x9E3779B97F4A7C15L;
+        hash ^= chunkZ * 0xC2B2AE3D27D4EB4FL;
+        hash ^= sectionY * 0x165667B19E3779F9L;
+        hash ^= hash >>> 29;
+        return (int) (hash ^ (hash >>> 32)) & SLOT_MASK;
+    }
+}
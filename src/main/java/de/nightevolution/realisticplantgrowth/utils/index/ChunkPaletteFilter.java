@@ -0,0 +1,315 @@
+package de.nightevolution.realisticplantgrowth.utils.index;
+
+import org.bukkit.Axis;
+import org.bukkit.Chunk;
+import org.bukkit.ChunkSnapshot;
+import org.bukkit.Material;
+import org.bukkit.World;
+import org.bukkit.block.BlockFace;
+import org.bukkit.block.data.*;
+import org.bukkit.block.data.type.Campfire;
+import org.bukkit.block.data.type.Candle;
+import org.jetbrains.annotations.NotNull;
+
+import java.util.*;
+import java.util.function.Predicate;
+
+/**
+ * Cheap pre-check whether a chunk can contain any block of a set of materials.
+ * <p>
+ * Chunks store their blocks in paletted sections. {@link Chunk#contains(BlockData)} and
+ * {@link ChunkSnapshot#contains(BlockData)} only have to look at these palettes instead of every block,
+ * but they check for one exact block state. Therefore, all possible block states of every material are
+ * enumerated once. Materials with block state properties that can't be enumerated are marked as unfilterable
+ * and count as contained in every chunk. All other materials are still filtered.
+ * </p>
+ * <p>
+ * The result for a loaded {@link Chunk} is cached per material until the chunk is invalidated by the
+ * {@link SpecialBlockIndex}, which happens when a filtered material is placed in it or it gets (un)loaded.
+ * Removed blocks don't need an invalidation, because a palette may keep states that are no longer used anyway.
+ * Chunk results are only accessed on the main thread.
+ * </p>
+ */
+public class ChunkPaletteFilter {
+
+    /**
+     * Upper limit for the number of enumerated block states of a single material.
+     */
+    private static final int MAX_STATES_PER_MATERIAL = 256;
+
+    /**
+     * The filtered materials.
+     */
+    private final Material[] materials;
+
+    /**
+     * All block states of the material with the same index, or {@code null} if the material is unfilterable.
+     */
+    private final BlockData[][] materialStates;
+
+    /**
+     * {@code true} if at least one material is unfilterable.
+     */
+    private final boolean anyUnfilterable;
+
+    /**
+     * Cached results for loaded chunks, keyed by world and packed chunk coordinates.
+     * Each result holds one flag per material: {@code true} if the chunk may contain the material.
+     */
+    private final Map<UUID, Map<Long, boolean[]>> chunkResults = new HashMap<>();
+
+    /**
+     * Creates a new filter for the given materials.
+     *
+     * @param materials The block materials to look for.
+     */
+    public ChunkPaletteFilter(@NotNull Collection<Material> materials) {
+        this.materials = materials.toArray(new Material[0]);
+        this.materialStates = new BlockData[this.materials.length][];
+
+        boolean unfilterable = false;
+        for (int i = 0; i < this.materials.length; i++) {
+            List<BlockData> states = this.materials[i].isBlock() ? enumerateStates(this.materials[i]) : null;
+            if (states == null) {
+                unfilterable = true;
+                continue;
+            }
+            materialStates[i] = states.toArray(new BlockData[0]);
+        }
+        this.anyUnfilterable = unfilterable;
+    }
+
+    /**
+     * Checks if a loaded chunk may contain any of the filtered materials.
+     *
+     * @param chunk The loaded {@link Chunk} to check.
+     * @return {@code false} if the chunk contains none of the materials, {@code true} otherwise.
+     */
+    public boolean mayContain(@NotNull Chunk chunk) {
+        return mayContainAny(chunk, material -> true);
+    }
+
+    /**
+     * Checks if a loaded chunk may contain a single filtered material.
+     *
+     * @param chunk    The loaded {@link Chunk} to check.
+     * @param material The filtered {@link Material}.
+     * @return {@code false} if the chunk doesn't contain the material, {@code true} otherwise.
+     */
+    public boolean mayContain(@NotNull Chunk chunk, @NotNull Material material) {
+        return mayContainAny(chunk, material::equals);
+    }
+
+    /**
+     * Checks if a loaded chunk may contain any of the filtered materials matching a predicate.
+     *
+     * @param chunk     The loaded {@link Chunk} to check.
+     * @param predicate Selects the materials to check.
+     * @return {@code false} if the chunk contains none of the selected materials, {@code true} otherwise.
+     */
+    public boolean mayContainAny(@NotNull Chunk chunk, @NotNull Predicate<Material> predicate) {
+        boolean[] result = getResult(chunk);
+        for (int i = 0; i < materials.length; i++) {
+            if (result[i] && predicate.test(materials[i]))
+                return true;
+        }
+        return false;
+    }
+
+    /**
+     * Checks if a chunk snapshot may contain any of the filtered materials.
+     * The result is not cached. Safe to call from any thread.
+     *
+     * @param snapshot The {@link ChunkSnapshot} to check.
+     * @return {@code false} if the snapshot contains none of the materials, {@code true} otherwise.
+     */
+    public boolean mayContain(@NotNull ChunkSnapshot snapshot) {
+        if (anyUnfilterable)
+            return true;
+
+        for (BlockData[] states : materialStates) {
+            for (BlockData state : states) {
+                if (snapshot.contains(state))
+                    return true;
+            }
+        }
+        return false;
+    }
+
+    /**
+     * Drops the cached result of a chunk.
+     *
+     * @param world  The {@link World} of the chunk.
+     * @param chunkX The chunk X coordinate.
+     * @param chunkZ The chunk Z coordinate.
+     */
+    void invalidate(@NotNull World world, int chunkX, int chunkZ) {
+        Map<Long, boolean[]> worldResults = chunkResults.get(world.getUID());
+        if (worldResults != null)
+            worldResults.remove(PackedPosition.chunkKey(chunkX, chunkZ));
+    }
+
+    /**
+     * Retrieves the cached result of a chunk, checking its palettes if there is none.
+     */
+    private boolean[] getResult(@NotNull Chunk chunk) {
+        Map<Long, boolean[]> worldResults = chunkResults.computeIfAbsent(chunk.getWorld().getUID(), id -> new HashMap<>());
+        long chunkKey = PackedPosition.chunkKey(chunk.getX(), chunk.getZ());
+        boolean[] result = worldResults.get(chunkKey);
+        if (result != null)
+            return result;
+
+        result = new boolean[materials.length];
+        for (int i = 0; i < materials.length; i++) {
+            result[i] = materialStates[i] == null || containsAny(chunk, materialStates[i]);
+        }
+        worldResults.put(chunkKey, result);
+        return result;
+    }
+
+    private static boolean containsAny(@NotNull Chunk chunk, @NotNull BlockData[] states) {
+        for (BlockData state : states) {
+            if (chunk.contains(state))
+                return true;
+        }
+        return false;
+    }
+
+    /**
+     * Enumerates all block states of a material.
+     *
+     * @param material The block {@link Material}.
+     * @return All block states of the material, or {@code null} if they can't be enumerated.
+     */
+    private static List<BlockData> enumerateStates(@NotNull Material material) {
+        BlockData defaultState = material.createBlockData();
+        Set<String> expandedProperties = new HashSet<>();
+
+        List<BlockData> states = List.of(defaultState);
+        states = expand(states, Levelled.class, "level", expandedProperties, (data, out) -> {
+            for (int level = data.getMinimumLevel(); level <= data.getMaximumLevel(); level++) {
+                Levelled state = (Levelled) data.clone();
+                state.setLevel(level);
+                out.add(state);
+            }
+        });
+        states = expand(states, Orientable.class, "axis", expandedProperties, (data, out) -> {
+            for (Axis axis : data.getAxes()) {
+                Orientable state = (Orientable) data.clone();
+                state.setAxis(axis);
+                out.add(state);
+            }
+        });
+        states = expand(states, Directional.class, "facing", expandedProperties, (data, out) -> {
+            for (BlockFace face : data.getFaces()) {
+                Directional state = (Directional) data.clone();
+                state.setFacing(face);
+                out.add(state);
+            }
+        });
+        states = expand(states, Waterlogged.class, "waterlogged", expandedProperties, (data, out) -> {
+            for (boolean waterlogged : new boolean[]{false, true}) {
+                Waterlogged state = (Waterlogged) data.clone();
+                state.setWaterlogged(waterlogged);
+                out.add(state);
+            }
+        });
+        states = expand(states, Lightable.class, "lit", expandedProperties, (data, out) -> {
+            for (boolean lit : new boolean[]{false, true}) {
+                Lightable state = (Lightable) data.clone();
+                state.setLit(lit);
+                out.add(state);
+            }
+        });
+        states = expand(states, Powerable.class, "powered", expandedProperties, (data, out) -> {
+            for (boolean powered : new boolean[]{false, true}) {
+                Powerable state = (Powerable) data.clone();
+                state.setPowered(powered);
+                out.add(state);
+            }
+        });
+        states = expand(states, AnaloguePowerable.class, "power", expandedProperties, (data, out) -> {
+            for (int power = 0; power <= data.getMaximumPower(); power++) {
+                AnaloguePowerable state = (AnaloguePowerable) data.clone();
+                state.setPower(power);
+                out.add(state);
+            }
+        });
+        states = expand(states, Hangable.class, "hanging", expandedProperties, (data, out) -> {
+            for (boolean hanging : new boolean[]{false, true}) {
+                Hangable state = (Hangable) data.clone();
+                state.setHanging(hanging);
+                out.add(state);
+            }
+        });
+        states = expand(states, Campfire.class, "signal_fire", expandedProperties, (data, out) -> {
+            for (boolean signalFire : new boolean[]{false, true}) {
+                Campfire state = (Campfire) data.clone();
+                state.setSignalFire(signalFire);
+                out.add(state);
+            }
+        });
+        states = expand(states, Candle.class, "candles", expandedProperties, (data, out) -> {
+            for (int candles = 1; candles <= data.getMaximumCandles(); candles++) {
+                Candle state = (Candle) data.clone();
+                state.setCandles(candles);
+                out.add(state);
+            }
+        });
+
+        // Unknown properties would lead to missing block states
+        if (!expandedProperties.containsAll(getPropertyNames(defaultState)) || states.size() > MAX_STATES_PER_MATERIAL)
+            return null;
+        return states;
+    }
+
+    /**
+     * Retrieves the names of all block state properties of the given {@link BlockData}.
+     *
+     * @param data A block state, e.g. {@code minecraft:lantern[hanging=false,waterlogged=false]}.
+     * @return The property names, e.g. {@code [hanging, waterlogged]}.
+     */
+    @NotNull
+    private static Set<String> getPropertyNames(@NotNull BlockData data) {
+        String stateString = data.getAsString();
+        int start = stateString.indexOf('[');
+        if (start < 0)
+            return Set.of();
+
+        Set<String> names = new HashSet<>();
+        String properties = stateString.substring(start + 1, stateString.length() - 1);
+        for (String property : properties.split(",")) {
+            names.add(property.substring(0, property.indexOf('=')));
+        }
+        return names;
+    }
+
+    /**
+     * Replaces every state of the given type with all of its variants.
+     *
+     * @param states             The block states enumerated so far.
+     * @param type               The {@link BlockData} type providing the property.
+     * @param property           The name of the property.
+     * @param expandedProperties Collects the names of all expanded properties.
+     * @param expander           Creates all variants of a single state.
+     * @return The expanded block states.
+     */
+    private static <T extends BlockData> List<BlockData> expand(@NotNull List<BlockData> states, @NotNull Class<T> type,
+                                                                @NotNull String property, @NotNull Set<String> expandedProperties,
+                                                                @NotNull StateExpander<T> expander) {
+        if (states.isEmpty() || !type.isInstance(states.get(0)))
+            return states;
+
+        expandedProperties.add(property);
+        List<BlockData> expanded = new ArrayList<>();
+        for (BlockData state : states) {
+            expander.expand(type.cast(state), expanded);
+        }
+        return expanded;
+    }
+
+    @FunctionalInterface
+    private interface StateExpander<T extends BlockData> {
+        void expand(T data, List<BlockData> out);
+    }
+}
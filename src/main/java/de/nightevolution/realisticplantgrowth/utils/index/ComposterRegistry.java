@@ -0,0 +1,263 @@
+package de.nightevolution.realisticplantgrowth.utils.index;
+
+import de.nightevolution.realisticplantgrowth.utils.plant.SearchOffsets;
+import org.bukkit.Material;
+import org.bukkit.World;
+import org.bukkit.block.Block;
+import org.bukkit.block.data.BlockData;
+import org.bukkit.block.data.Levelled;
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.UUID;
+
+/**
+ * Positions and fill levels of all composters in the indexed chunks, stored in a per-chunk grid.
+ * <p>
+ * The registry is filled together with the {@link SpecialBlockIndex} and kept up to date by block changes,
+ * composter interactions of players, hoppers and villagers and the composter drains of this plugin.
+ * The closest (non-empty) composter around a position can be found without reading any block data.
+ * Fill level changes keep the material of the block, so they are recorded in the {@link ChangeJournal} here.
+ * </p>
+ * <p>
+ * All methods must be called on the main thread.
+ * </p>
+ */
+public class ComposterRegistry {
+
+    /**
+     * Returned by {@link #getLevel(Block)} for positions without a registered composter.
+     */
+    public static final int NOT_REGISTERED = -1;
+
+    /**
+     * Composters of every world, keyed by the world's {@link UUID} and the packed chunk coordinates.
+     */
+    private final Map<UUID, Map<Long, ComposterChunk>> composterWorlds = new HashMap<>();
+
+    /**
+     * The composters of a single chunk as packed positions and fill levels.
+     * Chunks usually contain very few composters, so linear scans are faster than any map.
+     */
+    private static class ComposterChunk {
+        private long[] positions = new long[2];
+        private byte[] levels = new byte[2];
+        private int size;
+
+        private int indexOf(long position) {
+            for (int i = 0; i < size; i++) {
+                if (positions[i] == position)
+                    return i;
+            }
+            return -1;
+        }
+
+        /**
+         * @return {@code true} if the composter was added or its level changed.
+         */
+        private boolean set(long position, int level) {
+            int i = indexOf(position);
+            if (i < 0) {
+                if (size == positions.length) {
+                    positions = Arrays.copyOf(positions, size * 2);
+                    levels = Arrays.copyOf(levels, size * 2);
+                }
+                i = size++;
+                positions[i] = position;
+            } else if (levels[i] == level) {
+                return false;
+            }
+            levels[i] = (byte) level;
+            return true;
+        }
+
+        private void remove(long position) {
+            int i = indexOf(position);
+            if (i < 0)
+                return;
+
+            size--;
+            positions[i] = positions[size];
+            levels[i] = levels[size];
+        }
+    }
+
+    private final ChangeJournal journal = ChangeJournal.get();
+
+    ComposterRegistry() {
+    }
+
+    /**
+     * Replaces all composters of a chunk with the result of a chunk scan.
+     *
+     * @param worldId        The {@link UUID} of the world.
+     * @param chunkKey       The packed chunk coordinates.
+     * @param composterLevel Packed block positions of the found composters mapped to their fill level.
+     */
+    void setChunk(@NotNull UUID worldId, long chunkKey, @NotNull Map<Long, Integer> composterLevel) {
+        Map<Long, ComposterChunk> chunks = composterWorlds.computeIfAbsent(worldId, id -> new HashMap<>());
+        if (composterLevel.isEmpty()) {
+            chunks.remove(chunkKey);
+            return;
+        }
+
+        ComposterChunk composterChunk = new ComposterChunk();
+        for (Map.Entry<Long, Integer> composter : composterLevel.entrySet()) {
+            composterChunk.set(composter.getKey(), composter.getValue());
+        }
+        chunks.put(chunkKey, composterChunk);
+    }
+
+    /**
+     * Removes all composters of a chunk.
+     *
+     * @param worldId  The {@link UUID} of the world.
+     * @param chunkKey The packed chunk coordinates.
+     */
+    void removeChunk(@NotNull UUID worldId, long chunkKey) {
+        Map<Long, ComposterChunk> chunks = composterWorlds.get(worldId);
+        if (chunks != null)
+            chunks.remove(chunkKey);
+    }
+
+    /**
+     * Registers, updates or removes a single block.
+     * Changed fill levels are recorded in the {@link ChangeJournal}.
+     *
+     * @param block   The changed {@link Block}.
+     * @param newData The {@link BlockData} the block has after the change.
+     */
+    void update(@NotNull Block block, @NotNull BlockData newData) {
+        long chunkKey = PackedPosition.chunkKey(block.getX() >> 4, block.getZ() >> 4);
+        long position = PackedPosition.pack(block.getX(), block.getY(), block.getZ());
+
+        if (newData.getMaterial() == Material.COMPOSTER && newData instanceof Levelled composter) {
+            boolean changed = composterWorlds.computeIfAbsent(block.getWorld().getUID(), id -> new HashMap<>())
+                    .computeIfAbsent(chunkKey, key -> new ComposterChunk())
+                    .set(position, composter.getLevel());
+            if (changed)
+                journal.blockChanged(block);
+            return;
+        }
+
+        Map<Long, ComposterChunk> chunks = composterWorlds.get(block.getWorld().getUID());
+        ComposterChunk composterChunk = chunks == null ? null : chunks.get(chunkKey);
+        if (composterChunk == null)
+            return;
+
+        composterChunk.remove(position);
+        if (composterChunk.size == 0)
+            chunks.remove(chunkKey);
+    }
+
+    /**
+     * Drops all registered composters.
+     */
+    void clear() {
+        composterWorlds.clear();
+    }
+
+    /**
+     * Retrieves the registered fill level of a composter.
+     *
+     * @param block The composter {@link Block}.
+     * @return The fill level, or {@link #NOT_REGISTERED} if no composter is registered at this position.
+     */
+    public int getLevel(@NotNull Block block) {
+        return getLevel(block.getWorld(), block.getX(), block.getY(), block.getZ());
+    }
+
+    /**
+     * Retrieves the registered fill level of the composter at a block position.
+     *
+     * @param world The {@link World} of the position.
+     * @param x     The block X coordinate.
+     * @param y     The block Y coordinate.
+     * @param z     The block Z coordinate.
+     * @return The fill level, or {@link #NOT_REGISTERED} if no composter is registered at this position.
+     */
+    public int getLevel(@NotNull World world, int x, int y, int z) {
+        return getLevel(world.getUID(), PackedPosition.pack(x, y, z));
+    }
+
+    /**
+     * Retrieves the registered fill level of the composter at a packed block position.
+     *
+     * @param worldId  The {@link UUID} of the world.
+     * @param position The packed block position.
+     * @return The fill level, or {@link #NOT_REGISTERED} if no composter is registered at this position.
+     */
+    int getLevel(@NotNull UUID worldId, long position) {
+        Map<Long, ComposterChunk> chunks = composterWorlds.get(worldId);
+        if (chunks == null)
+            return NOT_REGISTERED;
+
+        ComposterChunk composterChunk = chunks.get(PackedPosition.chunkKey(
+                PackedPosition.unpackX(position) >> 4, PackedPosition.unpackZ(position) >> 4));
+        if (composterChunk == null)
+            return NOT_REGISTERED;
+
+        int i = composterChunk.indexOf(position);
+        return i < 0 ? NOT_REGISTERED : composterChunk.levels[i];
+    }
+
+    /**
+     * Finds the closest registered composter within a radius around a position.
+     * Composters with the same distance are ordered like the offsets of a search (see {@link SearchOffsets}).
+     * <p>
+     * Only the chunks of the {@link SpecialBlockIndex} are registered, so the result is only complete
+     * if all loaded chunks in range are indexed.
+     * </p>
+     *
+     * @param world      The {@link World} of the position.
+     * @param x          The block X coordinate.
+     * @param y          The block Y coordinate.
+     * @param z          The block Z coordinate.
+     * @param radius     The search radius in blocks.
+     * @param filledOnly {@code true} to ignore empty composters.
+     * @return The closest composter {@link Block}, or {@code null} if there is none in range.
+     */
+    @Nullable
+    public Block findClosest(@NotNull World world, int x, int y, int z, int radius, boolean filledOnly) {
+        Map<Long, ComposterChunk> chunks = composterWorlds.get(world.getUID());
+        if (chunks == null || chunks.isEmpty())
+            return null;
+
+        int radiusSquared = radius * radius;
+        boolean found = false;
+        int bestX = 0, bestY = 0, bestZ = 0;
+
+        for (int chunkX = (x - radius) >> 4; chunkX <= (x + radius) >> 4; chunkX++) {
+            for (int chunkZ = (z - radius) >> 4; chunkZ <= (z + radius) >> 4; chunkZ++) {
+                ComposterChunk composterChunk = chunks.get(PackedPosition.chunkKey(chunkX, chunkZ));
+                if (composterChunk == null)
+                    continue;
+
+                for (int i = 0; i < composterChunk.size; i++) {
+                    if (filledOnly && composterChunk.levels[i] <= 0)
+                        continue;
+
+                    long position = composterChunk.positions[i];
+                    int dx = PackedPosition.unpackX(position) - x;
+                    int dy = PackedPosition.unpackY(position) - y;
+                    int dz = PackedPosition.unpackZ(position) - z;
+
+                    if ((dx * dx) + (dy * dy) + (dz * dz) > radiusSquared)
+                        continue;
+
+                    if (!found || SearchOffsets.compare(dx, dy, dz, bestX, bestY, bestZ) < 0) {
+                        found = true;
+                        bestX = dx;
+                        bestY = dy;
+                        bestZ = dz;
+                    }
+                }
+            }
+        }
+
+        return found ? world.getBlockAt(x + bestX, y + bestY, z + bestZ) : null;
+    }
+}
@@ -0,0 +1,81 @@
+package de.nightevolution.realisticplantgrowth.utils.index;
+
+/**
+ * Utility class for packing block and chunk coordinates into primitive {@code long} values.
+ * <p>
+ * Block positions use the same layout as Minecraft's internal block positions:
+ * 26 bits for X, 26 bits for Z and 12 bits for Y. Chunk keys store the chunk X coordinate
+ * in the lower and the chunk Z coordinate in the upper 32 bits.
+ * </p>
+ */
+public final class PackedPosition {
+
+    private static final long XZ_MASK = (1L << 26) - 1;
+    private static final long Y_MASK = (1L << 12) - 1;
+
+    private PackedPosition() {
+    }
+
+    /**
+     * Packs the given block coordinates into a single {@code long}.
+     *
+     * @param x The block X coordinate.
+     * @param y The block Y coordinate.
+     * @param z The block Z coordinate.
+     * @return The packed block position.
+     */
+    public static long pack(int x, int y, int z) {
+        return ((x & XZ_MASK) << 38) | ((z & XZ_MASK) << 12) | (y & Y_MASK);
+    }
+
+    /**
+     * @param packedPosition A position created by {@link #pack(int, int, int)}.
+     * @return The block X coordinate of the packed position.
+     */
+    public static int unpackX(long packedPosition) {
+        return (int) (packedPosition >> 38);
+    }
+
+    /**
+     * @param packedPosition A position created by {@link #pack(int, int, int)}.
+     * @return The block Y coordinate of the packed position.
+     */
+    public static int unpackY(long packedPosition) {
+        return (int) (packedPosition << 52 >> 52);
+    }
+
+    /**
+     * @param packedPosition A position created by {@link #pack(int, int, int)}.
+     * @return The block Z coordinate of the packed position.
+     */
+    public static int unpackZ(long packedPosition) {
+        return (int) (packedPosition << 26 >> 38);
+    }
+
+    /**
+     * Packs the given chunk coordinates into a single {@code long}.
+     *
+     * @param chunkX The chunk X coordinate.
+     * @param chunkZ The chunk Z coordinate.
+     * @return The packed chunk key.
+     */
+    public static long chunkKey(int chunkX, int chunkZ) {
+        return (chunkX & 0xFFFFFFFFL) | ((chunkZ & 0xFFFFFFFFL) << 32);
+    }
+
+    /**
+     * @param chunkKey A key created by {@link #chunkKey(int, int)}.
+     * @return The chunk X coordinate of the packed chunk key.
+     */
+    public static int chunkX(long chunkKey) {
+        return (int) chunkKey;
+    }
+
+    /**
+     * @param chunkKey A key created by {@link #chunkKey(int, int)}.
+     * @return The chunk Z coordinate of the packed chunk key.
+     */
+    public static int chunkZ(long chunkKey) {
+        return (int) (chunkKey >> 32);
+    }
+}
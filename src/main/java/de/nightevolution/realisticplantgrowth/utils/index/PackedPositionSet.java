@@ -0,0 +1,124 @@
+package de.nightevolution.realisticplantgrowth.utils.index;
+
+/**
+ * A set of packed positions or chunk keys stored in a primitive {@code long} array.
+ * <p>
+ * Uses open addressing with linear probing, so adding and checking a value doesn't allocate boxed
+ * {@link Long} objects. Values can only be added, which is all a flood fill or a scan needs.
+ * Not thread-safe.
+ * </p>
+ */
+public final class PackedPositionSet {
+
+    /**
+     * Marks an empty slot. The value itself is tracked by {@link #containsEmptyValue}.
+     */
+    private static final long EMPTY = 0L;
+
+    private long[] slots;
+    private int mask;
+    private int size;
+    private boolean containsEmptyValue;
+
+    /**
+     * Creates a new set.
+     *
+     * @param expectedSize The number of values the set can hold without growing.
+     */
+    public PackedPositionSet(int expectedSize) {
+        int capacity = Integer.highestOneBit(Math.max(4, expectedSize * 2 - 1)) << 1;
+        slots = new long[capacity];
+        mask = capacity - 1;
+    }
+
+    /**
+     * Adds a value to this set.
+     *
+     * @param value The packed position or chunk key.
+     * @return {@code true} if the value was not contained before.
+     */
+    public boolean add(long value) {
+        if (value == EMPTY) {
+            if (containsEmptyValue)
+                return false;
+            containsEmptyValue = true;
+            size++;
+            return true;
+        }
+
+        int slot = slotOf(value);
+        while (slots[slot] != EMPTY) {
+            if (slots[slot] == value)
+                return false;
+            slot = (slot + 1) & mask;
+        }
+
+        slots[slot] = value;
+        size++;
+        if (size * 2 > slots.length)
+            grow();
+        return true;
+    }
+
+    /**
+     * @param value The packed position or chunk key.
+     * @return {@code true} if the value is contained in this set.
+     */
+    public boolean contains(long value) {
+        if (value == EMPTY)
+            return containsEmptyValue;
+
+        int slot = slotOf(value);
+        while (slots[slot] != EMPTY) {
+            if (slots[slot] == value)
+                return true;
+            slot = (slot + 1) & mask;
+        }
+        return false;
+    }
+
+    /**
+     * @return The number of values in this set.
+     */
+    public int size() {
+        return size;
+    }
+
+    /**
+     * @return All values of this set in no particular order.
+     */
+    public long[] toArray() {
+        long[] values = new long[size];
+        int i = 0;
+        if (containsEmptyValue)
+            values[i++] = EMPTY;
+        for (long value : slots) {
+            if (value != EMPTY)
+                values[i++] = value;
+        }
+        return values;
+    }
+
+    private void grow() {
+        long[] oldSlots = slots;
+        slots = new long[oldSlots.length << 1];
+        mask = slots.length - 1;
+
+        for (long value : oldSlots) {
+            if (value == EMPTY)
+                continue;
+
+            int slot = slotOf(value);
+            while (slots[slot] != EMPTY) {
+                slot = (slot + 1) & mask;
+            }
+            slots[slot] = value;
+        }
+    }
+
+    private int slotOf(long value) {
+        // Mixes the coordinates of all bits into the lower bits used as the slot index
+        long hash = value * 0x9E3779B97F4A7C15L;
+        return (int) (hash ^ (hash >>> 32)) & mask;
+    }
+}
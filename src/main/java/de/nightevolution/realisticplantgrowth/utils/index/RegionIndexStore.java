@@ -0,0 +1,394 @@
+package de.nightevolution.realisticplantgrowth.utils.index;
+
+import de.nightevolution.realisticplantgrowth.RealisticPlantGrowth;
+import de.nightevolution.realisticplantgrowth.utils.Logger;
+import org.bukkit.Material;
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.StandardOpenOption;
+import java.util.*;
+import java.util.zip.CRC32;
+
+/**
+ * Persists the {@link SpecialBlockIndex} in one binary file per world region (32 x 32 chunks),
+ * so chunks don't have to be scanned again after a restart or when they are loaded again.
+ * <p>
+ * File layout ({@code index/<world uuid>/r.<x>.<z>.idx}, big endian):
+ * <ul>
+ *   <li>Header: magic, format version, hash of the tracked materials, state.</li>
+ *   <li>1024 chunk slots: data offset, entry count, entry capacity, CRC32 of the entries,
+ *   inhabited time of the chunk when it was written, flags, reserved.</li>
+ *   <li>Entry data: packed block position, material id and composter fill level per special block.</li>
+ * </ul>
+ * Material ids are indices into the sorted list of tracked materials. A header whose version or
+ * material hash doesn't match drops the whole file.
+ * </p>
+ * <p>
+ * A stored chunk is only used, if its slot is not marked as loaded, its checksum matches and the inhabited time
+ * of the loaded chunk equals the stored time. Slots are marked as loaded while their chunk is loaded and only
+ * written back on unload or shutdown, so chunks loaded during a crash are scanned again. The inhabited time only
+ * grows while players are near a chunk, so chunks visited while this plugin was absent are scanned again as well.
+ * A file that wasn't closed cleanly is discarded as a whole.
+ * Files are accessed through memory-mapped buffers. All methods must be called on the store thread
+ * of the {@link SpecialBlockIndex}, so files are never opened or mapped on the main thread.
+ * </p>
+ */
+final class RegionIndexStore {
+
+    private static final int MAGIC = 0x52504749; // "RPGI"
+    private static final int VERSION = 3;
+
+    private static final int HEADER_SIZE = 16;
+    private static final int SLOT_SIZE = 32;
+    private static final int SLOTS_PER_REGION = 32 * 32;
+    private static final int DATA_START = HEADER_SIZE + SLOTS_PER_REGION * SLOT_SIZE;
+    private static final int ENTRY_SIZE = 12;
+    private static final int MIN_FILE_GROWTH = 64 * 1024;
+
+    // Slot field offsets
+    private static final int SLOT_OFFSET = 0;
+    private static final int SLOT_COUNT = 4;
+    private static final int SLOT_CAPACITY = 8;
+    private static final int SLOT_CRC = 12;
+    private static final int SLOT_INHABITED_TIME = 16;
+    private static final int SLOT_FLAGS = 24;
+
+    /**
+     * Set while the chunk of the slot is loaded. The stored data may be outdated.
+     */
+    private static final int FLAG_LOADED = 1;
+
+    /**
+     * Header state of a file that was flushed and closed. Open files are marked as {@link #STATE_OPEN}.
+     */
+    private static final int HEADER_STATE = 12;
+    private static final int STATE_OPEN = 0;
+    private static final int STATE_CLEAN = 1;
+
+    private static final int MAX_OPEN_REGIONS = 64;
+
+    private final File directory;
+    private final Logger logger;
+
+    private final Material[] materials;
+    private final Map<Material, Integer> materialIds = new EnumMap<>(Material.class);
+    private final int materialHash;
+
+    /**
+     * Recently used region files. The least recently used file is closed, once too many files are open.
+     */
+    private final LinkedHashMap<RegionKey, RegionFile> openRegions = new LinkedHashMap<>(16, 0.75f, true) {
+        @Override
+        protected boolean removeEldestEntry(Map.Entry<RegionKey, RegionFile> eldest) {
+            if (size() <= MAX_OPEN_REGIONS)
+                return false;
+
+            eldest.getValue().close();
+            return true;
+        }
+    };
+
+    private record RegionKey(UUID worldId, int regionX, int regionZ) {
+    }
+
+    /**
+     * The special blocks of a chunk read from a region file.
+     *
+     * @param blocks          Packed block positions mapped to their {@link Material}.
+     * @param composterLevels Packed block positions of all composters mapped to their fill level.
+     */
+    record StoredChunk(Map<Long, Material> blocks, Map<Long, Integer> composterLevels) {
+    }
+
+    /**
+     * An open, memory-mapped region file.
+     */
+    private final class RegionFile {
+        private final File file;
+        private final FileChannel channel;
+        private MappedByteBuffer buffer;
+        private int dataEnd;
+
+        private RegionFile(@NotNull File file) throws IOException {
+            this.file = file;
+            this.channel = FileChannel.open(file.toPath(), StandardOpenOption.CREATE,
+                    StandardOpenOption.READ, StandardOpenOption.WRITE);
+            long size = channel.size();
+
+            if (size < DATA_START) {
+                initialize();
+                return;
+            }
+
+            buffer = channel.map(FileChannel.MapMode.READ_WRITE, 0, size);
+            if (buffer.getInt(0) != MAGIC || buffer.getInt(4) != VERSION || buffer.getInt(8) != materialHash) {
+                logger.verbose("Discarding outdated index file " + file.getName() + ".");
+                initialize();
+                return;
+            }
+            if (buffer.getInt(HEADER_STATE) != STATE_CLEAN) {
+                logger.warn("Index file " + file.getName() + " wasn't closed cleanly. Scanning its chunks again.");
+                initialize();
+                return;
+            }
+            markOpen();
+
+            // The data of all slots is appended, so the end of the data is the end of the last slot data
+            dataEnd = DATA_START;
+            for (int slot = 0; slot < SLOTS_PER_REGION; slot++) {
+                int slotPosition = HEADER_SIZE + slot * SLOT_SIZE;
+                int offset = buffer.getInt(slotPosition + SLOT_OFFSET);
+                int capacity = buffer.getInt(slotPosition + SLOT_CAPACITY);
+                if (offset >= DATA_START)
+                    dataEnd = Math.max(dataEnd, offset + capacity * ENTRY_SIZE);
+            }
+        }
+
+        /**
+         * Writes an empty header and slot table.
+         * The file is not truncated, since it can't be resized while it is mapped on some systems (e.g. Windows).
+         * Old entry data is simply overwritten by new entries.
+         */
+        private void initialize() throws IOException {
+            if (buffer == null || buffer.capacity() < DATA_START + MIN_FILE_GROWTH)
+                buffer = channel.map(FileChannel.MapMode.READ_WRITE, 0,
+                        Math.max(channel.size(), DATA_START + MIN_FILE_GROWTH));
+
+            for (int position = 0; position < DATA_START; position += 8) {
+                buffer.putLong(position, 0L);
+            }
+            buffer.putInt(0, MAGIC);
+            buffer.putInt(4, VERSION);
+            buffer.putInt(8, materialHash);
+            dataEnd = DATA_START;
+            markOpen();
+        }
+
+        /**
+         * Marks the file as open on disk, so a crash before {@link #close()} discards it on the next start.
+         */
+        private void markOpen() {
+            buffer.putInt(HEADER_STATE, STATE_OPEN);
+            buffer.force();
+        }
+
+        /**
+         * Grows the file and its mapping, if it is smaller than the given size.
+         */
+        private void ensureSize(int size) throws IOException {
+            if (buffer.capacity() >= size)
+                return;
+
+            int newSize = Math.max(size, buffer.capacity() + Math.max(buffer.capacity() / 2, MIN_FILE_GROWTH));
+            buffer.force();
+            buffer = channel.map(FileChannel.MapMode.READ_WRITE, 0, newSize);
+        }
+
+        private void close() {
+            try {
+                buffer.putInt(HEADER_STATE, STATE_CLEAN);
+                buffer.force();
+                channel.close();
+            } catch (IOException e) {
+                logger.warn("Couldn't close index file " + file.getName() + ": " + e.getMessage());
+            }
+        }
+    }
+
+    /**
+     * Creates a store for the given materials.
+     *
+     * @param directory        The directory containing the index files.
+     * @param trackedMaterials All materials stored in the index.
+     */
+    RegionIndexStore(@NotNull File directory, @NotNull Set<Material> trackedMaterials) {
+        this.directory = directory;
+        this.logger = new Logger(this.getClass().getSimpleName(), RealisticPlantGrowth.isVerbose(), RealisticPlantGrowth.isDebug());
+
+        // Material ordinals change between server versions, names don't
+        List<String> names = new ArrayList<>(trackedMaterials.size());
+        for (Material material : trackedMaterials) {
+            names.add(material.name());
+        }
+        Collections.sort(names);
+
+        materials = new Material[names.size()];
+        for (int i = 0; i < names.size(); i++) {
+            materials[i] = Material.valueOf(names.get(i));
+            materialIds.put(materials[i], i);
+        }
+        materialHash = String.join(",", names).hashCode();
+    }
+
+    /**
+     * Reads the stored special blocks of a chunk and marks its slot as loaded.
+     *
+     * @param worldId       The {@link UUID} of the world.
+     * @param chunkX        The chunk X coordinate.
+     * @param chunkZ        The chunk Z coordinate.
+     * @param inhabitedTime The current inhabited time of the loaded chunk.
+     * @return The stored chunk, or {@code null} if the chunk has to be scanned.
+     */
+    @Nullable
+    StoredChunk read(@NotNull UUID worldId, int chunkX, int chunkZ, long inhabitedTime) {
+        RegionFile region = getRegion(worldId, chunkX, chunkZ, false);
+        if (region == null)
+            return null;
+
+        MappedByteBuffer buffer = region.buffer;
+        int slotPosition = getSlotPosition(chunkX, chunkZ);
+        int offset = buffer.getInt(slotPosition + SLOT_OFFSET);
+        if (offset < DATA_START)
+            return null;
+
+        int flags = buffer.getInt(slotPosition + SLOT_FLAGS);
+        buffer.putInt(slotPosition + SLOT_FLAGS, flags | FLAG_LOADED);
+
+        // Loaded without a clean shutdown, or visited by players while this plugin was absent
+        if ((flags & FLAG_LOADED) != 0 || buffer.getLong(slotPosition + SLOT_INHABITED_TIME) != inhabitedTime)
+            return null;
+
+        int count = buffer.getInt(slotPosition + SLOT_COUNT);
+        if (count < 0 || (long) offset + (long) count * ENTRY_SIZE > buffer.capacity())
+            return null;
+
+        CRC32 crc = new CRC32();
+        crc.update(buffer.slice(offset, count * ENTRY_SIZE));
+        if ((int) crc.getValue() != buffer.getInt(slotPosition + SLOT_CRC)) {
+            logger.warn("Index data of chunk [" + chunkX + " | " + chunkZ + "] is corrupted. Scanning chunk again.");
+            return null;
+        }
+
+        Map<Long, Material> blocks = new HashMap<>(Math.max(count * 2, 1));
+        Map<Long, Integer> composterLevels = new HashMap<>();
+        for (int i = 0; i < count; i++) {
+            int entry = offset + i * ENTRY_SIZE;
+            long position = buffer.getLong(entry);
+            int materialId = buffer.getShort(entry + 8);
+            int level = buffer.get(entry + 10);
+
+            if (materialId < 0 || materialId >= materials.length
+                    || PackedPosition.unpackX(position) >> 4 != chunkX || PackedPosition.unpackZ(position) >> 4 != chunkZ)
+                return null;
+
+            Material material = materials[materialId];
+            blocks.put(position, material);
+            if (material == Material.COMPOSTER)
+                composterLevels.put(position, level);
+        }
+
+        return new StoredChunk(blocks, composterLevels);
+    }
+
+    /**
+     * Writes the special blocks of a chunk and clears its loaded mark.
+     *
+     * @param worldId         The {@link UUID} of the world.
+     * @param chunkX          The chunk X coordinate.
+     * @param chunkZ          The chunk Z coordinate.
+     * @param blocks          Packed block positions mapped to their {@link Material}.
+     * @param composterLevels Packed block positions of all composters mapped to their fill level.
+     * @param inhabitedTime   The inhabited time of the chunk when the blocks were copied.
+     */
+    void write(@NotNull UUID worldId, int chunkX, int chunkZ, @NotNull Map<Long, Material> blocks,
+               @NotNull Map<Long, Integer> composterLevels, long inhabitedTime) {
+        RegionFile region = getRegion(worldId, chunkX, chunkZ, true);
+        if (region == null)
+            return;
+
+        int slotPosition = getSlotPosition(chunkX, chunkZ);
+        int count = blocks.size();
+
+        try {
+            int offset = region.buffer.getInt(slotPosition + SLOT_OFFSET);
+            int capacity = region.buffer.getInt(slotPosition + SLOT_CAPACITY);
+
+            // Grown chunks get a new, larger data block at the end of the file
+            if (offset < DATA_START || capacity < count) {
+                offset = region.dataEnd;
+                capacity = count + (count >> 1);
+                region.ensureSize(offset + capacity * ENTRY_SIZE);
+                region.dataEnd = offset + capacity * ENTRY_SIZE;
+            }
+
+            MappedByteBuffer buffer = region.buffer;
+            int entry = offset;
+            for (Map.Entry<Long, Material> block : blocks.entrySet()) {
+                Integer materialId = materialIds.get(block.getValue());
+                int level = composterLevels.getOrDefault(block.getKey(), 0);
+
+                buffer.putLong(entry, block.getKey());
+                buffer.putShort(entry + 8, materialId == null ? -1 : materialId.shortValue());
+                buffer.put(entry + 10, (byte) level);
+                buffer.put(entry + 11, (byte) 0);
+                entry += ENTRY_SIZE;
+            }
+
+            CRC32 crc = new CRC32();
+            crc.update(buffer.slice(offset, count * ENTRY_SIZE));
+
+            buffer.putInt(slotPosition + SLOT_OFFSET, offset);
+            buffer.putInt(slotPosition + SLOT_COUNT, count);
+            buffer.putInt(slotPosition + SLOT_CAPACITY, capacity);
+            buffer.putInt(slotPosition + SLOT_CRC, (int) crc.getValue());
+            buffer.putLong(slotPosition + SLOT_INHABITED_TIME, inhabitedTime);
+            buffer.putInt(slotPosition + SLOT_FLAGS, 0);
+
+        } catch (IOException e) {
+            logger.warn("Couldn't write index data of chunk [" + chunkX + " | " + chunkZ + "]: " + e.getMessage());
+        }
+    }
+
+    /**
+     * Flushes and closes all open region files.
+     */
+    void close() {
+        for (RegionFile region : openRegions.values()) {
+            region.close();
+        }
+        openRegions.clear();
+    }
+
+    /**
+     * Retrieves the open region file of a chunk, opening it if required.
+     *
+     * @param create {@code true} to create missing files.
+     * @return The {@link RegionFile}, or {@code null} if it doesn't exist or can't be opened.
+     */
+    @Nullable
+    private RegionFile getRegion(@NotNull UUID worldId, int chunkX, int chunkZ, boolean create) {
+        RegionKey key = new RegionKey(worldId, chunkX >> 5, chunkZ >> 5);
+        RegionFile region = openRegions.get(key);
+        if (region != null)
+            return region;
+
+        File worldDirectory = new File(directory, worldId.toString());
+        File file = new File(worldDirectory, "r." + key.regionX() + "." + key.regionZ() + ".idx");
+        if (!create && !file.exists())
+            return null;
+
+        if (!worldDirectory.exists() && !worldDirectory.mkdirs()) {
+            logger.warn("Couldn't create index directory " + worldDirectory.getPath() + ".");
+            return null;
+        }
+
+        try {
+            region = new RegionFile(file);
+        } catch (IOException e) {
+            logger.warn("Couldn't open index file " + file.getName() + ": " + e.getMessage());
+            return null;
+        }
+
+        openRegions.put(key, region);
+        return region;
+    }
+
+    private static int getSlotPosition(int chunkX, int chunkZ) {
+        return HEADER_SIZE + (((chunkZ & 31) << 5) | (chunkX & 31)) * SLOT_SIZE;
+    }
+}
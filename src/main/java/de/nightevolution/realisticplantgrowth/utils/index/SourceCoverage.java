@@ -0,0 +1,314 @@
+package de.nightevolution.realisticplantgrowth.utils.index;
+
+import org.bukkit.Material;
+import org.bukkit.World;
+import org.jetbrains.annotations.NotNull;
+
+import java.util.*;
+
+/**
+ * Rasterised coverage of UV light sources and composters per chunk section.
+ * <p>
+ * Every indexed source "stamps" its spherical radius into a bitset of 4096 bits (one bit per block)
+ * on each chunk section it overlaps. UV light coverage is stored per material, so
+ * {@code require_all_uv_blocks} can be answered as well. Checking whether a plant has UV light access
+ * or is in range of a composter is a single bit test afterward.
+ * </p>
+ * <p>
+ * The coverage of a section is computed lazily from the {@link SpecialBlockIndex} on first access and
+ * dropped whenever a source within range changes or a chunk in range is (re)indexed or unloaded.
+ * Sections without any coverage share a single empty instance. All methods must be called on the main thread.
+ * </p>
+ */
+public class SourceCoverage {
+
+    /**
+     * Returned by {@link #query(World, int, int, int)} if the coverage can't be computed,
+     * because a loaded chunk in range is not indexed yet.
+     */
+    public static final int UNKNOWN = -1;
+
+    /**
+     * Set, if the position has UV light access
+     * (covered by all UV materials if {@code require_all_uv_blocks} is enabled, by any otherwise).
+     */
+    public static final int UV_ACCESS = 1;
+
+    /**
+     * Set, if the position is within the radius of at least one composter.
+     */
+    public static final int FERTILIZER_RANGE = 2;
+
+    private static final int WORDS_PER_LAYER = 4096 / 64;
+    private static final SectionCoverage EMPTY = new SectionCoverage(null);
+
+    private final SpecialBlockIndex index;
+
+    /**
+     * Computed section coverages of every world, keyed by the world's {@link UUID},
+     * the packed chunk coordinates and the section Y coordinate.
+     */
+    private final Map<UUID, Map<Long, Map<Integer, SectionCoverage>>> coveredWorlds = new HashMap<>();
+
+    /**
+     * UV light materials mapped to their layer in {@link SectionCoverage#layers}.
+     * The fertilizer layer is the last layer.
+     */
+    private Map<Material, Integer> uvLayers = new EnumMap<>(Material.class);
+    private int fertilizerLayer;
+    private int uvRadius;
+    private int fertilizerRadius;
+    private boolean requireAllUVBlocks;
+
+    /**
+     * Coverage bits of a single chunk section.
+     */
+    private static class SectionCoverage {
+        /**
+         * One bitset of 4096 bits per UV material and one for fertilizer, or {@code null} if nothing is covered.
+         */
+        private final long[][] layers;
+
+        private SectionCoverage(long[][] layers) {
+            this.layers = layers;
+        }
+    }
+
+    /**
+     * Creates a new, empty coverage map for the given index.
+     *
+     * @param index The {@link SpecialBlockIndex} providing the source positions.
+     */
+    SourceCoverage(@NotNull SpecialBlockIndex index) {
+        this.index = index;
+    }
+
+    /**
+     * Drops all computed coverage and applies new settings.
+     *
+     * @param uvMaterials        The UV light materials, or an empty set if UV light is disabled.
+     * @param uvRadius           The UV light radius.
+     * @param fertilizerEnabled  {@code true} if fertilizer sources are enabled.
+     * @param fertilizerRadius   The fertilizer radius.
+     * @param requireAllUVBlocks {@code true} if all UV light materials are required for UV light access.
+     */
+    void configure(@NotNull Set<Material> uvMaterials, int uvRadius, boolean fertilizerEnabled, int fertilizerRadius,
+                   boolean requireAllUVBlocks) {
+        coveredWorlds.clear();
+
+        Map<Material, Integer> layers = new EnumMap<>(Material.class);
+        for (Material material : uvMaterials) {
+            layers.put(material, layers.size());
+        }
+        this.uvLayers = layers;
+        this.fertilizerLayer = layers.size();
+        this.uvRadius = uvMaterials.isEmpty() ? -1 : uvRadius;
+        this.fertilizerRadius = fertilizerEnabled ? fertilizerRadius : -1;
+        this.requireAllUVBlocks = requireAllUVBlocks;
+    }
+
+    /**
+     * Checks the UV light access and fertilizer range of a block position.
+     *
+     * @param world The {@link World} of the position.
+     * @param x     The block X coordinate.
+     * @param y     The block Y coordinate.
+     * @param z     The block Z coordinate.
+     * @return A combination of {@link #UV_ACCESS} and {@link #FERTILIZER_RANGE}, or {@link #UNKNOWN}.
+     */
+    public int query(@NotNull World world, int x, int y, int z) {
+        // Maps are only created once a coverage was computed, so UNKNOWN results don't leave empty maps behind
+        Map<Long, Map<Integer, SectionCoverage>> chunks = coveredWorlds.get(world.getUID());
+        long chunkKey = PackedPosition.chunkKey(x >> 4, z >> 4);
+        Map<Integer, SectionCoverage> sections = chunks == null ? null : chunks.get(chunkKey);
+
+        SectionCoverage coverage = sections == null ? null : sections.get(y >> 4);
+        if (coverage == null) {
+            coverage = computeSection(world, x >> 4, y >> 4, z >> 4);
+            if (coverage == null)
+                return UNKNOWN;
+
+            if (sections == null) {
+                if (chunks == null) {
+                    chunks = new HashMap<>();
+                    coveredWorlds.put(world.getUID(), chunks);
+                }
+                sections = new HashMap<>();
+                chunks.put(chunkKey, sections);
+            }
+            sections.put(y >> 4, coverage);
+        }
+
+        if (coverage.layers == null)
+            return 0;
+
+        int bit = ((y & 15) << 8) | ((z & 15) << 4) | (x & 15);
+        int result = 0;
+
+        if (!uvLayers.isEmpty()) {
+            boolean uvAccess = requireAllUVBlocks;
+            for (int layer = 0; layer < fertilizerLayer; layer++) {
+                boolean covered = isSet(coverage.layers[layer], bit);
+                if (requireAllUVBlocks && !covered) {
+                    uvAccess = false;
+                    break;
+                }
+                if (!requireAllUVBlocks && covered) {
+                    uvAccess = true;
+                    break;
+                }
+            }
+            if (uvAccess)
+                result |= UV_ACCESS;
+        }
+
+        if (isSet(coverage.layers[fertilizerLayer], bit))
+            result |= FERTILIZER_RANGE;
+
+        return result;
+    }
+
+    /**
+     * Drops the coverage of all sections within range of a changed block.
+     *
+     * @param worldId The {@link UUID} of the world.
+     * @param x       The block X coordinate.
+     * @param y       The block Y coordinate.
+     * @param z       The block Z coordinate.
+     */
+    void invalidateBlock(@NotNull UUID worldId, int x, int y, int z) {
+        Map<Long, Map<Integer, SectionCoverage>> chunks = coveredWorlds.get(worldId);
+        if (chunks == null || chunks.isEmpty())
+            return;
+
+        int radius = getMaxRadius();
+        for (int chunkX = (x - radius) >> 4; chunkX <= (x + radius) >> 4; chunkX++) {
+            for (int chunkZ = (z - radius) >> 4; chunkZ <= (z + radius) >> 4; chunkZ++) {
+                Map<Integer, SectionCoverage> sections = chunks.get(PackedPosition.chunkKey(chunkX, chunkZ));
+                if (sections == null)
+                    continue;
+
+                for (int sectionY = (y - radius) >> 4; sectionY <= (y + radius) >> 4; sectionY++) {
+                    sections.remove(sectionY);
+                }
+            }
+        }
+    }
+
+    /**
+     * Drops the coverage of all chunks within range of a (re)indexed or unloaded chunk.
+     *
+     * @param worldId The {@link UUID} of the world.
+     * @param chunkX  The chunk X coordinate.
+     * @param chunkZ  The chunk Z coordinate.
+     */
+    void invalidateChunk(@NotNull UUID worldId, int chunkX, int chunkZ) {
+        Map<Long, Map<Integer, SectionCoverage>> chunks = coveredWorlds.get(worldId);
+        if (chunks == null || chunks.isEmpty())
+            return;
+
+        int chunkRadius = (getMaxRadius() + 15) >> 4;
+        for (int x = chunkX - chunkRadius; x <= chunkX + chunkRadius; x++) {
+            for (int z = chunkZ - chunkRadius; z <= chunkZ + chunkRadius; z++) {
+                chunks.remove(PackedPosition.chunkKey(x, z));
+            }
+        }
+    }
+
+    /**
+     * Drops all computed coverage.
+     */
+    void clear() {
+        coveredWorlds.clear();
+    }
+
+    /**
+     * Computes the coverage of a single chunk section from all indexed sources within range.
+     *
+     * @return The coverage of the section, or {@code null} if a loaded chunk in range is not indexed yet.
+     */
+    private SectionCoverage computeSection(@NotNull World world, int chunkX, int sectionY, int chunkZ) {
+        int radius = getMaxRadius();
+        if (radius < 0)
+            return EMPTY;
+
+        int minX = chunkX << 4;
+        int minY = sectionY << 4;
+        int minZ = chunkZ << 4;
+
+        long[][] layers = null;
+
+        for (int sourceChunkX = (minX - radius) >> 4; sourceChunkX <= (minX + 15 + radius) >> 4; sourceChunkX++) {
+            for (int sourceChunkZ = (minZ - radius) >> 4; sourceChunkZ <= (minZ + 15 + radius) >> 4; sourceChunkZ++) {
+                if (!world.isChunkLoaded(sourceChunkX, sourceChunkZ))
+                    continue;
+
+                Map<Long, Material> sources = index.getIndexedBlocks(world, sourceChunkX, sourceChunkZ);
+                if (sources == null)
+                    return null;
+
+                for (Map.Entry<Long, Material> source : sources.entrySet()) {
+                    Material type = source.getValue();
+                    Integer uvLayer = uvLayers.get(type);
+
+                    if (uvLayer != null && uvRadius >= 0)
+                        layers = stamp(layers, uvLayer, source.getKey(), uvRadius, minX, minY, minZ);
+
+                    if (type == Material.COMPOSTER && fertilizerRadius >= 0)
+                        layers = stamp(layers, fertilizerLayer, source.getKey(), fertilizerRadius, minX, minY, minZ);
+                }
+            }
+        }
+
+        return layers == null ? EMPTY : new SectionCoverage(layers);
+    }
+
+    /**
+     * Sets the bits of all section positions within the radius of a source.
+     *
+     * @return The (possibly newly created) layers of the section.
+     */
+    private long[][] stamp(long[][] layers, int layer, long sourcePosition, int radius, int minX, int minY, int minZ) {
+        int sourceX = PackedPosition.unpackX(sourcePosition);
+        int sourceY = PackedPosition.unpackY(sourcePosition);
+        int sourceZ = PackedPosition.unpackZ(sourcePosition);
+
+        int fromX = Math.max(sourceX - radius, minX);
+        int toX = Math.min(sourceX + radius, minX + 15);
+        int fromY = Math.max(sourceY - radius, minY);
+        int toY = Math.min(sourceY + radius, minY + 15);
+        int fromZ = Math.max(sourceZ - radius, minZ);
+        int toZ = Math.min(sourceZ + radius, minZ + 15);
+
+        if (fromX > toX || fromY > toY || fromZ > toZ)
+            return layers;
+
+        int radiusSquared = radius * radius;
+        for (int y = fromY; y <= toY; y++) {
+            int dy = y - sourceY;
+            for (int z = fromZ; z <= toZ; z++) {
+                int dz = z - sourceZ;
+                for (int x = fromX; x <= toX; x++) {
+                    int dx = x - sourceX;
+                    if ((dx * dx) + (dy * dy) + (dz * dz) > radiusSquared)
+                        continue;
+
+                    if (layers == null)
+                        layers = new long[fertilizerLayer + 1][WORDS_PER_LAYER];
+
+                    int bit = ((y & 15) << 8) | ((z & 15) << 4) | (x & 15);
+                    layers[layer][bit >> 6] |= 1L << bit;
+                }
+            }
+        }
+        return layers;
+    }
+
+    private int getMaxRadius() {
+        return Math.max(uvRadius, fertilizerRadius);
+    }
+
+    private static boolean isSet(long[] layer, int bit) {
+        return (layer[bit >> 6] & (1L << bit)) != 0;
+    }
+}
@@ -0,0 +1,731 @@
+package de.nightevolution.realisticplantgrowth.utils.index;
+
+import de.nightevolution.realisticplantgrowth.ConfigManager;
+import de.nightevolution.realisticplantgrowth.RealisticPlantGrowth;
+import de.nightevolution.realisticplantgrowth.utils.Logger;
+import org.bukkit.Bukkit;
+import org.bukkit.Chunk;
+import org.bukkit.ChunkSnapshot;
+import org.bukkit.Material;
+import org.bukkit.World;
+import org.bukkit.block.Block;
+import org.bukkit.block.data.BlockData;
+import org.bukkit.block.data.Levelled;
+import org.bukkit.scheduler.BukkitScheduler;
+import org.bukkit.scheduler.BukkitTask;
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+
+import java.io.File;
+import java.util.*;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Keeps track of the positions of all UV light sources and composters (fertilizer sources)
+ * in the loaded chunks of all enabled worlds.
+ * <p>
+ * Chunks are indexed once when they are loaded. The chunk data is copied into a {@link ChunkSnapshot}
+ * on the main thread and scanned by a small worker pool. Snapshots whose block palettes contain none of the
+ * tracked materials are skipped without reading a single block (see {@link ChunkPaletteFilter}). The result is committed on the main thread.
+ * Afterward, the index is kept up to date by block change events, so queries never have to read
+ * the world again.
+ * </p>
+ * <p>
+ * After a (re)build, the chunks that are already loaded are indexed by a warm-up task, which only takes
+ * {@code warmup_tick_budget} milliseconds of every tick. Until a chunk is indexed, searches in its range
+ * scan the world as before.
+ * </p>
+ * <p>
+ * If {@code persistent_index} is enabled, indexed chunks are written to region files on unload and shutdown
+ * and read back on the next load instead of being scanned again (see {@link RegionIndexStore}).
+ * A stored chunk is only used, if the inhabited time of the loaded chunk still matches the time stored with it,
+ * and no snapshot is taken for it at all. The region files are only accessed by a single store thread,
+ * never by the main thread.
+ * </p>
+ * <p>
+ * All index data is only accessed and modified on the main thread.
+ * </p>
+ */
+public class SpecialBlockIndex {
+
+    /**
+     * Singleton instance, initialized lazily on first access via {@link #get()}.
+     */
+    private static SpecialBlockIndex specialBlockIndex;
+
+    private final RealisticPlantGrowth instance;
+    private final Logger logger;
+    private final BukkitScheduler scheduler;
+    private static final String logFile = "debug";
+
+    /**
+     * Minimum time in milliseconds between two progress messages of the warm-up task.
+     */
+    private static final long WARMUP_LOG_INTERVAL = 5000;
+
+    /**
+     * Maximum time in seconds to wait for pending writes of the persistent index on shutdown.
+     */
+    private static final long STORE_SHUTDOWN_TIMEOUT = 10;
+
+    /**
+     * Worker pool used to scan chunk snapshots off the main thread.
+     */
+    private final ExecutorService scanExecutor;
+
+    /**
+     * Single thread accessing the {@link #store}, so reads and writes of a chunk are done in order.
+     */
+    private final ExecutorService storeExecutor;
+
+    /**
+     * Indexed chunks of every world, keyed by the world's {@link UUID} and the packed chunk coordinates.
+     */
+    private final Map<UUID, Map<Long, IndexedChunk>> indexedWorlds = new HashMap<>();
+
+    /**
+     * All materials stored in this index. Replaced (never modified) on every {@link #rebuild()},
+     * so worker threads can safely read the set they were given.
+     */
+    private Set<Material> trackedMaterials = EnumSet.noneOf(Material.class);
+
+    /**
+     * Palette pre-check for the {@link #trackedMaterials}. Replaced together with the tracked materials.
+     */
+    private ChunkPaletteFilter paletteFilter = new ChunkPaletteFilter(trackedMaterials);
+
+    /**
+     * Per-section coverage of the indexed sources. Kept in sync by every change of this index.
+     */
+    private final SourceCoverage coverage;
+
+    /**
+     * Positions and fill levels of all indexed composters. Kept in sync by every change of this index.
+     */
+    private final ComposterRegistry composters = new ComposterRegistry();
+
+    /**
+     * Region files of the persistent index, or {@code null} if {@code persistent_index} is disabled.
+     */
+    private RegionIndexStore store;
+
+    /**
+     * {@code true} if UV light or fertilizer sources are enabled in the configuration.
+     */
+    private boolean enabled;
+
+    /**
+     * Loaded chunks that still have to be indexed by the warm-up task.
+     */
+    private final ArrayDeque<WarmupChunk> warmupQueue = new ArrayDeque<>();
+    private BukkitTask warmupTask;
+    private long warmupBudget;
+    private long warmupStart;
+    private long warmupLastLog;
+    private int warmupTotal;
+
+    /**
+     * Chunks started by the warm-up task whose result wasn't committed yet, and chunks committed so far.
+     * The warm-up is only finished once its queue is empty and no chunk is pending anymore.
+     */
+    private int warmupPending;
+    private int warmupIndexed;
+    private boolean warmupActive;
+
+    private record WarmupChunk(UUID worldId, int chunkX, int chunkZ) {
+    }
+
+    /**
+     * The special blocks of a single chunk.
+     */
+    private static class IndexedChunk {
+        /**
+         * Packed block positions mapped to the material found at that position.
+         */
+        private final Map<Long, Material> blocks = new HashMap<>();
+
+        /**
+         * {@code false} while the chunk snapshot is still being scanned.
+         */
+        private boolean complete;
+
+        /**
+         * Set, if a tracked block changed while the chunk snapshot was being scanned.
+         */
+        private boolean dirty;
+
+        /**
+         * Set, if the chunk was started by the warm-up task and counts towards its progress.
+         */
+        private boolean warmup;
+    }
+
+    private SpecialBlockIndex() {
+        specialBlockIndex = this;
+        instance = RealisticPlantGrowth.getInstance();
+        scheduler = Bukkit.getScheduler();
+        logger = new Logger(this.getClass().getSimpleName(), RealisticPlantGrowth.isVerbose(), RealisticPlantGrowth.isDebug());
+        coverage = new SourceCoverage(this);
+
+        scanExecutor = Executors.newFixedThreadPool(2, runnable -> {
+            Thread thread = new Thread(runnable, "RealisticPlantGrowth-Index");
+            thread.setDaemon(true);
+            return thread;
+        });
+        storeExecutor = Executors.newSingleThreadExecutor(runnable -> {
+            Thread thread = new Thread(runnable, "RealisticPlantGrowth-IndexStore");
+            thread.setDaemon(true);
+            return thread;
+        });
+    }
+
+    /**
+     * Retrieves the singleton instance of the {@link SpecialBlockIndex}.
+     *
+     * @return the singleton {@link SpecialBlockIndex} instance.
+     */
+    public static SpecialBlockIndex get() {
+        if (specialBlockIndex == null)
+            new SpecialBlockIndex();
+        return specialBlockIndex;
+    }
+
+    /**
+     * Stops the worker pool of the index, if the index was ever created,
+     * and waits until all indexed chunks were written to the persistent index.
+     * Called when the plugin gets disabled.
+     */
+    public static void shutdown() {
+        if (specialBlockIndex != null) {
+            specialBlockIndex.scanExecutor.shutdownNow();
+            specialBlockIndex.stopWarmup();
+            specialBlockIndex.closeStore();
+            specialBlockIndex.storeExecutor.shutdown();
+            try {
+                if (!specialBlockIndex.storeExecutor.awaitTermination(STORE_SHUTDOWN_TIMEOUT, TimeUnit.SECONDS))
+                    specialBlockIndex.logger.warn("Timed out while saving the index. Chunks will be scanned again.");
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+            specialBlockIndex = null;
+        }
+    }
+
+    /**
+     * Drops all indexed data and queues every loaded chunk of all enabled worlds for the warm-up task.
+     * <p>
+     * Must be called after every configuration (re)load, because the set of UV light blocks
+     * and the enabled worlds may have changed.
+     * </p>
+     */
+    public void rebuild() {
+        ConfigManager cm = instance.getConfigManager();
+        stopWarmup();
+        closeStore();
+        indexedWorlds.clear();
+        composters.clear();
+        coverage.configure(cm.isUV_Enabled() ? cm.getUV_Blocks() : Set.of(), cm.getUV_Radius(),
+                cm.isFertilizer_enabled(), cm.getFertilizer_radius(), cm.getRequire_All_UV_Blocks());
+
+        enabled = cm.isUV_Enabled() || cm.isFertilizer_enabled();
+        if (!enabled) {
+            trackedMaterials = EnumSet.noneOf(Material.class);
+            paletteFilter = new ChunkPaletteFilter(trackedMaterials);
+            logger.verbose("UV-Light and fertilizer are disabled. Index not required.");
+            return;
+        }
+
+        Set<Material> materials = EnumSet.noneOf(Material.class);
+        materials.addAll(cm.getUV_Blocks());
+        materials.add(Material.COMPOSTER);
+        trackedMaterials = materials;
+        paletteFilter = new ChunkPaletteFilter(materials);
+
+        if (cm.isPersistent_index())
+            store = new RegionIndexStore(new File(instance.getDataFolder(), "index"), materials);
+
+        for (World world : Bukkit.getWorlds()) {
+            if (instance.isWorldDisabled(world))
+                continue;
+
+            for (Chunk chunk : world.getLoadedChunks()) {
+                warmupQueue.add(new WarmupChunk(world.getUID(), chunk.getX(), chunk.getZ()));
+            }
+        }
+
+        warmupTotal = warmupQueue.size();
+        warmupPending = 0;
+        warmupIndexed = 0;
+        warmupActive = true;
+        warmupBudget = (long) (cm.getWarmup_tick_budget() * 1_000_000L);
+        warmupStart = System.currentTimeMillis();
+        warmupLastLog = warmupStart;
+        logger.verbose("Indexing " + warmupTotal + " loaded chunks.");
+
+        if (warmupBudget <= 0) {
+            // No budget configured: index everything right away
+            warmUp();
+        } else {
+            warmupTask = scheduler.runTaskTimer(instance, this::warmUp, 1L, 1L);
+        }
+    }
+
+    /**
+     * Indexes queued chunks until the warm-up budget of the current tick is used up.
+     * Chunks that were unloaded or already indexed by their load event in the meantime are skipped.
+     */
+    private void warmUp() {
+        long deadline = System.nanoTime() + warmupBudget;
+
+        while (!warmupQueue.isEmpty() && (warmupBudget <= 0 || System.nanoTime() < deadline)) {
+            WarmupChunk next = warmupQueue.poll();
+            World world = Bukkit.getWorld(next.worldId());
+            if (world == null || !world.isChunkLoaded(next.chunkX(), next.chunkZ()))
+                continue;
+
+            Map<Long, IndexedChunk> chunks = indexedWorlds.get(next.worldId());
+            if (chunks != null && chunks.containsKey(PackedPosition.chunkKey(next.chunkX(), next.chunkZ())))
+                continue;
+
+            indexChunk(world.getChunkAt(next.chunkX(), next.chunkZ()));
+            chunks = indexedWorlds.get(next.worldId());
+            IndexedChunk indexedChunk = chunks == null ? null :
+                    chunks.get(PackedPosition.chunkKey(next.chunkX(), next.chunkZ()));
+            if (indexedChunk != null) {
+                indexedChunk.warmup = true;
+                warmupPending++;
+            }
+        }
+
+        long now = System.currentTimeMillis();
+        if (warmupQueue.isEmpty()) {
+            cancelWarmupTask();
+            finishWarmup();
+        } else if (now - warmupLastLog >= WARMUP_LOG_INTERVAL) {
+            warmupLastLog = now;
+            logger.verbose("Warm-up: " + warmupIndexed + " / " + warmupTotal + " chunks indexed (" +
+                    (warmupIndexed * 100 / warmupTotal) + "%).");
+        }
+    }
+
+    /**
+     * Counts a chunk started by the warm-up task, once its result was committed or discarded.
+     *
+     * @param indexed {@code true} if the chunk was indexed, {@code false} if it was unloaded before.
+     */
+    private void warmupChunkDone(boolean indexed) {
+        warmupPending--;
+        if (indexed)
+            warmupIndexed++;
+        finishWarmup();
+    }
+
+    /**
+     * Logs the result of the warm-up, once all queued chunks were started and all started chunks were committed.
+     */
+    private void finishWarmup() {
+        if (!warmupActive || !warmupQueue.isEmpty() || warmupPending > 0)
+            return;
+
+        warmupActive = false;
+        logger.verbose("Warm-up finished: " + warmupIndexed + " of " + warmupTotal + " loaded chunks indexed in " +
+                (System.currentTimeMillis() - warmupStart) + " ms. Remaining chunks were unloaded or indexed on load.");
+    }
+
+    /**
+     * Cancels the warm-up task and drops all chunks still waiting for it.
+     */
+    private void stopWarmup() {
+        cancelWarmupTask();
+        warmupQueue.clear();
+        warmupActive = false;
+    }
+
+    private void cancelWarmupTask() {
+        if (warmupTask != null) {
+            warmupTask.cancel();
+            warmupTask = null;
+        }
+    }
+
+    /**
+     * Checks if the warm-up task still has chunks to index.
+     * Other warm-up work waits for it, so they don't exceed the tick budget together.
+     *
+     * @return {@code true} while the warm-up task is running.
+     */
+    public boolean isWarmingUp() {
+        return warmupTask != null;
+    }
+
+    /**
+     * Indexes the given chunk off the main thread. If the chunk is found in the persistent index and its
+     * inhabited time didn't change, the stored blocks are used. Otherwise, a snapshot of the chunk is scanned.
+     * Until the result is committed, the chunk counts as not indexed.
+     *
+     * @param chunk The loaded {@link Chunk} to index.
+     */
+    public void indexChunk(@NotNull Chunk chunk) {
+        World world = chunk.getWorld();
+        if (!enabled || instance.isWorldDisabled(world))
+            return;
+
+        UUID worldId = world.getUID();
+        long chunkKey = PackedPosition.chunkKey(chunk.getX(), chunk.getZ());
+        paletteFilter.invalidate(world, chunk.getX(), chunk.getZ());
+
+        IndexedChunk indexedChunk = new IndexedChunk();
+        IndexedChunk previous = indexedWorlds.computeIfAbsent(worldId, id -> new HashMap<>()).put(chunkKey, indexedChunk);
+        // A chunk scanned again still counts towards the warm-up that started it
+        if (previous != null && previous.warmup && !previous.complete)
+            indexedChunk.warmup = true;
+        coverage.invalidateChunk(worldId, chunk.getX(), chunk.getZ());
+
+        RegionIndexStore regionStore = store;
+        if (regionStore == null) {
+            scanChunk(chunk, indexedChunk);
+            return;
+        }
+
+        int chunkX = chunk.getX();
+        int chunkZ = chunk.getZ();
+        long inhabitedTime = chunk.getInhabitedTime();
+
+        CompletableFuture.supplyAsync(() -> regionStore.read(worldId, chunkX, chunkZ, inhabitedTime), storeExecutor)
+                .thenAccept(storedChunk -> {
+                    if (!instance.isEnabled())
+                        return;
+
+                    scheduler.runTask(instance, () -> {
+                        if (storedChunk != null) {
+                            // Blocks changed in the meantime mark the chunk as dirty, so it is scanned on commit
+                            commit(worldId, chunkKey, indexedChunk, storedChunk.blocks(), storedChunk.composterLevels());
+                            return;
+                        }
+
+                        Map<Long, IndexedChunk> chunks = indexedWorlds.get(worldId);
+                        World chunkWorld = Bukkit.getWorld(worldId);
+                        if (chunks != null && chunks.get(chunkKey) == indexedChunk && chunkWorld != null
+                                && chunkWorld.isChunkLoaded(chunkX, chunkZ))
+                            scanChunk(chunkWorld.getChunkAt(chunkX, chunkZ), indexedChunk);
+                    });
+                }).exceptionally(e -> {
+                    logger.warn("Couldn't read index data of chunk [" + chunkX + " | " + chunkZ + "]: " + e.getMessage());
+                    return null;
+                });
+    }
+
+    /**
+     * Takes a snapshot of the given chunk and scans it for special blocks off the main thread.
+     *
+     * @param chunk        The loaded {@link Chunk} to scan.
+     * @param indexedChunk The index entry of the chunk receiving the result.
+     */
+    private void scanChunk(@NotNull Chunk chunk, @NotNull IndexedChunk indexedChunk) {
+        World world = chunk.getWorld();
+        UUID worldId = world.getUID();
+        long chunkKey = PackedPosition.chunkKey(chunk.getX(), chunk.getZ());
+
+        ChunkSnapshot snapshot = chunk.getChunkSnapshot(false, false, false);
+        int chunkX = chunk.getX();
+        int chunkZ = chunk.getZ();
+        int minY = world.getMinHeight();
+        int maxY = world.getMaxHeight();
+        Set<Material> materials = trackedMaterials;
+        ChunkPaletteFilter filter = paletteFilter;
+
+        CompletableFuture.runAsync(() -> {
+            Map<Long, Material> found = new HashMap<>();
+            Map<Long, Integer> composterLevels = new HashMap<>();
+
+            // Chunks without any tracked material in their palettes don't need to be scanned
+            if (filter.mayContain(snapshot))
+                scanSnapshot(snapshot, minY, maxY, materials, found, composterLevels);
+
+            if (instance.isEnabled())
+                scheduler.runTask(instance, () -> commit(worldId, chunkKey, indexedChunk, found, composterLevels));
+        }, scanExecutor).exceptionally(e -> {
+            logger.warn("Couldn't index chunk [" + chunkX + " | " + chunkZ + "]: " + e.getMessage());
+            return null;
+        });
+    }
+
+    /**
+     * Scans all non-empty sections of a {@link ChunkSnapshot} for the given materials.
+     * Safe to call from any thread.
+     *
+     * @param snapshot        The snapshot to scan.
+     * @param minY            The minimum height of the world (inclusive).
+     * @param maxY            The maximum height of the world (exclusive).
+     * @param materials       The materials to look for.
+     * @param found           Receives the packed block positions mapped to the material found at that position.
+     * @param composterLevels Receives the packed block positions of all composters mapped to their fill level.
+     */
+    private static void scanSnapshot(@NotNull ChunkSnapshot snapshot, int minY, int maxY,
+                                     @NotNull Set<Material> materials, @NotNull Map<Long, Material> found,
+                                     @NotNull Map<Long, Integer> composterLevels) {
+        int baseX = snapshot.getX() << 4;
+        int baseZ = snapshot.getZ() << 4;
+
+        for (int sectionY = minY; sectionY < maxY; sectionY += 16) {
+            // Sections containing only air can't contain special blocks
+            if (snapshot.isSectionEmpty((sectionY - minY) >> 4))
+                continue;
+
+            int sectionMaxY = Math.min(sectionY + 16, maxY);
+            for (int y = sectionY; y < sectionMaxY; y++) {
+                for (int x = 0; x < 16; x++) {
+                    for (int z = 0; z < 16; z++) {
+                        Material type = snapshot.getBlockType(x, y, z);
+                        if (!materials.contains(type))
+                            continue;
+
+                        long position = PackedPosition.pack(baseX + x, y, baseZ + z);
+                        found.put(position, type);
+                        if (type == Material.COMPOSTER && snapshot.getBlockData(x, y, z) instanceof Levelled composter)
+                            composterLevels.put(position, composter.getLevel());
+                    }
+                }
+            }
+        }
+    }
+
+    /**
+     * Commits the result of a chunk scan on the main thread.
+     * The result is discarded, if the index was rebuilt or the chunk was unloaded in the meantime.
+     * If a tracked block changed during the scan, the chunk is indexed again.
+     */
+    private void commit(UUID worldId, long chunkKey, IndexedChunk indexedChunk, Map<Long, Material> found,
+                        Map<Long, Integer> composterLevels) {
+        Map<Long, IndexedChunk> chunks = indexedWorlds.get(worldId);
+        if (chunks == null || chunks.get(chunkKey) != indexedChunk)
+            return;
+
+        if (indexedChunk.dirty) {
+            World world = Bukkit.getWorld(worldId);
+            int chunkX = PackedPosition.chunkX(chunkKey);
+            int chunkZ = PackedPosition.chunkZ(chunkKey);
+
+            if (world != null && world.isChunkLoaded(chunkX, chunkZ)) {
+                indexChunk(world.getChunkAt(chunkX, chunkZ));
+            } else {
+                chunks.remove(chunkKey);
+                composters.removeChunk(worldId, chunkKey);
+                coverage.invalidateChunk(worldId, chunkX, chunkZ);
+                if (indexedChunk.warmup)
+                    warmupChunkDone(false);
+            }
+            return;
+        }
+
+        indexedChunk.blocks.putAll(found);
+        indexedChunk.complete = true;
+        composters.setChunk(worldId, chunkKey, composterLevels);
+        coverage.invalidateChunk(worldId, PackedPosition.chunkX(chunkKey), PackedPosition.chunkZ(chunkKey));
+        if (indexedChunk.warmup)
+            warmupChunkDone(true);
+
+        if (!found.isEmpty() && RealisticPlantGrowth.isDebug())
+            logger.logToFile("Indexed " + found.size() + " special blocks in chunk [" +
+                    PackedPosition.chunkX(chunkKey) + " | " + PackedPosition.chunkZ(chunkKey) + "]", logFile);
+    }
+
+    /**
+     * Removes a chunk from the index.
+     *
+     * @param chunk The unloaded {@link Chunk}.
+     */
+    public void unloadChunk(@NotNull Chunk chunk) {
+        paletteFilter.invalidate(chunk.getWorld(), chunk.getX(), chunk.getZ());
+        UUID worldId = chunk.getWorld().getUID();
+        Map<Long, IndexedChunk> chunks = indexedWorlds.get(worldId);
+        long chunkKey = PackedPosition.chunkKey(chunk.getX(), chunk.getZ());
+        IndexedChunk indexedChunk = chunks == null ? null : chunks.remove(chunkKey);
+        if (indexedChunk == null)
+            return;
+        if (indexedChunk.warmup && !indexedChunk.complete)
+            warmupChunkDone(false);
+
+        // Chunks still being scanned stay marked as loaded in the store and are scanned again next time
+        if (store != null && indexedChunk.complete)
+            writeChunk(worldId, chunkKey, indexedChunk, chunk.getInhabitedTime());
+
+        composters.removeChunk(worldId, chunkKey);
+        coverage.invalidateChunk(worldId, chunk.getX(), chunk.getZ());
+    }
+
+    /**
+     * Writes all completely indexed, loaded chunks to the persistent index and closes its files.
+     */
+    private void closeStore() {
+        if (store == null)
+            return;
+
+        int chunkCount = 0;
+        for (Map.Entry<UUID, Map<Long, IndexedChunk>> indexedWorld : indexedWorlds.entrySet()) {
+            World world = Bukkit.getWorld(indexedWorld.getKey());
+            if (world == null)
+                continue;
+
+            for (Map.Entry<Long, IndexedChunk> entry : indexedWorld.getValue().entrySet()) {
+                int chunkX = PackedPosition.chunkX(entry.getKey());
+                int chunkZ = PackedPosition.chunkZ(entry.getKey());
+                if (!entry.getValue().complete || !world.isChunkLoaded(chunkX, chunkZ))
+                    continue;
+
+                writeChunk(world.getUID(), entry.getKey(), entry.getValue(),
+                        world.getChunkAt(chunkX, chunkZ).getInhabitedTime());
+                chunkCount++;
+            }
+        }
+
+        // Runs after all pending writes, the next store is only opened afterward
+        RegionIndexStore closedStore = store;
+        int savedChunks = chunkCount;
+        storeExecutor.execute(() -> {
+            closedStore.close();
+            logger.verbose("Saved " + savedChunks + " indexed chunks.");
+        });
+        store = null;
+    }
+
+    /**
+     * Hands a completely indexed chunk to the store thread to write it to the persistent index.
+     * The index data the store thread needs is copied here on the main thread.
+     * Since the index is kept up to date by block change events, the blocks match the chunk at this inhabited time.
+     */
+    private void writeChunk(UUID worldId, long chunkKey, IndexedChunk indexedChunk, long inhabitedTime) {
+        Map<Long, Material> blocks = new HashMap<>(indexedChunk.blocks);
+        Map<Long, Integer> composterLevels = new HashMap<>();
+        for (Map.Entry<Long, Material> block : blocks.entrySet()) {
+            if (block.getValue() == Material.COMPOSTER)
+                composterLevels.put(block.getKey(), Math.max(composters.getLevel(worldId, block.getKey()), 0));
+        }
+
+        RegionIndexStore regionStore = store;
+        storeExecutor.execute(() -> regionStore.write(worldId, PackedPosition.chunkX(chunkKey),
+                PackedPosition.chunkZ(chunkKey), blocks, composterLevels, inhabitedTime));
+    }
+
+    /**
+     * Updates the index entry of a single block.
+     *
+     * @param block   The changed {@link Block}.
+     * @param newData The {@link BlockData} the block has after the change.
+     */
+    public void updateBlock(@NotNull Block block, @NotNull BlockData newData) {
+        if (!enabled)
+            return;
+
+        // A new block state may have been added to the palette of the chunk
+        if (trackedMaterials.contains(newData.getMaterial()))
+            paletteFilter.invalidate(block.getWorld(), block.getX() >> 4, block.getZ() >> 4);
+
+        Map<Long, IndexedChunk> chunks = indexedWorlds.get(block.getWorld().getUID());
+        IndexedChunk indexedChunk = chunks == null ? null :
+                chunks.get(PackedPosition.chunkKey(block.getX() >> 4, block.getZ() >> 4));
+
+        if (indexedChunk == null || !indexedChunk.complete) {
+            if (indexedChunk != null)
+                indexedChunk.dirty = true;
+            // Not registered by the ComposterRegistry, but cached world scans may depend on the fill level
+            if (newData.getMaterial() == Material.COMPOSTER)
+                ChangeJournal.get().blockChanged(block);
+            return;
+        }
+
+        Material newType = newData.getMaterial();
+        long position = PackedPosition.pack(block.getX(), block.getY(), block.getZ());
+        composters.update(block, newData);
+
+        Material oldType = trackedMaterials.contains(newType) ?
+                indexedChunk.blocks.put(position, newType) : indexedChunk.blocks.remove(position);
+
+        if (oldType != newType)
+            coverage.invalidateBlock(block.getWorld().getUID(), block.getX(), block.getY(), block.getZ());
+    }
+
+    /**
+     * Re-reads the given blocks after a delay and updates their index entries.
+     * Used for changes whose final result isn't known when the event is fired (e.g. moving pistons).
+     *
+     * @param blocks The {@link Block}s to refresh.
+     * @param delay  The delay in ticks.
+     */
+    public void refreshLater(@NotNull Collection<Block> blocks, long delay) {
+        if (!enabled || blocks.isEmpty())
+            return;
+
+        scheduler.runTaskLater(instance, () -> {
+            for (Block block : blocks) {
+                updateBlock(block, block.getBlockData());
+            }
+        }, delay);
+    }
+
+    /**
+     * Checks if a {@link Material} is stored in this index.
+     *
+     * @param material The {@link Material} to check.
+     * @return {@code true} if blocks of the material are tracked by the index.
+     */
+    public boolean isTracked(@NotNull Material material) {
+        return trackedMaterials.contains(material);
+    }
+
+    /**
+     * Retrieves the per-section coverage of all indexed sources.
+     *
+     * @return The {@link SourceCoverage} of this index.
+     */
+    @NotNull
+    public SourceCoverage getCoverage() {
+        return coverage;
+    }
+
+    /**
+     * Retrieves the positions and fill levels of all indexed composters.
+     *
+     * @return The {@link ComposterRegistry} of this index.
+     */
+    @NotNull
+    public ComposterRegistry getComposters() {
+        return composters;
+    }
+
+    /**
+     * Retrieves the palette pre-check for all materials tracked by this index.
+     *
+     * @return The current {@link ChunkPaletteFilter}.
+     */
+    @NotNull
+    public ChunkPaletteFilter getPaletteFilter() {
+        return paletteFilter;
+    }
+
+    /**
+     * Retrieves the indexed special blocks of a chunk.
+     * The returned map must not be modified.
+     *
+     * @param world  The {@link World} of the chunk.
+     * @param chunkX The chunk X coordinate.
+     * @param chunkZ The chunk Z coordinate.
+     * @return Packed block positions mapped to their {@link Material},
+     * or {@code null} if the chunk is not (yet) indexed.
+     */
+    @Nullable
+    public Map<Long, Material> getIndexedBlocks(@NotNull World world, int chunkX, int chunkZ) {
+        Map<Long, IndexedChunk> chunks = indexedWorlds.get(world.getUID());
+        if (chunks == null)
+            return null;
+
+        IndexedChunk indexedChunk = chunks.get(PackedPosition.chunkKey(chunkX, chunkZ));
+        if (indexedChunk == null || !indexedChunk.complete)
+            return null;
+
+        return indexedChunk.blocks;
+    }
+}
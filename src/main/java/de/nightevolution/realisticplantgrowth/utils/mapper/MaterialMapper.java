@@ -3,6 +3,7 @@ package de.nightevolution.realisticplantgrowth.utils.mapper;
 import de.nightevolution.realisticplantgrowth.ConfigManager;
 import de.nightevolution.realisticplantgrowth.RealisticPlantGrowth;
 import de.nightevolution.realisticplantgrowth.utils.Logger;
+import de.nightevolution.realisticplantgrowth.utils.exception.ConfigurationException;
 import dev.dejvokep.boostedyaml.route.Route;
 import org.bukkit.Material;
 import org.jetbrains.annotations.NotNull;
@@ -26,6 +27,17 @@ public class MaterialMapper {
      */
     private static HashSet<Material> growthModifiedPlants;
     private static HashSet<Material> growInDarkPlants;
+
+    /**
+     * Config keys in {@code GrowthModifiers.yml} of all growth-modified plants, indexed by their config id.
+     */
+    private static Route[] configKeys = new Route[0];
+
+    /**
+     * Config id of every growth-modified plant, resolved once per reload.
+     * Only read while {@link VersionMapper} compiles its material table.
+     */
+    private static EnumMap<Material, Integer> configIds = new EnumMap<>(Material.class);
     private final Map<String, List<Material>> plantVariationsMap = new HashMap<>();
 
     /**
@@ -87,7 +99,7 @@ public class MaterialMapper {
 
         if (material == null) {
             logger.warn("Material '" + materialString + "' is not a Bukkit Material!");
-        } else if (versionMapper.isPlantMaterial(material)) {
+        } else if (versionMapper.isSupportedPlant(material)) {
             return material;
         } else {
             logger.warn("Material '" + materialString + "' is not a Plant Material!");
@@ -103,14 +115,35 @@ public class MaterialMapper {
      * the set of growth-modified plants accordingly. It logs information about each processed material,
      * including those not mapped to known plant variations. Unsupported materials, such as VINE and GLOW_LICHEN,
      * trigger warnings. The final set of growth-modified plants is then logged for debugging purposes.
+     * <p>
+     * Every growth-modified plant is mapped to the id of the config key it was read from, so
+     * {@link #getConfigKeyByMaterial(Material)} doesn't need any string matching.
+     * A plant matched by more than one config key is a configuration error.
+     *
+     * @throws ConfigurationException if a plant is matched by more than one config key.
      */
     protected void updateGrowthModifiedPlants() {
         Map<String, Object> growthModData = cm.getGrowthModifiers();
 
         growthModifiedPlants = new HashSet<>();
+        List<Route> resolvedConfigKeys = new ArrayList<>();
+        EnumMap<Material, Integer> resolvedConfigIds = new EnumMap<>(Material.class);
 
         for (String key : growthModData.keySet()) {
-            growthModifiedPlants.addAll(getPlantVariationsOf(key));
+            List<Material> variations = getPlantVariationsOf(key);
+            growthModifiedPlants.addAll(variations);
+
+            if (!variations.isEmpty())
+                resolvedConfigKeys.add(Route.from(key));
+
+            for (Material variation : variations) {
+                Integer previousId = resolvedConfigIds.put(variation, resolvedConfigKeys.size() - 1);
+                if (previousId != null) {
+                    logger.error("'" + variation + "' is matched by '" + resolvedConfigKeys.get(previousId).get(0) +
+                            "' and '" + key + "' in your GrowthModifiers.yml!");
+                    throw new ConfigurationException("Ambiguous plant section in GrowthModifiers.yml!");
+                }
+            }
 
             Material notMapped = Material.getMaterial(key);
 
@@ -127,6 +160,9 @@ public class MaterialMapper {
 
         }
 
+        configKeys = resolvedConfigKeys.toArray(new Route[0]);
+        configIds = resolvedConfigIds;
+
         if (RealisticPlantGrowth.isVerbose()) {
             logger.logToFile("", logFile);
             logger.logToFile("-------------------- Updated GrowthModifiedPlants --------------------", logFile);
@@ -154,51 +190,38 @@ public class MaterialMapper {
     /**
      * Retrieves the configuration key associated with the specified Bukkit {@link Material}.
      * <p>
-     * This method iterates through the plantVariationsMap to find the entry containing the specified Material.
-     * It then retrieves the corresponding configuration key using {@code findConfigKeyInGrowthModifiers} and returns it as a Route.
+     * The keys are resolved once per reload by {@link #updateGrowthModifiedPlants()}.
      *
      * @param material The Bukkit {@link Material} for which to retrieve the configuration key.
      * @return The {@link Route} representing the configuration key associated with the specified Material.
+     * @throws IllegalArgumentException If the specified Material is not found in the {@code GrowthModifiers.yml} file.
      */
     @NotNull
     public Route getConfigKeyByMaterial(@NotNull Material material) {
-        for (Map.Entry<String, List<Material>> entry : plantVariationsMap.entrySet()) {
-            if (entry.getValue().contains(material)) {
-                String configKey = entry.getKey();
-                return Route.from(findConfigKeyInGrowthModifiers(configKey));
-            }
-        }
+        int configId = versionMapper.getConfigId(material);
+        if (configId < 0)
+            throw new IllegalArgumentException(
+                    getClass().getSimpleName() + ": Material '" + material + "' not found in your GrowthModifiers.yml!");
 
-        return Route.from(findConfigKeyInGrowthModifiers(material.toString()));
+        return configKeys[configId];
     }
 
     /**
-     * Finds the configuration key associated with the specified key in the {@code GrowthModifiers.yml} file.
-     * <p>
-     * This method searches through the keys in the {@code GrowthModifiers.yml} file to find a key containing the specified configKey.
-     * It returns the found key if there is a match; otherwise, it throws an {@link IllegalArgumentException}.
+     * Resolves the config id of a growth-modified plant while the {@link VersionMapper} compiles its material table.
      *
-     * @param configKey The key for which to find the associated configuration key.
-     * @return The configuration key associated with the specified key in the {@code GrowthModifiers.yml} file.
-     * @throws IllegalArgumentException If the specified key is not found in the {@code GrowthModifiers.yml} file.
+     * @param material The Bukkit {@link Material} to resolve.
+     * @return The index of the config key in {@code GrowthModifiers.yml}, or {@code -1} if not configured.
      */
-    @NotNull
-    private String findConfigKeyInGrowthModifiers(@NotNull String configKey) {
-        for (String key : cm.getGrowthModifiers().keySet()) {
-            if (key.toLowerCase().contains(configKey.toLowerCase())) {
-                // This was previously fixed using key.equalsIgnoreCase(configKey),
-                // but that caused issues with the current implementation of the plantVariations map.
-                // This is a temporary workaround in place since 19.06.2025.
-                if (configKey.equalsIgnoreCase(Material.OAK_SAPLING.toString()) && key.toLowerCase().contains("dark")){
-                    continue;
-                }
-
-                return key;
-            }
-        }
+    int resolveConfigId(@NotNull Material material) {
+        return configIds.getOrDefault(material, -1);
+    }
 
-        throw new IllegalArgumentException(
-                getClass().getSimpleName() + ": Material '" + configKey + "' not found in your GrowthModifiers.yml!");
+    /**
+     * Checks if the specified material is configured to grow in the dark.
+     * Only read while the {@link VersionMapper} compiles its material table.
+     */
+    boolean isConfiguredToGrowInDark(@NotNull Material material) {
+        return growInDarkPlants.contains(material);
     }
 
     // Getters
@@ -210,7 +233,7 @@ public class MaterialMapper {
      * @return {@code true} if the {@link Material} is a growth-modified plant, {@code false} otherwise.
      */
     public boolean isGrowthModifiedPlant(@NotNull Material material) {
-        return growthModifiedPlants.contains(material);
+        return versionMapper.isGrowthModifiedPlant(material);
     }
 
     /**
@@ -225,23 +248,34 @@ public class MaterialMapper {
     /**
      * Retrieves a {@link List} of {@link Material} variations associated with the specified material string.
      * <p>
-     * This method searches through the plantVariationsMap to find entries containing the specified material string.
-     * It returns the associated list of material variations. If no variations are found, it checks if the material
-     * is a valid plant material using 'getCheckedMaterial' and returns a singleton list with the validated material,
-     * or an empty list if the material is ignored.
+     * This method collects all entries of the plantVariationsMap whose search string is contained in the specified
+     * material string. It returns the associated list of material variations. If no variations are found, it checks
+     * if the material is a valid plant material using 'getCheckedMaterial' and returns a singleton list with the
+     * validated material, or an empty list if the material is ignored.
      *
      * @param materialString The string representation of the {@link Material} for which to retrieve variations.
      * @return A {@link List} of {@link Material} variations associated with the specified material string.
+     * @throws ConfigurationException if the material string matches more than one entry.
      */
     @NotNull
     public List<Material> getPlantVariationsOf(@NotNull String materialString) {
         String loweredMaterialString = materialString.toLowerCase();
+        List<String> matchingSearchStrings = new ArrayList<>(1);
         for (String searchString : plantVariationsMap.keySet()) {
             if (loweredMaterialString.contains(searchString)) {
-                return plantVariationsMap.get(searchString);
+                matchingSearchStrings.add(searchString);
             }
         }
 
+        // The iteration order of the map must not decide which plant is meant
+        if (matchingSearchStrings.size() > 1) {
+            Collections.sort(matchingSearchStrings);
+            logger.error("'" + materialString + "' matches the plants " + matchingSearchStrings + "!");
+            throw new ConfigurationException("Ambiguous plant material '" + materialString + "'!");
+        }
+        if (!matchingSearchStrings.isEmpty())
+            return plantVariationsMap.get(matchingSearchStrings.get(0));
+
         Material checkedMaterial = getCheckedMaterial(materialString);
         if (checkedMaterial != null) {
             return Collections.singletonList(checkedMaterial);
@@ -257,7 +291,7 @@ public class MaterialMapper {
      * @return {@code true} if the {@link Material} m can grow in the dark, {@code false} otherwise.
      */
     public boolean canGrowInDark(@NotNull Material m) {
-        return growInDarkPlants.contains(m);
+        return versionMapper.canGrowInDark(m);
     }
 
 }
\ No newline at end of file
@@ -128,6 +128,30 @@ public abstract class VersionMapper {
     private static HashSet<Material> clickableSeeds;
 
 
+    // Flags of the material table
+    private static final int PLANT = 1;
+    private static final int AQUATIC_PLANT = 1 << 1;
+    private static final int AGRICULTURAL_PLANT = 1 << 2;
+    private static final int SAPLING = 1 << 3;
+    private static final int UPWARDS_GROWING = 1 << 4;
+    private static final int DOWNWARDS_GROWING = 1 << 5;
+    private static final int GROW_EVENT_RETURNS_AIR = 1 << 6;
+    private static final int CLICKABLE_SEED = 1 << 7;
+    private static final int GROWTH_MODIFIED = 1 << 8;
+    private static final int GROW_IN_DARK = 1 << 9;
+
+    /**
+     * The config id is stored in the upper bits of a table entry, incremented by one so that {@code 0} means "none".
+     */
+    private static final int CONFIG_ID_SHIFT = 16;
+
+    /**
+     * Classification flags and config id of every {@link Material}, indexed by {@link Material#ordinal()}.
+     * Compiled from the material sets above (including the materials added by the version-specific subclasses)
+     * and the configuration on every {@link #reload()}, so every classification query is a single array read.
+     */
+    private static int[] materialTable = new int[Material.values().length];
+
     private static final String logFile = "debug";
     private static final String treeLogFile = "treeLog";
 
@@ -145,6 +169,7 @@ public abstract class VersionMapper {
         materialMapper.updateGrowthModifiedPlants();
         materialMapper.updateGrowInDark();
         updateClickableSeeds();
+        compileMaterialTable();
     }
 
     private void addVersionDependentMaterials() {
@@ -215,6 +240,73 @@ public abstract class VersionMapper {
         }
     }
 
+    /**
+     * Compiles all classifications of the material sets and the configuration into the material table.
+     * The new table replaces the old one at once, so queries never see a partially compiled table.
+     */
+    private void compileMaterialTable() {
+        int[] table = new int[Material.values().length];
+
+        addFlag(table, plants, PLANT);
+        addFlag(table, aquaticPlants, AQUATIC_PLANT);
+        addFlag(table, agriculturalPlants, AGRICULTURAL_PLANT);
+        addFlag(table, saplings, SAPLING);
+        addFlag(table, upwardsGrowingPlants, UPWARDS_GROWING);
+        addFlag(table, downwardsGrowingPlants, DOWNWARDS_GROWING);
+        addFlag(table, growEventReturnsAirBlockPlants, GROW_EVENT_RETURNS_AIR);
+        addFlag(table, clickableSeeds, CLICKABLE_SEED);
+        addFlag(table, materialMapper.getGrowthModifiedPlants(), GROWTH_MODIFIED);
+
+        for (Material material : Material.values()) {
+            if (materialMapper.isConfiguredToGrowInDark(material))
+                table[material.ordinal()] |= GROW_IN_DARK;
+
+            int configId = materialMapper.resolveConfigId(material);
+            if (configId >= 0)
+                table[material.ordinal()] |= (configId + 1) << CONFIG_ID_SHIFT;
+        }
+
+        materialTable = table;
+    }
+
+    private static void addFlag(int[] table, Set<Material> materials, int flag) {
+        for (Material material : materials) {
+            table[material.ordinal()] |= flag;
+        }
+    }
+
+    private static boolean hasFlag(@NotNull Material material, int flag) {
+        return (materialTable[material.ordinal()] & flag) != 0;
+    }
+
+    /**
+     * Checks the material sets directly, since {@link MaterialMapper} validates configured plants
+     * before the material table of a reload is compiled.
+     */
+    boolean isSupportedPlant(@NotNull Material material) {
+        return plants.contains(material) || aquaticPlants.contains(material);
+    }
+
+    /**
+     * Retrieves the config id of a growth-modified plant.
+     *
+     * @param material The {@link Material} of the plant.
+     * @return The index of the plant's config key in {@code GrowthModifiers.yml}, or {@code -1} if not configured.
+     */
+    int getConfigId(@NotNull Material material) {
+        return (materialTable[material.ordinal()] >>> CONFIG_ID_SHIFT) - 1;
+    }
+
+    /**
+     * Checks if the given {@link Material} is configured to grow in the dark.
+     *
+     * @param material The {@link Material} to check.
+     * @return {@code true} if the {@link Material} can grow in the dark, {@code false} otherwise.
+     */
+    boolean canGrowInDark(@NotNull Material material) {
+        return hasFlag(material, GROW_IN_DARK);
+    }
+
     // Getters
 
     /**
@@ -234,7 +326,7 @@ public abstract class VersionMapper {
      */
     @Nullable
     public Material getMaterialFromSeed(@NotNull Material seed) {
-        if (clickableSeeds.contains(seed))
+        if (hasFlag(seed, CLICKABLE_SEED))
             return clickableSeedsMap.get(seed);
         return null;
     }
@@ -248,7 +340,7 @@ public abstract class VersionMapper {
      * @return {@code true} if the provided {@link Material} represents a land or aquatic plant, {@code false} otherwise.
      */
     public boolean isPlantMaterial(Material material) {
-        return plants.contains(material) || aquaticPlants.contains(material);
+        return hasFlag(material, PLANT | AQUATIC_PLANT);
     }
 
     /**
@@ -258,7 +350,7 @@ public abstract class VersionMapper {
      * @return {@code true} if the {@link Material} m is a plant, {@code false} otherwise.
      */
     public boolean isAPlant(@NotNull Material m) {
-        return plants.contains(m);
+        return hasFlag(m, PLANT);
     }
 
     /**
@@ -268,7 +360,7 @@ public abstract class VersionMapper {
      * @return {@code true} if the {@link Block} b is an agricultural plant, {@code false} otherwise.
      */
     public boolean isAgriculturalPlant(@NotNull Block b) {
-        return agriculturalPlants.contains(b.getType());
+        return hasFlag(b.getType(), AGRICULTURAL_PLANT);
     }
 
     /**
@@ -278,7 +370,7 @@ public abstract class VersionMapper {
      * @return {@code true} if the {@link Material} m is an aquatic plant, {@code false} otherwise.
      */
     public boolean isAnAquaticPlant(@NotNull Material m) {
-        return aquaticPlants.contains(m);
+        return hasFlag(m, AQUATIC_PLANT);
     }
 
     /**
@@ -288,11 +380,11 @@ public abstract class VersionMapper {
      * @return {@code true} if the {@link Block} is a sapling, {@code false} otherwise.
      */
     public boolean isSapling(@NotNull Block block) {
-        return saplings.contains(block.getType());
+        return hasFlag(block.getType(), SAPLING);
     }
 
     public boolean isSapling(@NotNull Material material) {
-        return saplings.contains(material);
+        return hasFlag(material, SAPLING);
     }
 
     /**
@@ -302,7 +394,7 @@ public abstract class VersionMapper {
      * @return {@code true} if the {@link Material} is a clickable seed, {@code false} otherwise.
      */
     public boolean isClickableSeed(@NotNull Material material) {
-        return clickableSeeds.contains(material);
+        return hasFlag(material, CLICKABLE_SEED);
     }
 
 
@@ -313,7 +405,7 @@ public abstract class VersionMapper {
      * @return {@code true} if the {@link Material} is an upwards-growing plant, {@code false} otherwise.
      */
     public boolean isUpwardsGrowingPlant(@NotNull Material material) {
-        return upwardsGrowingPlants.contains(material);
+        return hasFlag(material, UPWARDS_GROWING);
     }
 
 
@@ -324,7 +416,7 @@ public abstract class VersionMapper {
      * @return {@code true} if the {@link Material} is a downwards-growing plant, {@code false} otherwise.
      */
     public boolean isDownwardsGrowingPlant(@NotNull Material material) {
-        return downwardsGrowingPlants.contains(material);
+        return hasFlag(material, DOWNWARDS_GROWING);
     }
 
     /**
@@ -334,7 +426,7 @@ public abstract class VersionMapper {
      * @return {@code true} if the {@link Material} represents a plant with grow event returning air, {@code false} otherwise.
      */
     public boolean isGrowEventReturnsAirBlockPlant(@NotNull Material material) {
-        return growEventReturnsAirBlockPlants.contains(material);
+        return hasFlag(material, GROW_EVENT_RETURNS_AIR);
     }
 
     /**
@@ -358,7 +450,7 @@ public abstract class VersionMapper {
      * @return {@code true} if the provided Material represents a growth-modified plant, {@code false} otherwise.
      */
     public boolean isGrowthModifiedPlant(@NotNull Material material) {
-        return materialMapper.isGrowthModifiedPlant(material);
+        return hasFlag(material, GROWTH_MODIFIED);
     }
 
     // Abstract Methods implemented in Child classes.
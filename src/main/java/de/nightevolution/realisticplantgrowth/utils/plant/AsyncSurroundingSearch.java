@@ -0,0 +1,437 @@
+package de.nightevolution.realisticplantgrowth.utils.plant;
+
+import de.nightevolution.realisticplantgrowth.ConfigManager;
+import de.nightevolution.realisticplantgrowth.RealisticPlantGrowth;
+import de.nightevolution.realisticplantgrowth.utils.Logger;
+import de.nightevolution.realisticplantgrowth.utils.index.ChunkPaletteFilter;
+import de.nightevolution.realisticplantgrowth.utils.index.PackedPosition;
+import de.nightevolution.realisticplantgrowth.utils.index.SpecialBlockIndex;
+import org.bukkit.Bukkit;
+import org.bukkit.ChunkSnapshot;
+import org.bukkit.Material;
+import org.bukkit.World;
+import org.bukkit.block.Block;
+import org.bukkit.scheduler.BukkitScheduler;
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+
+import java.util.*;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+
+/**
+ * Searches UV light sources and fertilizer blocks around plants off the main thread.
+ * <p>
+ * For chunks in range of a plant that are indexed by the {@link SpecialBlockIndex}, only the indexed
+ * special blocks are copied on the main thread. All other chunks are copied into {@link ChunkSnapshot}s,
+ * which are reused by all requests of the same tick and dropped afterward.
+ * Both are searched by a small worker pool and the found positions are stored on the main thread.
+ * Following growth events of the same plant are answered from the stored result until it expires.
+ * </p>
+ * <p>
+ * Only used if {@code async_search} is enabled in the Config.yml.
+ * </p>
+ */
+public class AsyncSurroundingSearch {
+
+    /**
+     * Singleton instance, initialized lazily on first access via {@link #get()}.
+     */
+    private static AsyncSurroundingSearch asyncSurroundingSearch;
+
+    /**
+     * Maximum number of stored search results. Expired results are dropped once this size is reached.
+     */
+    private static final int MAX_RESULTS = 8192;
+
+    private final RealisticPlantGrowth instance;
+    private final Logger logger;
+    private final BukkitScheduler scheduler;
+    private static final String logFile = "debug";
+
+    private final ExecutorService searchExecutor;
+
+    /**
+     * Chunk snapshots taken during the current tick, keyed by world and packed chunk coordinates.
+     */
+    private final Map<UUID, Map<Long, ChunkSnapshot>> tickSnapshots = new HashMap<>();
+    private boolean snapshotCleanupScheduled;
+
+    /**
+     * Finished search results, keyed by world and packed plant position.
+     */
+    private final Map<UUID, Map<Long, SearchResult>> results = new HashMap<>();
+
+    /**
+     * Callbacks waiting for a running search, keyed by world and packed plant position.
+     */
+    private final Map<UUID, Map<Long, List<Runnable>>> pendingCallbacks = new HashMap<>();
+
+    /**
+     * Incremented on every {@link #clear()}, so searches started with an outdated configuration are discarded.
+     */
+    private int generation;
+
+    /**
+     * Positions of all special blocks found around a plant.
+     *
+     * @param uvSources         Packed positions of UV light sources.
+     * @param fertilizerSources Packed positions of composters.
+     * @param expiresAt         System time in milliseconds after which the result is no longer used.
+     */
+    private record SearchResult(long[] uvSources, long[] fertilizerSources, long expiresAt) {
+        private boolean isExpired(long now) {
+            return now > expiresAt;
+        }
+    }
+
+    /**
+     * A copy of the indexed special blocks of a chunk, safe to read from the worker pool.
+     *
+     * @param positions Packed block positions.
+     * @param types     The {@link Material} at the position with the same index.
+     */
+    private record IndexedBlocks(long[] positions, Material[] types) {
+    }
+
+    private AsyncSurroundingSearch() {
+        asyncSurroundingSearch = this;
+        instance = RealisticPlantGrowth.getInstance();
+        scheduler = Bukkit.getScheduler();
+        logger = new Logger(this.getClass().getSimpleName(), RealisticPlantGrowth.isVerbose(), RealisticPlantGrowth.isDebug());
+
+        searchExecutor = Executors.newFixedThreadPool(2, runnable -> {
+            Thread thread = new Thread(runnable, "RealisticPlantGrowth-Search");
+            thread.setDaemon(true);
+            return thread;
+        });
+    }
+
+    /**
+     * Retrieves the singleton instance of the {@link AsyncSurroundingSearch}.
+     *
+     * @return the singleton {@link AsyncSurroundingSearch} instance.
+     */
+    public static AsyncSurroundingSearch get() {
+        if (asyncSurroundingSearch == null)
+            new AsyncSurroundingSearch();
+        return asyncSurroundingSearch;
+    }
+
+    /**
+     * Stops the worker pool, if the search was ever used.
+     * Called when the plugin gets disabled.
+     */
+    public static void shutdown() {
+        if (asyncSurroundingSearch != null) {
+            asyncSurroundingSearch.searchExecutor.shutdownNow();
+            asyncSurroundingSearch = null;
+        }
+    }
+
+    /**
+     * Drops all stored results and discards all running searches.
+     * Must be called after every configuration (re)load.
+     */
+    public void clear() {
+        generation++;
+        results.clear();
+        pendingCallbacks.clear();
+        tickSnapshots.clear();
+    }
+
+    /**
+     * Checks if a not expired search result exists for the given plant.
+     *
+     * @param plant The plant {@link Block}.
+     * @return {@code true} if {@link #getSurrounding(Block)} can answer without a new search.
+     */
+    public boolean hasResult(@NotNull Block plant) {
+        return getResult(plant) != null;
+    }
+
+    /**
+     * Creates the {@link Surrounding} of a plant from its stored search result.
+     * Blocks that are no longer UV light sources or composters are left out.
+     *
+     * @param plant The plant {@link Block}.
+     * @return The {@link Surrounding} of the plant, or {@code null} if no valid result is stored.
+     */
+    @Nullable
+    public Surrounding getSurrounding(@NotNull Block plant) {
+        SearchResult result = getResult(plant);
+        if (result == null)
+            return null;
+
+        ConfigManager cm = instance.getConfigManager();
+        World world = plant.getWorld();
+
+        SourcePositions uvSources = new SourcePositions(result.uvSources().length);
+        for (long position : result.uvSources()) {
+            Material type = getType(world, position);
+            if (cm.getUV_Blocks().contains(type))
+                uvSources.add(position, type);
+        }
+
+        SourcePositions fertilizerSources = new SourcePositions(result.fertilizerSources().length);
+        for (long position : result.fertilizerSources()) {
+            if (getType(world, position) == Material.COMPOSTER)
+                fertilizerSources.add(position, Material.COMPOSTER);
+        }
+
+        return new Surrounding(plant, plant.getState(), uvSources, fertilizerSources);
+    }
+
+    /**
+     * Starts a search around the given plant on the worker pool.
+     * The callback is run on the main thread once the result is stored.
+     * If a search for the plant is already running, only the callback is added.
+     *
+     * @param plant    The plant {@link Block}.
+     * @param callback Runs on the main thread after the search, if the configuration wasn't reloaded in the meantime.
+     */
+    public void requestSearch(@NotNull Block plant, @NotNull Runnable callback) {
+        World world = plant.getWorld();
+        UUID worldId = world.getUID();
+        long plantPosition = PackedPosition.pack(plant.getX(), plant.getY(), plant.getZ());
+
+        Map<Long, List<Runnable>> worldCallbacks = pendingCallbacks.computeIfAbsent(worldId, id -> new HashMap<>());
+        List<Runnable> callbacks = worldCallbacks.get(plantPosition);
+        if (callbacks != null) {
+            callbacks.add(callback);
+            return;
+        }
+        callbacks = new ArrayList<>(2);
+        callbacks.add(callback);
+        worldCallbacks.put(plantPosition, callbacks);
+
+        ConfigManager cm = instance.getConfigManager();
+        SearchParameters parameters = cm.getSearch_Parameters();
+        boolean uvEnabled = parameters.isUVEnabled();
+        int radiusUV = uvEnabled ? parameters.getRadiusUV() : 0;
+        int radiusFertilizer = parameters.isFertilizerEnabled() ? parameters.getRadiusFertilizer() : 0;
+        int searchRadius = parameters.getSearchRadius();
+
+        Set<Material> uvMaterials = EnumSet.noneOf(Material.class);
+        if (uvEnabled)
+            uvMaterials.addAll(cm.getUV_Blocks());
+        ChunkPaletteFilter paletteFilter = SpecialBlockIndex.get().getPaletteFilter();
+        List<ChunkSnapshot> snapshots = new ArrayList<>(9);
+        List<IndexedBlocks> indexedBlocks = new ArrayList<>(9);
+        collectChunksInRange(plant, searchRadius, snapshots, indexedBlocks);
+
+        int minY = world.getMinHeight();
+        int maxY = world.getMaxHeight();
+        long lifetime = cm.getAsync_search_result_lifetime() * 1000L;
+        int searchGeneration = generation;
+
+        searchExecutor.execute(() -> {
+            SearchResult result = search(snapshots, indexedBlocks, paletteFilter, plant.getX(), plant.getY(),
+                    plant.getZ(), minY, maxY, searchRadius, radiusUV, radiusFertilizer, uvMaterials, lifetime);
+
+            if (instance.isEnabled()) {
+                scheduler.runTask(instance, () -> complete(worldId, plantPosition, searchGeneration, result));
+            }
+        });
+    }
+
+    /**
+     * Stores a finished search result on the main thread and runs all callbacks waiting for it.
+     */
+    private void complete(UUID worldId, long plantPosition, int searchGeneration, SearchResult result) {
+        if (searchGeneration != generation)
+            return;
+
+        Map<Long, List<Runnable>> worldCallbacks = pendingCallbacks.get(worldId);
+        List<Runnable> callbacks = worldCallbacks == null ? null : worldCallbacks.remove(plantPosition);
+
+        Map<Long, SearchResult> worldResults = results.computeIfAbsent(worldId, id -> new HashMap<>());
+        if (worldResults.size() >= MAX_RESULTS) {
+            long now = System.currentTimeMillis();
+            worldResults.values().removeIf(r -> r.isExpired(now));
+            if (worldResults.size() >= MAX_RESULTS)
+                worldResults.clear();
+        }
+        worldResults.put(plantPosition, result);
+
+        if (RealisticPlantGrowth.isDebug())
+            logger.logToFile("Async search at [" + PackedPosition.unpackX(plantPosition) + " | " +
+                    PackedPosition.unpackY(plantPosition) + " | " + PackedPosition.unpackZ(plantPosition) + "] found " +
+                    result.uvSources().length + " UV-Sources and " + result.fertilizerSources().length +
+                    " Fertilizer-Sources.", logFile);
+
+        if (callbacks != null) {
+            for (Runnable callback : callbacks) {
+                callback.run();
+            }
+        }
+    }
+
+    /**
+     * Scans the given snapshots and indexed blocks for special blocks within the radii around a plant.
+     * Runs on the worker pool.
+     */
+    @NotNull
+    private static SearchResult search(@NotNull List<ChunkSnapshot> snapshots, @NotNull List<IndexedBlocks> indexedBlocks,
+                                       @NotNull ChunkPaletteFilter paletteFilter,
+                                       int startX, int startY, int startZ, int worldMinY, int worldMaxY,
+                                       int searchRadius, int radiusUV, int radiusFertilizer,
+                                       @NotNull Set<Material> uvMaterials, long lifetime) {
+        List<Long> uvSources = new ArrayList<>();
+        List<Long> fertilizerSources = new ArrayList<>();
+
+        int uvRadiusSquared = radiusUV * radiusUV;
+        int fertilizerRadiusSquared = radiusFertilizer * radiusFertilizer;
+        boolean fertilizerEnabled = radiusFertilizer > 0;
+
+        int minY = Math.max(startY - searchRadius, worldMinY);
+        int maxY = Math.min(startY + searchRadius, worldMaxY - 1);
+
+        for (IndexedBlocks chunk : indexedBlocks) {
+            for (int i = 0; i < chunk.positions().length; i++) {
+                long position = chunk.positions()[i];
+                int dx = PackedPosition.unpackX(position) - startX;
+                int dy = PackedPosition.unpackY(position) - startY;
+                int dz = PackedPosition.unpackZ(position) - startZ;
+                if (Math.abs(dx) > searchRadius || Math.abs(dy) > searchRadius || Math.abs(dz) > searchRadius)
+                    continue;
+
+                Material type = chunk.types()[i];
+                int distanceSquared = (dx * dx) + (dy * dy) + (dz * dz);
+                if (uvMaterials.contains(type) && distanceSquared <= uvRadiusSquared)
+                    uvSources.add(position);
+                if (fertilizerEnabled && type == Material.COMPOSTER && distanceSquared <= fertilizerRadiusSquared)
+                    fertilizerSources.add(position);
+            }
+        }
+
+        for (ChunkSnapshot snapshot : snapshots) {
+            if (!paletteFilter.mayContain(snapshot))
+                continue;
+
+            int baseX = snapshot.getX() << 4;
+            int baseZ = snapshot.getZ() << 4;
+            int minX = Math.max(startX - searchRadius, baseX);
+            int maxX = Math.min(startX + searchRadius, baseX + 15);
+            int minZ = Math.max(startZ - searchRadius, baseZ);
+            int maxZ = Math.min(startZ + searchRadius, baseZ + 15);
+
+            for (int y = minY; y <= maxY; y++) {
+                // Sections containing only air can't contain special blocks
+                if (snapshot.isSectionEmpty((y - worldMinY) >> 4)) {
+                    y |= 15;
+                    continue;
+                }
+
+                int dy = y - startY;
+                for (int x = minX; x <= maxX; x++) {
+                    int dx = x - startX;
+                    for (int z = minZ; z <= maxZ; z++) {
+                        Material type = snapshot.getBlockType(x - baseX, y, z - baseZ);
+                        boolean isUVSource = uvMaterials.contains(type);
+                        boolean isFertilizerSource = fertilizerEnabled && type == Material.COMPOSTER;
+                        if (!isUVSource && !isFertilizerSource)
+                            continue;
+
+                        int dz = z - startZ;
+                        int distanceSquared = (dx * dx) + (dy * dy) + (dz * dz);
+
+                        if (isUVSource && distanceSquared <= uvRadiusSquared)
+                            uvSources.add(PackedPosition.pack(x, y, z));
+                        if (isFertilizerSource && distanceSquared <= fertilizerRadiusSquared)
+                            fertilizerSources.add(PackedPosition.pack(x, y, z));
+                    }
+                }
+            }
+        }
+
+        return new SearchResult(
+                uvSources.stream().mapToLong(Long::longValue).toArray(),
+                fertilizerSources.stream().mapToLong(Long::longValue).toArray(),
+                System.currentTimeMillis() + lifetime);
+    }
+
+    /**
+     * Collects the data of all loaded chunks within the search radius of a plant.
+     * Chunks indexed by the {@link SpecialBlockIndex} are copied from the index. For all other chunks,
+     * a snapshot is taken or a snapshot already taken in the current tick is reused.
+     *
+     * @param plant         The plant {@link Block}.
+     * @param searchRadius  The search radius around the plant.
+     * @param snapshots     Receives the snapshots of chunks that are not indexed.
+     * @param indexedBlocks Receives the indexed special blocks of all other chunks.
+     */
+    private void collectChunksInRange(@NotNull Block plant, int searchRadius, @NotNull List<ChunkSnapshot> snapshots,
+                                      @NotNull List<IndexedBlocks> indexedBlocks) {
+        World world = plant.getWorld();
+        SpecialBlockIndex index = SpecialBlockIndex.get();
+        Map<Long, ChunkSnapshot> worldSnapshots = tickSnapshots.computeIfAbsent(world.getUID(), id -> new HashMap<>());
+
+        if (!snapshotCleanupScheduled) {
+            // Snapshots are only valid during the tick they were taken in
+            snapshotCleanupScheduled = true;
+            scheduler.runTask(instance, () -> {
+                tickSnapshots.clear();
+                snapshotCleanupScheduled = false;
+            });
+        }
+
+        int minChunkX = (plant.getX() - searchRadius) >> 4;
+        int maxChunkX = (plant.getX() + searchRadius) >> 4;
+        int minChunkZ = (plant.getZ() - searchRadius) >> 4;
+        int maxChunkZ = (plant.getZ() + searchRadius) >> 4;
+
+        for (int chunkX = minChunkX; chunkX <= maxChunkX; chunkX++) {
+            for (int chunkZ = minChunkZ; chunkZ <= maxChunkZ; chunkZ++) {
+                // Skip unloaded chunks to prevent forced chunk loading (Fixes #26)
+                if (!world.isChunkLoaded(chunkX, chunkZ))
+                    continue;
+
+                Map<Long, Material> indexed = index.getIndexedBlocks(world, chunkX, chunkZ);
+                if (indexed != null) {
+                    if (indexed.isEmpty())
+                        continue;
+
+                    long[] positions = new long[indexed.size()];
+                    Material[] types = new Material[indexed.size()];
+                    int i = 0;
+                    for (Map.Entry<Long, Material> block : indexed.entrySet()) {
+                        positions[i] = block.getKey();
+                        types[i++] = block.getValue();
+                    }
+                    indexedBlocks.add(new IndexedBlocks(positions, types));
+                    continue;
+                }
+
+                int x = chunkX;
+                int z = chunkZ;
+                snapshots.add(worldSnapshots.computeIfAbsent(PackedPosition.chunkKey(chunkX, chunkZ),
+                        key -> world.getChunkAt(x, z).getChunkSnapshot(false, false, false)));
+            }
+        }
+    }
+
+    @Nullable
+    private SearchResult getResult(@NotNull Block plant) {
+        Map<Long, SearchResult> worldResults = results.get(plant.getWorld().getUID());
+        if (worldResults == null)
+            return null;
+
+        long plantPosition = PackedPosition.pack(plant.getX(), plant.getY(), plant.getZ());
+        SearchResult result = worldResults.get(plantPosition);
+        if (result == null)
+            return null;
+
+        if (result.isExpired(System.currentTimeMillis())) {
+            worldResults.remove(plantPosition);
+            return null;
+        }
+        return result;
+    }
+
+    @NotNull
+    private static Material getType(@NotNull World world, long position) {
+        return world.getType(PackedPosition.unpackX(position), PackedPosition.unpackY(position),
+                PackedPosition.unpackZ(position));
+    }
+}
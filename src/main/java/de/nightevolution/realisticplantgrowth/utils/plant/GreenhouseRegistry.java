@@ -0,0 +1,467 @@
+package de.nightevolution.realisticplantgrowth.utils.plant;
+
+import de.nightevolution.realisticplantgrowth.ConfigManager;
+import de.nightevolution.realisticplantgrowth.RealisticPlantGrowth;
+import de.nightevolution.realisticplantgrowth.utils.Logger;
+import de.nightevolution.realisticplantgrowth.utils.index.PackedPosition;
+import de.nightevolution.realisticplantgrowth.utils.index.PackedPositionSet;
+import org.bukkit.HeightMap;
+import org.bukkit.Material;
+import org.bukkit.World;
+import org.bukkit.block.Block;
+import org.bukkit.block.BlockState;
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+
+import java.util.*;
+
+/**
+ * Detects enclosed farm structures (greenhouses) and evaluates their UV light and fertilizer sources once.
+ * <p>
+ * Starting at a plant, a bounded flood fill walks through all connected non-solid blocks (air, plants, water, ...).
+ * If the fill ends before reaching the configured maximum volume, the plant is inside an enclosure.
+ * Plants under the open sky are rejected by a heightmap lookup without flooding, and a fill stops as soon as
+ * it reaches a block under the open sky.
+ * All UV light sources and composters inside the enclosure or in its walls are shared by every plant inside it,
+ * independent of the UV light and fertilizer radius.
+ * </p>
+ * <p>
+ * Enclosures are kept until one of their interior or wall blocks changes or one of their chunks gets unloaded.
+ * Registering or dropping an enclosure evicts the cached surroundings of its interior from the
+ * {@link SurroundingCache}, since the sources of an enclosure are not limited to the search radius.
+ * All positions reached by a fill that was not enclosed are remembered per chunk section, so no other plant
+ * in the same open volume starts a fill again. They are checked again after {@link #OPEN_RECHECK_MILLIS}
+ * at the earliest, or as soon as a block in their section changes.
+ * All methods must be called on the main thread.
+ * </p>
+ */
+public class GreenhouseRegistry {
+
+    /**
+     * Singleton instance, initialized lazily on first access via {@link #get()}.
+     */
+    private static GreenhouseRegistry greenhouseRegistry;
+
+    /**
+     * Minimum time in milliseconds before a plant that is not enclosed is checked again.
+     */
+    private static final long OPEN_RECHECK_MILLIS = 60_000;
+
+    /**
+     * Maximum number of chunk sections with remembered open positions per world.
+     */
+    private static final int MAX_OPEN_SECTIONS = 4096;
+
+    private static final int[][] NEIGHBOURS = {
+            {0, 1, 0}, {0, -1, 0}, {1, 0, 0}, {-1, 0, 0}, {0, 0, 1}, {0, 0, -1}
+    };
+
+    private final RealisticPlantGrowth instance;
+    private final Logger logger;
+    private static final String logFile = "debug";
+
+    /**
+     * Enclosures of every world, keyed by the world's {@link UUID} and the packed positions of their interior.
+     */
+    private final Map<UUID, Map<Long, Enclosure>> interiors = new HashMap<>();
+
+    /**
+     * Enclosures of every world, keyed by the world's {@link UUID} and the packed positions of their walls.
+     * Walls can be shared by multiple enclosures.
+     */
+    private final Map<UUID, Map<Long, List<Enclosure>>> walls = new HashMap<>();
+
+    /**
+     * Positions known not to be enclosed, keyed by the world's {@link UUID} and the packed section coordinates
+     * (see {@link #sectionKey(int, int, int)}).
+     */
+    private final Map<UUID, Map<Long, OpenSection>> openSections = new HashMap<>();
+
+    private boolean enabled;
+    private int maxVolume;
+
+    /**
+     * A single enclosed volume and the special blocks inside or around it.
+     */
+    private static class Enclosure {
+        private final long[] interior;
+        private final long[] wall;
+        private final PackedPositionSet chunkKeys;
+
+        /**
+         * One UV light source per material.
+         */
+        private final Map<Material, Long> uvSources;
+        private final long[] composters;
+
+        private Enclosure(long[] interior, long[] wall, PackedPositionSet chunkKeys, Map<Material, Long> uvSources,
+                          long[] composters) {
+            this.interior = interior;
+            this.wall = wall;
+            this.chunkKeys = chunkKeys;
+            this.uvSources = uvSources;
+            this.composters = composters;
+        }
+    }
+
+    /**
+     * The positions of a chunk section known not to be enclosed.
+     */
+    private static class OpenSection {
+        /**
+         * One bit per block of the section, indexed by {@code (y << 8) | (z << 4) | x}.
+         */
+        private final long[] positions = new long[64];
+
+        /**
+         * Time after which the positions are checked again.
+         */
+        private long recheckAt;
+
+        private static int bitOf(int x, int y, int z) {
+            return ((y & 15) << 8) | ((z & 15) << 4) | (x & 15);
+        }
+
+        private boolean contains(int x, int y, int z) {
+            int bit = bitOf(x, y, z);
+            return (positions[bit >> 6] & (1L << bit)) != 0;
+        }
+
+        private void add(int x, int y, int z) {
+            int bit = bitOf(x, y, z);
+            positions[bit >> 6] |= 1L << bit;
+        }
+    }
+
+    private GreenhouseRegistry() {
+        greenhouseRegistry = this;
+        instance = RealisticPlantGrowth.getInstance();
+        logger = new Logger(this.getClass().getSimpleName(), RealisticPlantGrowth.isVerbose(), RealisticPlantGrowth.isDebug());
+    }
+
+    /**
+     * Retrieves the singleton instance of the {@link GreenhouseRegistry}.
+     *
+     * @return the singleton {@link GreenhouseRegistry} instance.
+     */
+    public static GreenhouseRegistry get() {
+        if (greenhouseRegistry == null)
+            new GreenhouseRegistry();
+        return greenhouseRegistry;
+    }
+
+    /**
+     * Drops all detected enclosures and reads the greenhouse settings from the configuration.
+     * Must be called after every configuration (re)load.
+     */
+    public void reload() {
+        ConfigManager cm = instance.getConfigManager();
+        enabled = cm.isGreenhouse_enabled();
+        maxVolume = cm.getGreenhouse_max_volume();
+
+        interiors.clear();
+        walls.clear();
+        openSections.clear();
+    }
+
+    /**
+     * @return {@code true} if greenhouse detection is enabled in the configuration.
+     */
+    public boolean isEnabled() {
+        return enabled;
+    }
+
+    /**
+     * Checks if a plant is located in an enclosure, detecting it if necessary.
+     * Enclosed plants must not use results of the radius limited background search.
+     *
+     * @param plant The plant {@link Block}.
+     * @return {@code true} if greenhouse detection is enabled and the plant is enclosed.
+     */
+    public boolean isEnclosed(@NotNull Block plant) {
+        return enabled && getEnclosure(plant) != null;
+    }
+
+    /**
+     * Creates the {@link Surrounding} of a plant from the enclosure it is located in.
+     *
+     * @param plant      The plant {@link Block}.
+     * @param plantState The (not placed) {@link BlockState} of the plant.
+     * @return The {@link Surrounding} of the plant, or {@code null} if the plant is not enclosed.
+     */
+    @Nullable
+    public Surrounding surroundingOf(@NotNull Block plant, @NotNull BlockState plantState) {
+        Enclosure enclosure = getEnclosure(plant);
+        if (enclosure == null)
+            return null;
+
+        ConfigManager cm = instance.getConfigManager();
+        SourcePositions uvSources = new SourcePositions(enclosure.uvSources.size());
+        if (cm.isUV_Enabled()) {
+            for (Map.Entry<Material, Long> uvSource : enclosure.uvSources.entrySet()) {
+                uvSources.add(uvSource.getValue(), uvSource.getKey());
+            }
+        }
+
+        SourcePositions fertilizerSources = new SourcePositions(enclosure.composters.length);
+        if (cm.isFertilizer_enabled()) {
+            for (long position : enclosure.composters) {
+                fertilizerSources.add(position, Material.COMPOSTER);
+            }
+        }
+
+        return new Surrounding(plant, plantState, uvSources, fertilizerSources);
+    }
+
+    /**
+     * Drops all enclosures whose interior or walls contain the given block
+     * and the open positions of its section, since the change may close an open volume.
+     *
+     * @param block The changed {@link Block}.
+     */
+    public void blockChanged(@NotNull Block block) {
+        if (!enabled)
+            return;
+
+        UUID worldId = block.getWorld().getUID();
+        long position = PackedPosition.pack(block.getX(), block.getY(), block.getZ());
+
+        Map<Long, OpenSection> worldOpenSections = openSections.get(worldId);
+        if (worldOpenSections != null)
+            worldOpenSections.remove(sectionKey(block.getX() >> 4, block.getY() >> 4, block.getZ() >> 4));
+
+        Map<Long, Enclosure> worldInteriors = interiors.get(worldId);
+        if (worldInteriors != null) {
+            Enclosure enclosure = worldInteriors.get(position);
+            if (enclosure != null)
+                remove(worldId, enclosure);
+        }
+
+        Map<Long, List<Enclosure>> worldWalls = walls.get(worldId);
+        if (worldWalls != null) {
+            List<Enclosure> enclosures = worldWalls.get(position);
+            if (enclosures != null) {
+                for (Enclosure enclosure : new ArrayList<>(enclosures)) {
+                    remove(worldId, enclosure);
+                }
+            }
+        }
+    }
+
+    /**
+     * Drops all enclosures overlapping an unloaded chunk.
+     *
+     * @param world  The {@link World} of the chunk.
+     * @param chunkX The chunk X coordinate.
+     * @param chunkZ The chunk Z coordinate.
+     */
+    public void chunkUnloaded(@NotNull World world, int chunkX, int chunkZ) {
+        if (!enabled)
+            return;
+
+        UUID worldId = world.getUID();
+        Map<Long, Enclosure> worldInteriors = interiors.get(worldId);
+        if (worldInteriors == null || worldInteriors.isEmpty())
+            return;
+
+        long chunkKey = PackedPosition.chunkKey(chunkX, chunkZ);
+        Set<Enclosure> affected = new HashSet<>();
+        for (Enclosure enclosure : worldInteriors.values()) {
+            if (enclosure.chunkKeys.contains(chunkKey))
+                affected.add(enclosure);
+        }
+        for (Enclosure enclosure : affected) {
+            remove(worldId, enclosure);
+        }
+    }
+
+    /**
+     * Retrieves the enclosure containing the plant, detecting it if necessary.
+     */
+    @Nullable
+    private Enclosure getEnclosure(@NotNull Block plant) {
+        World world = plant.getWorld();
+        UUID worldId = world.getUID();
+        long position = PackedPosition.pack(plant.getX(), plant.getY(), plant.getZ());
+
+        Map<Long, Enclosure> worldInteriors = interiors.get(worldId);
+        if (worldInteriors != null) {
+            Enclosure enclosure = worldInteriors.get(position);
+            if (enclosure != null)
+                return enclosure;
+        }
+
+        // Plants under the open sky can't be enclosed
+        if (isOpenToSky(world, plant.getX(), plant.getY(), plant.getZ()))
+            return null;
+
+        Map<Long, OpenSection> worldOpenSections = openSections.computeIfAbsent(worldId, id -> new HashMap<>());
+        OpenSection openSection = worldOpenSections.get(sectionKey(plant.getX() >> 4, plant.getY() >> 4, plant.getZ() >> 4));
+        long now = System.currentTimeMillis();
+        if (openSection != null && now < openSection.recheckAt && openSection.contains(plant.getX(), plant.getY(), plant.getZ()))
+            return null;
+
+        PackedPositionSet interior = new PackedPositionSet(Math.min(maxVolume, 256));
+        Enclosure enclosure = detect(world, plant.getX(), plant.getY(), plant.getZ(), interior);
+        if (enclosure == null) {
+            markOpen(worldOpenSections, interior, now);
+            return null;
+        }
+
+        register(worldId, enclosure);
+        return enclosure;
+    }
+
+    /**
+     * Remembers all positions reached by a fill that was not enclosed. They all belong to the same open volume.
+     */
+    private void markOpen(@NotNull Map<Long, OpenSection> worldOpenSections, @NotNull PackedPositionSet interior,
+                          long now) {
+        if (worldOpenSections.size() >= MAX_OPEN_SECTIONS) {
+            worldOpenSections.values().removeIf(openSection -> now >= openSection.recheckAt);
+            if (worldOpenSections.size() >= MAX_OPEN_SECTIONS)
+                worldOpenSections.clear();
+        }
+
+        for (long position : interior.toArray()) {
+            int x = PackedPosition.unpackX(position);
+            int y = PackedPosition.unpackY(position);
+            int z = PackedPosition.unpackZ(position);
+
+            OpenSection openSection = worldOpenSections.computeIfAbsent(sectionKey(x >> 4, y >> 4, z >> 4),
+                    key -> new OpenSection());
+            if (now >= openSection.recheckAt) {
+                // Outdated positions may have been closed in the meantime
+                Arrays.fill(openSection.positions, 0L);
+                openSection.recheckAt = now + OPEN_RECHECK_MILLIS;
+            }
+            openSection.add(x, y, z);
+        }
+    }
+
+    /**
+     * Checks if a position is under the open sky, i.e. no block above it blocks motion.
+     * Blocks that don't block motion (plants, torches, ...) are never solid, so such a position can't be enclosed.
+     */
+    private static boolean isOpenToSky(@NotNull World world, int x, int y, int z) {
+        return world.getHighestBlockYAt(x, z, HeightMap.MOTION_BLOCKING) < y;
+    }
+
+    /**
+     * Packs the coordinates of a chunk section into a single {@code long}.
+     */
+    private static long sectionKey(int chunkX, int sectionY, int chunkZ) {
+        return PackedPosition.pack(chunkX, sectionY, chunkZ);
+    }
+
+    /**
+     * Flood fills the connected non-solid volume around a start position.
+     *
+     * @param interior Receives all reached non-solid positions. If the volume is not enclosed,
+     *                 these positions are all part of the same open volume.
+     * @return The detected {@link Enclosure}, or {@code null} if the volume is not enclosed.
+     */
+    @Nullable
+    private Enclosure detect(@NotNull World world, int startX, int startY, int startZ,
+                             @NotNull PackedPositionSet interior) {
+        int minY = world.getMinHeight();
+        int maxY = world.getMaxHeight() - 1;
+
+        Set<Material> uvMaterials = instance.getConfigManager().getUV_Blocks();
+        PackedPositionSet wall = new PackedPositionSet(256);
+        PackedPositionSet chunkKeys = new PackedPositionSet(4);
+        Map<Material, Long> uvSources = new EnumMap<>(Material.class);
+        PackedPositionSet composters = new PackedPositionSet(4);
+
+        // Every interior position is queued exactly once, so the queue never holds more than the volume
+        long[] queue = new long[maxVolume + 1];
+        int head = 0;
+        int tail = 0;
+        long start = PackedPosition.pack(startX, startY, startZ);
+        interior.add(start);
+        queue[tail++] = start;
+
+        while (head < tail) {
+            long current = queue[head++];
+            int x = PackedPosition.unpackX(current);
+            int y = PackedPosition.unpackY(current);
+            int z = PackedPosition.unpackZ(current);
+
+            for (int[] offset : NEIGHBOURS) {
+                int nx = x + offset[0];
+                int ny = y + offset[1];
+                int nz = z + offset[2];
+
+                // The volume is open to the top or bottom of the world or to unloaded chunks
+                if (ny < minY || ny > maxY || !world.isChunkLoaded(nx >> 4, nz >> 4))
+                    return null;
+
+                long neighbour = PackedPosition.pack(nx, ny, nz);
+                if (interior.contains(neighbour) || wall.contains(neighbour))
+                    continue;
+
+                Material type = world.getType(nx, ny, nz);
+                chunkKeys.add(PackedPosition.chunkKey(nx >> 4, nz >> 4));
+
+                if (uvMaterials.contains(type))
+                    uvSources.putIfAbsent(type, neighbour);
+                else if (type == Material.COMPOSTER)
+                    composters.add(neighbour);
+
+                if (type.isSolid()) {
+                    wall.add(neighbour);
+                    continue;
+                }
+
+                interior.add(neighbour);
+                if (interior.size() > maxVolume || isOpenToSky(world, nx, ny, nz))
+                    return null;
+                queue[tail++] = neighbour;
+            }
+        }
+
+        if (RealisticPlantGrowth.isDebug())
+            logger.logToFile("Detected greenhouse at [" + startX + " | " + startY + " | " + startZ + "]: " +
+                    interior.size() + " interior blocks, " + uvSources.size() + " UV-Light materials, " +
+                    composters.size() + " composters.", logFile);
+
+        return new Enclosure(interior.toArray(), wall.toArray(), chunkKeys, uvSources, composters.toArray());
+    }
+
+    private void register(@NotNull UUID worldId, @NotNull Enclosure enclosure) {
+        Map<Long, Enclosure> worldInteriors = interiors.computeIfAbsent(worldId, id -> new HashMap<>());
+        for (long position : enclosure.interior) {
+            worldInteriors.put(position, enclosure);
+        }
+
+        Map<Long, List<Enclosure>> worldWalls = walls.computeIfAbsent(worldId, id -> new HashMap<>());
+        for (long position : enclosure.wall) {
+            worldWalls.computeIfAbsent(position, p -> new ArrayList<>(1)).add(enclosure);
+        }
+
+        SurroundingCache.get().invalidate(worldId, enclosure.interior);
+    }
+
+    private void remove(@NotNull UUID worldId, @NotNull Enclosure enclosure) {
+        Map<Long, Enclosure> worldInteriors = interiors.get(worldId);
+        if (worldInteriors != null) {
+            for (long position : enclosure.interior) {
+                worldInteriors.remove(position, enclosure);
+            }
+        }
+
+        Map<Long, List<Enclosure>> worldWalls = walls.get(worldId);
+        if (worldWalls != null) {
+            for (long position : enclosure.wall) {
+                List<Enclosure> enclosures = worldWalls.get(position);
+                if (enclosures == null)
+                    continue;
+                enclosures.remove(enclosure);
+                if (enclosures.isEmpty())
+                    worldWalls.remove(position);
+            }
+        }
+
+        SurroundingCache.get().invalidate(worldId, enclosure.interior);
+    }
+}
@@ -0,0 +1,445 @@
+package de.nightevolution.realisticplantgrowth.utils.plant;
+
+import de.nightevolution.realisticplantgrowth.ConfigManager;
+import de.nightevolution.realisticplantgrowth.RealisticPlantGrowth;
+import de.nightevolution.realisticplantgrowth.utils.Logger;
+import de.nightevolution.realisticplantgrowth.utils.biome.BiomeChecker;
+import de.nightevolution.realisticplantgrowth.utils.enums.DeathChanceType;
+import de.nightevolution.realisticplantgrowth.utils.enums.GrowthModifierType;
+import de.nightevolution.realisticplantgrowth.utils.mapper.MaterialMapper;
+import dev.dejvokep.boostedyaml.block.implementation.Section;
+import dev.dejvokep.boostedyaml.route.Route;
+import org.bukkit.Material;
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+import org.yaml.snakeyaml.error.YAMLException;
+
+import java.io.ByteArrayOutputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.nio.BufferUnderflowException;
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Optional;
+
+/**
+ * Growth rates and death chances of all growth modified plants, compiled once per configuration load.
+ * <p>
+ * The result of a growth event only depends on the plant, the matching biome group and four conditions:
+ * valid biome, darkness, UV light access and fertilizer. For every plant and biome group slot
+ * (slot {@code 0} is the Default section, slot {@code i} the i-th entry of {@code BiomeGroup.Groups}),
+ * all 16 combinations are computed with the {@link Modifier} rules and stored in flat arrays.
+ * A growth event then only needs a few array reads instead of resolving routes in {@code GrowthModifiers.yml}.
+ * </p>
+ * <p>
+ * A decision is an index into these arrays, see {@link #getDecision(Material, int, boolean, boolean, boolean, boolean)}.
+ * </p>
+ * <p>
+ * The compiled table is cached by the {@link ConfigManager}, so it is only compiled again if a configuration file
+ * or the server version changed since the last start.
+ * </p>
+ */
+public class GrowthDecisionTable {
+
+    /**
+     * Singleton instance, initialized lazily on first access via {@link #get()}.
+     */
+    private static GrowthDecisionTable growthDecisionTable;
+
+    private static final int VALID_BIOME = 8;
+    private static final int DARK = 4;
+    private static final int UV_LIGHT_ACCESS = 2;
+    private static final int FERTILIZER = 1;
+    private static final int CELLS_PER_SLOT = 16;
+
+    // Flags of a cell in the cache file
+    private static final int CACHED_FERTILIZER_USED = 1;
+    private static final int CACHED_FERTILIZER_DEPENDENT = 2;
+
+    private final Logger logger;
+
+    /**
+     * First slot of every plant, indexed by the {@link Material} ordinal. {@code -1} for unknown plants.
+     */
+    private final int[] firstSlot = new int[Material.values().length];
+
+    /**
+     * Biome group names of every plant in slot order (without the Default slot), indexed by the {@link Material} ordinal.
+     */
+    private final String[][] biomeGroups = new String[Material.values().length][];
+
+    private double[] growthRates = new double[0];
+    private double[] deathChances = new double[0];
+    private boolean[] fertilizerUsed = new boolean[0];
+
+    /**
+     * {@code true} for decisions whose result changes if fertilizer can be applied.
+     */
+    private boolean[] fertilizerDependent = new boolean[0];
+
+    private GrowthDecisionTable() {
+        growthDecisionTable = this;
+        logger = new Logger(this.getClass().getSimpleName(), RealisticPlantGrowth.isVerbose(), RealisticPlantGrowth.isDebug());
+        Arrays.fill(firstSlot, -1);
+    }
+
+    /**
+     * Retrieves the singleton instance of the {@link GrowthDecisionTable}.
+     *
+     * @return the singleton {@link GrowthDecisionTable} instance.
+     */
+    public static GrowthDecisionTable get() {
+        if (growthDecisionTable == null)
+            new GrowthDecisionTable();
+        return growthDecisionTable;
+    }
+
+    /**
+     * Compiles the table from the current configuration, or reads it from the cache if the configuration
+     * didn't change since it was compiled.
+     * Must be called after every configuration (re)load.
+     */
+    public void reload() {
+        ConfigManager cm = RealisticPlantGrowth.getInstance().getConfigManager();
+        MaterialMapper mm = RealisticPlantGrowth.getInstance().getVersionMapper().getMaterialMapper();
+
+        ByteBuffer cached = cm.getCachedGrowthDecisions();
+        if (cached != null && read(cached))
+            return;
+
+        compile(cm, mm);
+        cm.cacheGrowthDecisions(write());
+    }
+
+    private void compile(@NotNull ConfigManager cm, @NotNull MaterialMapper mm) {
+        Arrays.fill(firstSlot, -1);
+        Arrays.fill(biomeGroups, null);
+
+        List<Material> plants = new ArrayList<>(mm.getGrowthModifiedPlants());
+        int slotCount = 0;
+        for (Material plant : plants) {
+            biomeGroups[plant.ordinal()] = getBiomeGroupsOf(plant, mm);
+            firstSlot[plant.ordinal()] = slotCount;
+            slotCount += 1 + biomeGroups[plant.ordinal()].length;
+        }
+
+        growthRates = new double[slotCount * CELLS_PER_SLOT];
+        deathChances = new double[slotCount * CELLS_PER_SLOT];
+        fertilizerUsed = new boolean[slotCount * CELLS_PER_SLOT];
+        fertilizerDependent = new boolean[slotCount * CELLS_PER_SLOT];
+
+        for (Material plant : plants) {
+            String[] groups = biomeGroups[plant.ordinal()];
+            for (int slot = 0; slot <= groups.length; slot++) {
+                String biomeGroup = slot == 0 ? null : groups[slot - 1];
+                int base = (firstSlot[plant.ordinal()] + slot) * CELLS_PER_SLOT;
+
+                for (int cell = 0; cell < CELLS_PER_SLOT; cell++) {
+                    Modifier modifier = compileModifier(cm, plant, biomeGroup, (cell & VALID_BIOME) != 0,
+                            (cell & DARK) != 0, (cell & UV_LIGHT_ACCESS) != 0, (cell & FERTILIZER) != 0);
+
+                    growthRates[base + cell] = modifier == null ? Double.NaN : modifier.getGrowthModifier();
+                    deathChances[base + cell] = modifier == null ? Double.NaN : modifier.getDeathChance();
+                    fertilizerUsed[base + cell] = modifier != null && modifier.isFertilizerUsed();
+                }
+
+                for (int cell = 0; cell < CELLS_PER_SLOT; cell += 2) {
+                    fertilizerDependent[base + cell] = isDifferent(base + cell, base + cell + 1);
+                }
+            }
+        }
+
+        logger.verbose("Compiled growth decisions of " + plants.size() + " plants in " + slotCount + " biome group slots.");
+    }
+
+    /**
+     * Serializes the compiled table for the cache file.
+     * Plants are stored by name, all other values in slot order.
+     *
+     * @return The serialized table.
+     */
+    @NotNull
+    private byte[] write() {
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+        try (DataOutputStream out = new DataOutputStream(bytes)) {
+            int plantCount = 0;
+            for (int first : firstSlot) {
+                if (first >= 0)
+                    plantCount++;
+            }
+
+            out.writeInt(plantCount);
+            for (Material plant : Material.values()) {
+                int first = firstSlot[plant.ordinal()];
+                if (first < 0)
+                    continue;
+
+                writeString(out, plant.name());
+                out.writeInt(first);
+                out.writeInt(biomeGroups[plant.ordinal()].length);
+                for (String biomeGroup : biomeGroups[plant.ordinal()]) {
+                    writeString(out, biomeGroup);
+                }
+            }
+
+            out.writeInt(growthRates.length);
+            for (int decision = 0; decision < growthRates.length; decision++) {
+                out.writeDouble(growthRates[decision]);
+                out.writeDouble(deathChances[decision]);
+                out.writeByte((fertilizerUsed[decision] ? CACHED_FERTILIZER_USED : 0)
+                        | (fertilizerDependent[decision] ? CACHED_FERTILIZER_DEPENDENT : 0));
+            }
+        } catch (IOException e) {
+            // Not thrown by a ByteArrayOutputStream
+            throw new IllegalStateException(e);
+        }
+        return bytes.toByteArray();
+    }
+
+    /**
+     * Replaces the table with a table read from the cache file.
+     * The current table is kept, if the cached table can't be read or a plant's slots are out of bounds.
+     *
+     * @param buffer The serialized table, see {@link #write()}.
+     * @return {@code true} if the cached table is used.
+     */
+    private boolean read(@NotNull ByteBuffer buffer) {
+        int[] cachedFirstSlot = new int[firstSlot.length];
+        String[][] cachedBiomeGroups = new String[biomeGroups.length][];
+        Arrays.fill(cachedFirstSlot, -1);
+
+        try {
+            int plantCount = buffer.getInt();
+            for (int i = 0; i < plantCount; i++) {
+                Material plant = Material.getMaterial(readString(buffer));
+                if (plant == null)
+                    return false;
+
+                cachedFirstSlot[plant.ordinal()] = buffer.getInt();
+                if (cachedFirstSlot[plant.ordinal()] < 0)
+                    return false;
+                String[] groups = new String[buffer.getInt()];
+                for (int slot = 0; slot < groups.length; slot++) {
+                    groups[slot] = readString(buffer);
+                }
+                cachedBiomeGroups[plant.ordinal()] = groups;
+            }
+
+            // Every lookup of getDecision() has to stay within the decisions
+            int decisionCount = buffer.getInt();
+            if (decisionCount < 0 || (long) decisionCount * (2 * Double.BYTES + 1) > buffer.remaining()) {
+                logger.warn("Cached growth decisions are damaged and compiled again.");
+                return false;
+            }
+            for (int plant = 0; plant < cachedFirstSlot.length; plant++) {
+                int first = cachedFirstSlot[plant];
+                if (first < 0)
+                    continue;
+
+                if ((first + cachedBiomeGroups[plant].length + 1L) * CELLS_PER_SLOT > decisionCount) {
+                    logger.warn("Cached growth decisions are damaged and compiled again.");
+                    return false;
+                }
+            }
+
+            double[] cachedGrowthRates = new double[decisionCount];
+            double[] cachedDeathChances = new double[decisionCount];
+            boolean[] cachedFertilizerUsed = new boolean[decisionCount];
+            boolean[] cachedFertilizerDependent = new boolean[decisionCount];
+            for (int decision = 0; decision < decisionCount; decision++) {
+                cachedGrowthRates[decision] = buffer.getDouble();
+                cachedDeathChances[decision] = buffer.getDouble();
+                byte flags = buffer.get();
+                cachedFertilizerUsed[decision] = (flags & CACHED_FERTILIZER_USED) != 0;
+                cachedFertilizerDependent[decision] = (flags & CACHED_FERTILIZER_DEPENDENT) != 0;
+            }
+
+            System.arraycopy(cachedFirstSlot, 0, firstSlot, 0, firstSlot.length);
+            System.arraycopy(cachedBiomeGroups, 0, biomeGroups, 0, biomeGroups.length);
+            growthRates = cachedGrowthRates;
+            deathChances = cachedDeathChances;
+            fertilizerUsed = cachedFertilizerUsed;
+            fertilizerDependent = cachedFertilizerDependent;
+
+            logger.verbose("Loaded growth decisions of " + plantCount + " plants from the cache.");
+            return true;
+
+        } catch (BufferUnderflowException | IllegalArgumentException | NegativeArraySizeException e) {
+            logger.warn("Cached growth decisions are damaged and compiled again.");
+            return false;
+        }
+    }
+
+    private static void writeString(@NotNull DataOutputStream out, @NotNull String value) throws IOException {
+        byte[] bytes = value.getBytes(StandardCharsets.UTF_8);
+        out.writeInt(bytes.length);
+        out.write(bytes);
+    }
+
+    @NotNull
+    private static String readString(@NotNull ByteBuffer buffer) {
+        byte[] bytes = new byte[buffer.getInt()];
+        buffer.get(bytes);
+        return new String(bytes, StandardCharsets.UTF_8);
+    }
+
+    /**
+     * Looks up the decision for a growth event.
+     *
+     * @param plant         The {@link Material} of the plant.
+     * @param groupSlot     The biome group slot, see {@link BiomeChecker#getMatchingGroupSlot()}.
+     * @param validBiome    {@code true} if the plant is in a valid biome.
+     * @param dark          {@code true} if the plant doesn't get enough natural light.
+     * @param uvLightAccess {@code true} if the plant has UV light access.
+     * @param fertilizer    {@code true} if a fertilizer boost can be applied.
+     * @return The decision to read the results with.
+     * @throws IllegalArgumentException if the plant or the needed modifiers are not configured.
+     */
+    public int getDecision(@NotNull Material plant, int groupSlot, boolean validBiome, boolean dark,
+                           boolean uvLightAccess, boolean fertilizer) {
+        int first = firstSlot[plant.ordinal()];
+        if (first < 0)
+            throw new IllegalArgumentException("Material '" + plant + "' not found in your GrowthModifiers.yml!");
+
+        int cell = (validBiome ? VALID_BIOME : 0) | (dark ? DARK : 0)
+                | (uvLightAccess ? UV_LIGHT_ACCESS : 0) | (fertilizer ? FERTILIZER : 0);
+        return checked((first + groupSlot) * CELLS_PER_SLOT + cell);
+    }
+
+    /**
+     * Checks if the result of a decision changes, if a fertilizer boost can be applied.
+     * If not, checking the surrounding composters can be skipped.
+     *
+     * @param decision A decision looked up without fertilizer.
+     * @return {@code true} if the fertilizer has an effect.
+     */
+    public boolean dependsOnFertilizer(int decision) {
+        return fertilizerDependent[decision];
+    }
+
+    /**
+     * @param decision A decision looked up without fertilizer.
+     * @return The same decision with an applicable fertilizer boost.
+     */
+    public int withFertilizer(int decision) {
+        return checked(decision | FERTILIZER);
+    }
+
+    public double getGrowthRate(int decision) {
+        return growthRates[decision];
+    }
+
+    public double getDeathChance(int decision) {
+        return deathChances[decision];
+    }
+
+    public boolean isFertilizerUsed(int decision) {
+        return fertilizerUsed[decision];
+    }
+
+    /**
+     * Builds the {@link Modifier} of a single combination, following the same rules as every growth event did before.
+     *
+     * @return The {@link Modifier}, or {@code null} if a required modifier is missing in the configuration.
+     */
+    @Nullable
+    private Modifier compileModifier(@NotNull ConfigManager cm, @NotNull Material plant, @Nullable String biomeGroup,
+                                     boolean validBiome, boolean dark, boolean uvLightAccess, boolean fertilizer) {
+        boolean uvLightEnabled = cm.isUV_Enabled();
+        boolean fertilizerEnabled = cm.isFertilizer_enabled();
+
+        try {
+            Modifier modifier;
+
+            // Kill Plant Case
+            if ((!validBiome && !fertilizerEnabled) || (dark && !uvLightEnabled)) {
+                return new Modifier();
+            }
+
+            // Fertilizer Case
+            else if (!validBiome && !dark && fertilizerEnabled) {
+                if (!fertilizer)
+                    return new Modifier();
+
+                return new Modifier(plant, biomeGroup,
+                        GrowthModifierType.FERTILIZER_INVALID_BIOME,
+                        DeathChanceType.FERTILIZER_INVALID_BIOME);
+            }
+
+            // UV-Light Case
+            else if (validBiome && dark && uvLightEnabled) {
+                if (!uvLightAccess)
+                    return new Modifier();
+
+                modifier = new Modifier(plant, biomeGroup,
+                        GrowthModifierType.UVLightGrowthRate,
+                        DeathChanceType.UVLightDeathChance);
+            }
+
+            // Special Case
+            else if (!validBiome && dark && uvLightEnabled && fertilizerEnabled) {
+                if (!uvLightAccess || !fertilizer)
+                    return new Modifier();
+
+                modifier = new Modifier(plant, biomeGroup,
+                        GrowthModifierType.UVLightGrowthRate,
+                        DeathChanceType.UVLightDeathChance);
+                modifier.setSpecialCase(true);
+            }
+
+            // Normal-Case (Fertilizer-Boost can still be applied)
+            else {
+                modifier = new Modifier(plant, biomeGroup,
+                        GrowthModifierType.GrowthRate,
+                        DeathChanceType.NaturalDeathChance);
+            }
+
+            if (fertilizer)
+                modifier.applyFertilizerEffects();
+
+            return modifier;
+
+        } catch (IllegalArgumentException | YAMLException e) {
+            logger.verbose("No modifier for " + plant + " (" + (biomeGroup == null ? "Default" : biomeGroup) + "): " +
+                    e.getMessage());
+            return null;
+        }
+    }
+
+    /**
+     * Reads the names of the biome groups of a plant in the order of {@code BiomeGroup.Groups}.
+     */
+    @NotNull
+    private String[] getBiomeGroupsOf(@NotNull Material plant, @NotNull MaterialMapper mm) {
+        try {
+            ConfigManager cm = RealisticPlantGrowth.getInstance().getConfigManager();
+            Optional<Section> plantSection = cm.getGrowthModifierSection(mm.getConfigKeyByMaterial(plant));
+            if (plantSection.isEmpty())
+                return new String[0];
+
+            return plantSection.get().getOptionalStringList(Route.from("BiomeGroup", "Groups"))
+                    .orElseGet(List::of).toArray(new String[0]);
+
+        } catch (IllegalArgumentException e) {
+            return new String[0];
+        }
+    }
+
+    private boolean isDifferent(int decision, int otherDecision) {
+        return fertilizerUsed[decision] != fertilizerUsed[otherDecision]
+                || Double.compare(growthRates[decision], growthRates[otherDecision]) != 0
+                || Double.compare(deathChances[decision], deathChances[otherDecision]) != 0;
+    }
+
+    /**
+     * Fails like a {@link Modifier} would, if the modifiers of a decision are missing in the configuration.
+     */
+    private int checked(int decision) {
+        if (Double.isNaN(growthRates[decision]))
+            throw new IllegalArgumentException("GrowthModifier couldn't be obtained!");
+        return decision;
+    }
+}
@@ -19,6 +19,7 @@ import java.util.Optional;
 /**
  * The Modifier class represents modifiers for plant growth in the RealisticPlantGrowth plugin.
  * It includes properties such as growthModifier, deathChance, and the information if a fertilizer was used.
+ * Modifiers are only created while compiling the {@link GrowthDecisionTable}, growth events read the compiled results.
  */
 public class Modifier {
 
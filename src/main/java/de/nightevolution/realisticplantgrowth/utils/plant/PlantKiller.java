@@ -1,10 +1,11 @@
 package de.nightevolution.realisticplantgrowth.utils.plant;
 
 import de.nightevolution.realisticplantgrowth.ConfigManager;
+import de.nightevolution.realisticplantgrowth.ConfigSnapshot;
 import de.nightevolution.realisticplantgrowth.RealisticPlantGrowth;
 import de.nightevolution.realisticplantgrowth.utils.Logger;
+import de.nightevolution.realisticplantgrowth.utils.index.SpecialBlockIndex;
 import de.nightevolution.realisticplantgrowth.utils.mapper.VersionMapper;
-import dev.dejvokep.boostedyaml.block.implementation.Section;
 import org.bukkit.*;
 import org.bukkit.block.Block;
 import org.bukkit.block.BlockFace;
@@ -250,27 +251,21 @@ public class PlantKiller {
      */
     public void playPlantDeathSound(@NotNull Block plantToKill) {
 
-        Section soundEffectSection = cm.getPlant_death_sound_effect();
+        ConfigSnapshot config = cm.getSnapshot();
 
         // Check if the sound effect is enabled in the configuration
-        if (soundEffectSection.getBoolean("enabled")) {
+        if (config.isPlant_death_sound_effect_enabled()) {
 
             Location loc = plantToKill.getLocation();
             World world = loc.getWorld();
             if (world == null) return;
 
-            // Extract sound effect parameters from the configuration file
-            Sound sound = Sound.valueOf(soundEffectSection.getString("sound"));
-            Effect effect = Effect.valueOf(soundEffectSection.getString("effect"));
-            Float volume = soundEffectSection.getFloat("volume");
-            Float pitch = soundEffectSection.getFloat("pitch");
-            int data = soundEffectSection.getInt("data");
-
             // Play the sound effect at the specified location with the given parameters
-            world.playSound(loc, sound, volume, pitch);
+            world.playSound(loc, config.getPlant_death_sound(), config.getPlant_death_sound_volume(),
+                    config.getPlant_death_sound_pitch());
 
             // Play the visual effect at the specified location with the given parameters
-            world.playEffect(loc, effect, data);
+            world.playEffect(loc, config.getPlant_death_effect(), config.getPlant_death_effect_data());
         }
     }
 
@@ -278,6 +273,7 @@ public class PlantKiller {
      * Reduces the fill level of a composter block if passive fertilizer mode is not enabled.
      * <p>
      * In non-passive fertilizer mode, this method decreases the fill level of the specified composter block by one.
+     * The new fill level is written to the block and the composter registry of the {@link SpecialBlockIndex} together.
      * If passive fertilizer mode is enabled, no action is taken.
      * </p>
      *
@@ -315,6 +311,7 @@ public class PlantKiller {
 
         composter.setLevel(newFillLevel);
         composterToDrain.setBlockData(composter);
+        SpecialBlockIndex.get().updateBlock(composterToDrain, composter);
 
     }
 
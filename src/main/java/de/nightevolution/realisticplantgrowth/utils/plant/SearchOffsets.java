@@ -0,0 +1,117 @@
+package de.nightevolution.realisticplantgrowth.utils.plant;
+
+import org.jetbrains.annotations.NotNull;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Precomputed block offsets of a sphere, sorted by their distance to the center.
+ * <p>
+ * Offsets with the same distance are ordered by their Y, X and Z offset, so every search visiting the
+ * offsets in table order finds the same (closest) block first. Tables are created once per radius and shared.
+ * </p>
+ */
+public final class SearchOffsets {
+
+    private static final Map<Integer, SearchOffsets> offsetTables = new ConcurrentHashMap<>();
+
+    private final int[] offsetX;
+    private final int[] offsetY;
+    private final int[] offsetZ;
+    private final int[] distanceSquared;
+
+    private SearchOffsets(int radius) {
+        int radiusSquared = radius * radius;
+        List<int[]> offsets = new ArrayList<>();
+
+        for (int x = -radius; x <= radius; x++) {
+            for (int y = -radius; y <= radius; y++) {
+                for (int z = -radius; z <= radius; z++) {
+                    int d2 = (x * x) + (y * y) + (z * z);
+                    if (d2 <= radiusSquared)
+                        offsets.add(new int[]{x, y, z, d2});
+                }
+            }
+        }
+
+        offsets.sort(Comparator.<int[]>comparingInt(o -> o[3])
+                .thenComparingInt(o -> o[1])
+                .thenComparingInt(o -> o[0])
+                .thenComparingInt(o -> o[2]));
+
+        int size = offsets.size();
+        offsetX = new int[size];
+        offsetY = new int[size];
+        offsetZ = new int[size];
+        distanceSquared = new int[size];
+
+        for (int i = 0; i < size; i++) {
+            int[] offset = offsets.get(i);
+            offsetX[i] = offset[0];
+            offsetY[i] = offset[1];
+            offsetZ[i] = offset[2];
+            distanceSquared[i] = offset[3];
+        }
+    }
+
+    /**
+     * Retrieves the offset table for the given radius.
+     *
+     * @param radius The radius of the sphere in blocks.
+     * @return The shared {@link SearchOffsets} of all offsets within the radius.
+     */
+    @NotNull
+    public static SearchOffsets forRadius(int radius) {
+        return offsetTables.computeIfAbsent(Math.max(radius, 0), SearchOffsets::new);
+    }
+
+    /**
+     * Compares two offsets in the same order used by the tables:
+     * by squared distance first, then by the Y, X and Z offset.
+     *
+     * @return a negative number, zero, or a positive number as the first offset is closer than,
+     * equal to, or farther away than the second offset.
+     */
+    public static int compare(int x1, int y1, int z1, int x2, int y2, int z2) {
+        int comparison = Integer.compare((x1 * x1) + (y1 * y1) + (z1 * z1), (x2 * x2) + (y2 * y2) + (z2 * z2));
+        if (comparison != 0)
+            return comparison;
+
+        comparison = Integer.compare(y1, y2);
+        if (comparison != 0)
+            return comparison;
+
+        comparison = Integer.compare(x1, x2);
+        if (comparison != 0)
+            return comparison;
+
+        return Integer.compare(z1, z2);
+    }
+
+    /**
+     * @return the number of offsets in this table.
+     */
+    public int size() {
+        return offsetX.length;
+    }
+
+    public int getX(int index) {
+        return offsetX[index];
+    }
+
+    public int getY(int index) {
+        return offsetY[index];
+    }
+
+    public int getZ(int index) {
+        return offsetZ[index];
+    }
+
+    public int getDistanceSquared(int index) {
+        return distanceSquared[index];
+    }
+}
@@ -0,0 +1,141 @@
+package de.nightevolution.realisticplantgrowth.utils.plant;
+
+import de.nightevolution.realisticplantgrowth.ConfigManager;
+import org.jetbrains.annotations.NotNull;
+
+/**
+ * The immutable settings of a special block search: which sources are searched and in which radius.
+ * <p>
+ * The {@link ConfigManager} builds one instance per configuration load, which is passed into every
+ * {@link SpecialBlockSearch} query. Queries with different settings (e.g. a custom radius) derive a new instance
+ * instead of changing shared state, so concurrent queries never affect each other.
+ * </p>
+ */
+public final class SearchParameters {
+
+    private final boolean uvEnabled;
+    private final int radiusUV;
+    private final boolean fertilizerEnabled;
+    private final int radiusFertilizer;
+    private final boolean fertilizerPassive;
+    private final boolean requireAllUVBlocks;
+    private final UVMaterialMask uvMask;
+    private final boolean debugLog;
+    private final boolean configuredRadii;
+
+    /**
+     * Maximum of the radii of all enabled sources, or {@code 0} if no source is enabled.
+     */
+    private final int searchRadius;
+
+    /**
+     * Creates the search parameters of a configuration.
+     *
+     * @param uvEnabled          {@code true} if UV light sources are searched.
+     * @param radiusUV           The search radius for UV light sources in blocks.
+     * @param fertilizerEnabled  {@code true} if fertilizer sources are searched.
+     * @param radiusFertilizer   The search radius for fertilizer sources in blocks.
+     * @param fertilizerPassive  {@code true} if composters are not drained, so their fill level doesn't matter.
+     * @param requireAllUVBlocks {@code true} if all UV light materials are required for UV light access.
+     * @param uvMask             The {@link UVMaterialMask} of the configured UV light materials.
+     * @param debugLog           {@code true} if found sources are written to the debug log.
+     */
+    public SearchParameters(boolean uvEnabled, int radiusUV, boolean fertilizerEnabled, int radiusFertilizer,
+                            boolean fertilizerPassive, boolean requireAllUVBlocks, @NotNull UVMaterialMask uvMask,
+                            boolean debugLog) {
+        this(uvEnabled, radiusUV, fertilizerEnabled, radiusFertilizer, fertilizerPassive, requireAllUVBlocks,
+                uvMask, debugLog, true);
+    }
+
+    private SearchParameters(boolean uvEnabled, int radiusUV, boolean fertilizerEnabled, int radiusFertilizer,
+                             boolean fertilizerPassive, boolean requireAllUVBlocks, @NotNull UVMaterialMask uvMask,
+                             boolean debugLog, boolean configuredRadii) {
+        this.uvEnabled = uvEnabled;
+        this.radiusUV = radiusUV;
+        this.fertilizerEnabled = fertilizerEnabled;
+        this.radiusFertilizer = radiusFertilizer;
+        this.fertilizerPassive = fertilizerPassive;
+        this.requireAllUVBlocks = requireAllUVBlocks;
+        this.uvMask = uvMask;
+        this.debugLog = debugLog;
+        this.configuredRadii = configuredRadii;
+
+        int radius = 0;
+        if (uvEnabled)
+            radius = radiusUV;
+        if (fertilizerEnabled)
+            radius = Math.max(radius, radiusFertilizer);
+        this.searchRadius = Math.max(radius, 0);
+    }
+
+    /**
+     * Derives parameters that search all enabled sources in the given radius.
+     *
+     * @param radius The search radius for UV light and fertilizer sources in blocks.
+     * @return New {@link SearchParameters} with the given radius.
+     */
+    @NotNull
+    public SearchParameters withRadius(int radius) {
+        return new SearchParameters(uvEnabled, radius, fertilizerEnabled, radius, fertilizerPassive,
+                requireAllUVBlocks, uvMask, debugLog, false);
+    }
+
+    public boolean isUVEnabled() {
+        return uvEnabled;
+    }
+
+    public int getRadiusUV() {
+        return radiusUV;
+    }
+
+    public boolean isFertilizerEnabled() {
+        return fertilizerEnabled;
+    }
+
+    public int getRadiusFertilizer() {
+        return radiusFertilizer;
+    }
+
+    public boolean isFertilizerPassive() {
+        return fertilizerPassive;
+    }
+
+    public boolean isRequireAllUVBlocks() {
+        return requireAllUVBlocks;
+    }
+
+    @NotNull
+    public UVMaterialMask getUVMask() {
+        return uvMask;
+    }
+
+    public boolean isDebugLog() {
+        return debugLog;
+    }
+
+    /**
+     * @return the maximum radius of all enabled sources, or {@code 0} if no source is enabled.
+     */
+    public int getSearchRadius() {
+        return searchRadius;
+    }
+
+    /**
+     * Checks if these parameters use the configured radii.
+     * Only such searches can use the {@link SurroundingCache}, the {@link GreenhouseRegistry}
+     * and the source coverage, which are all built for the configured radii.
+     *
+     * @return {@code true} if the radii were not changed by {@link #withRadius(int)}.
+     */
+    public boolean usesConfiguredRadii() {
+        return configuredRadii;
+    }
+
+    @Override
+    public String toString() {
+        return "SearchParameters{uv=" + (uvEnabled ? radiusUV : "off") +
+                ", fertilizer=" + (fertilizerEnabled ? radiusFertilizer : "off") +
+                ", passive=" + fertilizerPassive +
+                ", requireAllUVBlocks=" + requireAllUVBlocks + "}";
+    }
+}
@@ -0,0 +1,127 @@
+package de.nightevolution.realisticplantgrowth.utils.plant;
+
+import de.nightevolution.realisticplantgrowth.utils.index.PackedPosition;
+import org.bukkit.Material;
+import org.bukkit.World;
+import org.bukkit.block.Block;
+import org.jetbrains.annotations.NotNull;
+
+import java.util.Arrays;
+
+/**
+ * A compact list of special blocks found around a plant.
+ * <p>
+ * Every entry is stored as a packed block position (see {@link PackedPosition}) together with the ordinal
+ * of its {@link Material} in two primitive arrays. {@link Block} objects are only created on request,
+ * so searching and caching a result doesn't allocate an object per found block.
+ * </p>
+ */
+public final class SourcePositions {
+
+    private static final Material[] MATERIALS = Material.values();
+
+    private long[] positions;
+    private int[] materials;
+    private int size;
+
+    /**
+     * Creates a new, empty list.
+     *
+     * @param initialCapacity The number of entries the list can hold before it has to grow.
+     */
+    public SourcePositions(int initialCapacity) {
+        positions = new long[Math.max(initialCapacity, 0)];
+        materials = new int[positions.length];
+    }
+
+    /**
+     * Adds a block position to the list.
+     *
+     * @param x        The block X coordinate.
+     * @param y        The block Y coordinate.
+     * @param z        The block Z coordinate.
+     * @param material The {@link Material} of the block.
+     */
+    public void add(int x, int y, int z, @NotNull Material material) {
+        add(PackedPosition.pack(x, y, z), material);
+    }
+
+    /**
+     * Adds a packed block position to the list.
+     *
+     * @param position The packed block position.
+     * @param material The {@link Material} of the block.
+     */
+    public void add(long position, @NotNull Material material) {
+        if (size == positions.length) {
+            int capacity = Math.max(size * 2, 4);
+            positions = Arrays.copyOf(positions, capacity);
+            materials = Arrays.copyOf(materials, capacity);
+        }
+        positions[size] = position;
+        materials[size] = material.ordinal();
+        size++;
+    }
+
+    public int size() {
+        return size;
+    }
+
+    public boolean isEmpty() {
+        return size == 0;
+    }
+
+    public long getPosition(int index) {
+        return positions[index];
+    }
+
+    public int getX(int index) {
+        return PackedPosition.unpackX(positions[index]);
+    }
+
+    public int getY(int index) {
+        return PackedPosition.unpackY(positions[index]);
+    }
+
+    public int getZ(int index) {
+        return PackedPosition.unpackZ(positions[index]);
+    }
+
+    /**
+     * @return the ordinal of the {@link Material} of the entry.
+     */
+    public int getMaterialOrdinal(int index) {
+        return materials[index];
+    }
+
+    @NotNull
+    public Material getMaterial(int index) {
+        return MATERIALS[materials[index]];
+    }
+
+    /**
+     * Creates the {@link Block} of an entry.
+     *
+     * @param world The {@link World} the positions belong to.
+     * @param index The index of the entry.
+     * @return The {@link Block} at the position of the entry.
+     */
+    @NotNull
+    public Block getBlock(@NotNull World world, int index) {
+        return world.getBlockAt(getX(index), getY(index), getZ(index));
+    }
+
+    @Override
+    public String toString() {
+        StringBuilder builder = new StringBuilder("[");
+        for (int i = 0; i < size; i++) {
+            if (i > 0)
+                builder.append(", ");
+            builder.append(getMaterial(i)).append('[')
+                    .append(getX(i)).append(" | ")
+                    .append(getY(i)).append(" | ")
+                    .append(getZ(i)).append(']');
+        }
+        return builder.append(']').toString();
+    }
+}
@@ -3,21 +3,32 @@ package de.nightevolution.realisticplantgrowth.utils.plant;
 import de.nightevolution.realisticplantgrowth.ConfigManager;
 import de.nightevolution.realisticplantgrowth.RealisticPlantGrowth;
 import de.nightevolution.realisticplantgrowth.utils.Logger;
+import de.nightevolution.realisticplantgrowth.utils.index.ChunkPaletteFilter;
+import de.nightevolution.realisticplantgrowth.utils.index.ComposterRegistry;
+import de.nightevolution.realisticplantgrowth.utils.index.PackedPosition;
+import de.nightevolution.realisticplantgrowth.utils.index.SourceCoverage;
+import de.nightevolution.realisticplantgrowth.utils.index.SpecialBlockIndex;
 import org.bukkit.Chunk;
 import org.bukkit.Material;
 import org.bukkit.World;
 import org.bukkit.block.Block;
 import org.bukkit.block.BlockState;
+import org.jetbrains.annotations.Nullable;
 
 import java.util.ArrayList;
-import java.util.HashSet;
 import java.util.List;
-import java.util.Set;
+import java.util.Map;
 
 /**
  * This class is responsible for finding special blocks like UV light sources and composters (as fertilizer sources)
- * within a specified radius around a given block. The radius values are obtained from the {@link ConfigManager}.
+ * within a specified radius around a given block. The radii are taken from the {@link SearchParameters}
+ * passed into each query, by default the ones built by the {@link ConfigManager} on every configuration load.
  * It uses a singleton pattern to ensure only one instance is used throughout the application.
+ * <p>
+ * The search itself keeps no state between queries, so concurrent queries with different parameters
+ * don't affect each other. The lookups it uses ({@link SurroundingCache}, {@link GreenhouseRegistry},
+ * {@link SpecialBlockIndex}) and the world access of an area scan still require the main thread.
+ * </p>
  */
 public class SpecialBlockSearch {
 
@@ -27,16 +38,6 @@ public class SpecialBlockSearch {
      */
     private static SpecialBlockSearch specialBlockSearch;
 
-    /**
-     * Reference to the main plugin instance for accessing global plugin state.
-     */
-    private static RealisticPlantGrowth instance;
-
-    /**
-     * Configuration manager providing access to plugin settings and block definitions.
-     */
-    private static ConfigManager configManager;
-
     /**
      * Logger instance for debugging and monitoring search operations.
      * Configured based on plugin verbosity and debug settings.
@@ -49,35 +50,10 @@ public class SpecialBlockSearch {
     private static final String logFile = "debug";
 
     /**
-     * Maximum search radius for UV light sources in blocks.
-     * Updated from configuration on each {@link #get()} call to ensure current settings.
-     */
-    private static int radiusUV;
-
-    /**
-     * Maximum search radius for fertilizer sources in blocks.
-     * Updated from configuration on each {@link #get()} call to ensure current settings.
-     */
-    private static int radiusFertilizer;
-
-    /**
-     * Optimized search radius representing the maximum of UV and fertilizer radii.
-     * Used to minimize the search area when only one feature is enabled or when
-     * radii differ significantly. Precomputed for performance optimization.
-     */
-    private static int searchRadius;
-
-    /**
-     * Configuration flag indicating whether UV light source detection is enabled.
-     * When false, UV-related searches are skipped entirely for better performance.
-     */
-    private static boolean uvEnabled;
-
-    /**
-     * Configuration flag indicating whether fertilizer source detection is enabled.
-     * When false, fertilizer-related searches are skipped entirely for better performance.
+     * Flags of the sources a chunk has to be searched for, see {@link ChunkPaletteFilter}.
      */
-    private static boolean fertilizerEnabled;
+    private static final byte SEARCH_UV = 1;
+    private static final byte SEARCH_FERTILIZER = 2;
 
     /**
      * Private constructor enforcing singleton pattern.
@@ -92,81 +68,137 @@ public class SpecialBlockSearch {
     }
 
     /**
-     * Debug logging flag from configuration. When true, detailed search results
-     * are written to the debug log file for troubleshooting purposes.
-     */
-    private static boolean debug_log;
-
-
-    /**
-     * Retrieves the singleton instance of SpecialBlockSearch with up-to-date configuration.
+     * Retrieves the singleton instance of SpecialBlockSearch.
      *
-     * <p>This method performs the following operations on each call:
-     * <ul>
-     *   <li>Creates the singleton instance if it doesn't exist</li>
-     *   <li>Updates all configuration-dependent fields from the current config</li>
-     *   <li>Optimizes the search radius based on enabled features</li>
-     * </ul>
-     *
-     * @return the singleton SpecialBlockSearch instance with current configuration applied
+     * @return the singleton SpecialBlockSearch instance
      */
     public static SpecialBlockSearch get() {
         if (specialBlockSearch == null)
             new SpecialBlockSearch();
 
-        // Update instance references and configuration
-        instance = RealisticPlantGrowth.getInstance();
-        configManager = instance.getConfigManager();
-
-        // Load search parameters from configuration
-        radiusUV = configManager.getUV_Radius();
-        radiusFertilizer = configManager.getFertilizer_radius();
-        uvEnabled = configManager.isUV_Enabled();
-        fertilizerEnabled = configManager.isFertilizer_enabled();
-        debug_log = configManager.isDebug_log();
-
-        // Optimize search radius based on enabled features
-        // This prevents unnecessary iteration when features are disabled
-        if (uvEnabled && fertilizerEnabled) {
-            searchRadius = Math.max(radiusUV, radiusFertilizer);
-        } else if (uvEnabled) {
-            searchRadius = radiusUV;
-        } else if (fertilizerEnabled) {
-            searchRadius = radiusFertilizer;
-        } else {
-            searchRadius = 0; // No search needed when both features are disabled
-        }
-
         return specialBlockSearch;
     }
 
     /**
      * Searches for UV light source and fertilizer blocks within a configured radius around the provided center block.
-     * The search radius is determined by the configuration settings. This method performs an O(n^3) search
-     * in the area around the block, which may be inefficient for large radii.
+     * Recently computed results are reused from the {@link SurroundingCache}.
+     * If greenhouses are enabled, plants inside an enclosure use the special blocks of the {@link GreenhouseRegistry}.
+     * The search radius is determined by the configuration settings. Positions outside the range of all composters
+     * are answered from the {@link SourceCoverage}. Otherwise, the special blocks are read from the
+     * {@link SpecialBlockIndex}. Only if a loaded chunk in range is not indexed yet, an area scan is performed.
      *
      * @param startingBlock The block from which the search radius extends.
      * @param blockState    The (not placed) {@link BlockState} of startingBlock. (Used for growth rate checks.)
      * @return A {@link Surrounding} object containing all found UV light sources and fertilizer blocks within the radius.
      */
     public Surrounding surroundingOf(Block startingBlock, BlockState blockState) {
+        return surroundingOf(startingBlock, blockState,
+                RealisticPlantGrowth.getInstance().getConfigManager().getSearch_Parameters());
+    }
+
+    /**
+     * Searches for UV light source and fertilizer blocks around the provided center block with the given parameters.
+     * The cache, greenhouses and source coverage are only used if the parameters use the configured radii.
+     *
+     * @param startingBlock The block from which the search radius extends.
+     * @param blockState    The (not placed) {@link BlockState} of startingBlock. (Used for growth rate checks.)
+     * @param parameters    The {@link SearchParameters} of this query.
+     * @return A {@link Surrounding} object containing all found UV light sources and fertilizer blocks within the radius.
+     */
+    public Surrounding surroundingOf(Block startingBlock, BlockState blockState, SearchParameters parameters) {
+        if (!parameters.usesConfiguredRadii())
+            return computeSurrounding(startingBlock, blockState, parameters);
+
+        SurroundingCache cache = SurroundingCache.get();
+        Surrounding cachedSurrounding = cache.get(startingBlock, blockState.getType());
+        if (cachedSurrounding != null) {
+            return cachedSurrounding;
+        }
+
+        Surrounding surrounding = computeSurrounding(startingBlock, blockState, parameters);
+        cache.put(startingBlock, blockState.getType(), surrounding);
+        return surrounding;
+    }
+
+    /**
+     * Computes the {@link Surrounding} of a block without using the {@link SurroundingCache}.
+     *
+     * @param startingBlock The block from which the search radius extends.
+     * @param blockState    The (not placed) {@link BlockState} of startingBlock.
+     * @param parameters    The {@link SearchParameters} of this query.
+     * @return A {@link Surrounding} object containing the found UV light sources and fertilizer blocks.
+     */
+    private Surrounding computeSurrounding(Block startingBlock, BlockState blockState, SearchParameters parameters) {
 
         // Early exit optimization - no search needed when features are disabled
-        if (searchRadius <= 0 || (!uvEnabled && !fertilizerEnabled)) {
+        if (parameters.getSearchRadius() <= 0) {
             // Return empty surrounding when no special block search is required
-            return new Surrounding(startingBlock, blockState, null, null);
+            return new Surrounding(startingBlock, blockState, new SourcePositions(0), new SourcePositions(0));
+        }
+
+        // Plants inside a greenhouse share the special blocks of their enclosure
+        GreenhouseRegistry greenhouses = GreenhouseRegistry.get();
+        if (parameters.usesConfiguredRadii() && greenhouses.isEnabled()) {
+            Surrounding greenhouseSurrounding = greenhouses.surroundingOf(startingBlock, blockState);
+            if (greenhouseSurrounding != null) {
+                if (parameters.isDebugLog())
+                    logger.logToFile("Greenhouse: " + greenhouseSurrounding, logFile);
+                return greenhouseSurrounding;
+            }
+        }
+
+        // Answer from the source coverage, if no composter is in range
+        if (parameters.usesConfiguredRadii()) {
+            Surrounding coveredSurrounding = surroundingFromCoverage(startingBlock, blockState, parameters);
+            if (coveredSurrounding != null) {
+                return coveredSurrounding;
+            }
+        }
+
+        // Use the special block index, if all chunks in range are already indexed
+        Surrounding indexedSurrounding = surroundingFromIndex(startingBlock, blockState, parameters);
+        if (indexedSurrounding != null) {
+            return indexedSurrounding;
         }
 
-        // Pre-calculate loaded chunks to prevent chunk loading during search
-        // This addresses issue #26 where accessing unloaded chunks could throw some errors
-        Set<Chunk> loadedChunks = getLoadedChunks(startingBlock);
+        return surroundingFromAreaScan(startingBlock, blockState, parameters);
+    }
 
-        // Get UV material definitions from configuration
-        Set<Material> uvMaterials = configManager.getUV_Blocks();
+    /**
+     * Scans the area around the provided block for UV light sources and fertilizer blocks.
+     * <p>
+     * The positions within the search radius are probed nearest-first (see {@link SearchOffsets}).
+     * The search stops as soon as the growth decision can't change anymore:
+     * the closest usable composter is found and either one UV light source or,
+     * if {@code require_all_uv_blocks} is enabled, one block of each UV light material is found.
+     * </p>
+     * <p>
+     * The loaded chunks in range and the valid height range of the world are determined once.
+     * Chunks that can't contain any special block according to their block palettes are skipped.
+     * Block objects are only created for found special blocks.
+     * </p>
+     *
+     * @param startingBlock The block from which the search radius extends.
+     * @param blockState    The (not placed) {@link BlockState} of startingBlock.
+     * @param parameters    The {@link SearchParameters} of this query.
+     * @return A {@link Surrounding} object containing the found UV light sources and fertilizer blocks.
+     */
+    private Surrounding surroundingFromAreaScan(Block startingBlock, BlockState blockState,
+                                                SearchParameters parameters) {
+
+        // Get UV material definitions from the search parameters
+        UVMaterialMask uvMask = parameters.getUVMask();
+        boolean requireAllUVBlocks = parameters.isRequireAllUVBlocks();
+        boolean fertilizerPassive = parameters.isFertilizerPassive();
+        boolean debug_log = parameters.isDebugLog();
+        int radiusUV = parameters.getRadiusUV();
+        int radiusFertilizer = parameters.getRadiusFertilizer();
+        int searchRadius = parameters.getSearchRadius();
 
         // Initialize result collections with reasonable initial capacities
-        List<Block> fertilizerSources = new ArrayList<>(10);  // Composters are typically sparse
-        List<Block> uvSources = new ArrayList<>(50);          // Light sources are more common
+        SourcePositions fertilizerSources = new SourcePositions(4);
+        SourcePositions uvSources = new SourcePositions(Math.max(Long.bitCount(uvMask.getRequiredMask()), 1));
+        long foundUVMaterials = 0;
 
         // Pre-calculate squared radii to avoid expensive square root operations in distance checks
         int uvRadiusSquared = radiusUV * radiusUV;
@@ -178,51 +210,100 @@ public class SpecialBlockSearch {
         int startZ = startingBlock.getZ();
 
         World world = startingBlock.getWorld();
+        ChunkPaletteFilter paletteFilter = SpecialBlockIndex.get().getPaletteFilter();
 
-        // We are searching around a block, that triggered a PlantGrowthEvent.
-        // This requires an o(n^3) area scan.
-        // This code gets obsolete in the 1.0 release of the plugin
-        for (int x = -searchRadius; x <= searchRadius; x++) {
-            for (int y = -searchRadius; y <= searchRadius; y++) {
-                for (int z = -searchRadius; z <= searchRadius; z++) {
-
-                    // Calculate absolute coordinates
-                    int currentBlockX = startX + x;
-                    int currentBlockY = startY + y;
-                    int currentBlockZ = startZ + z;
-
-                    // Get the current block to inspect
-                    Block currentBlock = world.getBlockAt(currentBlockX, currentBlockY, currentBlockZ);
-
-                    // Skip blocks in unloaded chunks to prevent forced chunk loading
-                    if (!loadedChunks.contains(currentBlock.getChunk())) {
-                        continue;
-                    }
-
-                    Material blockType = currentBlock.getType();
-
-                    // Pre-calculate distance squared once
-                    double distanceSquared = (x * x) + (y * y) + (z * z);
-
-                    // Check UV sources
-                    if (uvEnabled) {
-                        if (uvMaterials.contains(blockType) && distanceSquared <= uvRadiusSquared){
-                            uvSources.add(currentBlock);
-                            if (debug_log)
-                                logger.logToFile("[" + currentBlock.getLocation() + "] Located UV-Source: " + blockType, logFile);
-                        }
-                    }
-
-                    // TODO: Check Composter for fertilizer nbt tag
-                    // Check fertilizer sources
-                    if (fertilizerEnabled) {
-                        if (blockType == Material.COMPOSTER && distanceSquared <= fertilizerRadiusSquared){
-                            fertilizerSources.add(currentBlock);
-                            if (debug_log)
-                                logger.logToFile("[" + currentBlock.getLocation() + "] Located Fertilizer-Source: " + blockType, logFile);
-                        }
-                    }
+        // Valid build height of the world
+        int minY = world.getMinHeight();
+        int maxY = world.getMaxHeight() - 1;
+
+        int minChunkX = (startX - searchRadius) >> 4;
+        int maxChunkX = (startX + searchRadius) >> 4;
+        int minChunkZ = (startZ - searchRadius) >> 4;
+        int maxChunkZ = (startZ + searchRadius) >> 4;
+        int chunkCountZ = maxChunkZ - minChunkZ + 1;
+
+        // Sources that need to be searched per chunk, indexed by their relative chunk coordinates
+        byte[] searchableChunks = new byte[(maxChunkX - minChunkX + 1) * chunkCountZ];
+        boolean anySearchableChunk = false;
+
+        for (int chunkX = minChunkX; chunkX <= maxChunkX; chunkX++) {
+            for (int chunkZ = minChunkZ; chunkZ <= maxChunkZ; chunkZ++) {
+
+                // Skip unloaded chunks to prevent forced chunk loading
+                // This addresses issue #26 where accessing unloaded chunks could throw some errors
+                if (!world.isChunkLoaded(chunkX, chunkZ) || !world.isChunkGenerated(chunkX, chunkZ))
+                    continue;
+
+                // Skip chunks whose block palettes contain none of the searched materials
+                Chunk chunk = world.getChunkAt(chunkX, chunkZ);
+                byte sources = 0;
+                if (paletteFilter.mayContainAny(chunk, uvMask::isUVMaterial))
+                    sources |= SEARCH_UV;
+                if (paletteFilter.mayContain(chunk, Material.COMPOSTER))
+                    sources |= SEARCH_FERTILIZER;
+                if (sources == 0)
+                    continue;
+
+                searchableChunks[(chunkX - minChunkX) * chunkCountZ + (chunkZ - minChunkZ)] = sources;
+                anySearchableChunk = true;
+            }
+        }
+
+        boolean uvDone = !parameters.isUVEnabled() || uvMask.getRequiredMask() == 0;
+        boolean fertilizerDone = !parameters.isFertilizerEnabled();
+
+        SearchOffsets offsets = SearchOffsets.forRadius(searchRadius);
+        for (int i = 0; anySearchableChunk && i < offsets.size(); i++) {
+            int distanceSquared = offsets.getDistanceSquared(i);
+
+            // Sources out of the respective radius can't be found anymore
+            if (distanceSquared > uvRadiusSquared)
+                uvDone = true;
+            if (distanceSquared > fertilizerRadiusSquared)
+                fertilizerDone = true;
+            if (uvDone && fertilizerDone)
+                break;
+
+            int currentBlockY = startY + offsets.getY(i);
+            if (currentBlockY < minY || currentBlockY > maxY)
+                continue;
+
+            int currentBlockX = startX + offsets.getX(i);
+            int currentBlockZ = startZ + offsets.getZ(i);
+            int chunkIndex = ((currentBlockX >> 4) - minChunkX) * chunkCountZ + ((currentBlockZ >> 4) - minChunkZ);
+            byte sources = searchableChunks[chunkIndex];
+            boolean searchUV = !uvDone && (sources & SEARCH_UV) != 0;
+            boolean searchFertilizer = !fertilizerDone && (sources & SEARCH_FERTILIZER) != 0;
+            if (!searchUV && !searchFertilizer)
+                continue;
+
+            Material blockType = world.getType(currentBlockX, currentBlockY, currentBlockZ);
+
+            // Check UV sources
+            long uvBit = searchUV ? uvMask.bitOf(blockType) : 0;
+            if (uvBit != 0) {
+                // Only the first block of each material is needed
+                if (!requireAllUVBlocks || (foundUVMaterials & uvBit) == 0) {
+                    uvSources.add(currentBlockX, currentBlockY, currentBlockZ, blockType);
+                    if (debug_log)
+                        logger.logToFile("[" + currentBlockX + " | " + currentBlockY + " | " + currentBlockZ +
+                                "] Located UV-Source: " + blockType, logFile);
                 }
+                foundUVMaterials |= uvBit;
+                uvDone = uvMask.hasAccess(foundUVMaterials);
+            }
+
+            // TODO: Check Composter for fertilizer nbt tag
+            // Check fertilizer sources
+            if (searchFertilizer && blockType == Material.COMPOSTER) {
+                fertilizerSources.add(currentBlockX, currentBlockY, currentBlockZ, blockType);
+                if (debug_log)
+                    logger.logToFile("[" + currentBlockX + " | " + currentBlockY + " | " + currentBlockZ +
+                            "] Located Fertilizer-Source: " + blockType, logFile);
+
+                // Active fertilizer requires the closest composter that is not empty
+                fertilizerDone = fertilizerPassive ||
+                        Surrounding.getComposterLevel(world, currentBlockX, currentBlockY, currentBlockZ) > 0;
             }
         }
 
@@ -235,71 +316,168 @@ public class SpecialBlockSearch {
     }
 
     /**
-     * Searches for UV light source and fertilizer blocks within a configured radius around the provided center block.
-     * The search radius is determined by the configuration settings. This method performs an O(n^3) search
-     * in the area around the block, which may be inefficient for large radii.
+     * Builds the {@link Surrounding} of a block from the {@link SourceCoverage} of its position.
+     * <p>
+     * The UV light access is a single bit test. If a composter is in range, only the closest one that
+     * can be used is taken from the {@link ComposterRegistry}: the closest composter with a fill level above zero,
+     * or the closest one at all if fertilizer is passive or all composters in range are empty.
+     * </p>
      *
-     * @param startingBlock The block from which the search radius extends.
-     * @return A {@link Surrounding} object containing all found UV light sources and fertilizer blocks within the radius.
+     * @param startingBlock The block to check.
+     * @param blockState    The (not placed) {@link BlockState} of startingBlock.
+     * @param parameters    The {@link SearchParameters} of this query.
+     * @return The {@link Surrounding} of the block, or {@code null} if the coverage is unknown.
      */
-    public Surrounding surroundingOf(Block startingBlock) {
-        return surroundingOf(startingBlock, startingBlock.getBlockData().createBlockState());
-    }
+    @Nullable
+    private Surrounding surroundingFromCoverage(Block startingBlock, BlockState blockState,
+                                                SearchParameters parameters) {
+        SpecialBlockIndex index = SpecialBlockIndex.get();
+        int coverage = index.getCoverage().query(startingBlock.getWorld(),
+                startingBlock.getX(), startingBlock.getY(), startingBlock.getZ());
+
+        if (coverage == SourceCoverage.UNKNOWN)
+            return null;
+
+        SourcePositions fertilizerSources = new SourcePositions(1);
+        int radiusFertilizer = parameters.getRadiusFertilizer();
+        if (parameters.isFertilizerEnabled() && (coverage & SourceCoverage.FERTILIZER_RANGE) != 0) {
+            ComposterRegistry composters = index.getComposters();
+            Block composter = null;
+
+            if (!parameters.isFertilizerPassive())
+                composter = composters.findClosest(startingBlock.getWorld(), startingBlock.getX(),
+                        startingBlock.getY(), startingBlock.getZ(), radiusFertilizer, true);
+            if (composter == null)
+                composter = composters.findClosest(startingBlock.getWorld(), startingBlock.getX(),
+                        startingBlock.getY(), startingBlock.getZ(), radiusFertilizer, false);
+
+            // Coverage and registry are updated together, so this only happens for unregistered composters
+            if (composter == null)
+                return null;
+
+            fertilizerSources.add(composter.getX(), composter.getY(), composter.getZ(), Material.COMPOSTER);
+        }
 
-    /**
-     * Method only used for debugging purpose
-     *
-     * @param startingBlock
-     * @param radius
-     * @return
-     */
-    public Surrounding surroundingOf(Block startingBlock, int radius) {
-        radiusUV = radius;
-        radiusFertilizer = radius;
-        return surroundingOf(startingBlock);
+        boolean uvLightAccess = parameters.isUVEnabled() && (coverage & SourceCoverage.UV_ACCESS) != 0;
+        Surrounding s = new Surrounding(startingBlock, blockState, uvLightAccess, fertilizerSources);
+        if (parameters.isDebugLog())
+            logger.logToFile("Coverage: uvLightAccess=" + uvLightAccess + ", " + s, logFile);
+
+        return s;
     }
 
     /**
-     * Retrieves all loaded and generated chunks within a specified search radius around a starting block.
-     *
-     * <p>This method computes the chunk boundaries based on the configured search radius and returns
-     * only those chunks that are both loaded in memory and fully generated. This is essential for
-     * safe block operations to prevent triggering unwanted chunk loading or accessing incomplete terrain.</p>
-     *
-     * <p>The search area is determined by the {@code searchRadius} field, creating a square region
-     * centered on the starting block. Chunk coordinates are calculated using bit shifting for
-     * optimal performance (dividing by 16).</p>
+     * Builds the {@link Surrounding} of a block from the {@link SpecialBlockIndex} instead of scanning the world.
+     * <p>
+     * Only the indexed special blocks of the chunks in range are checked against the configured radii,
+     * so the result contains the same UV and fertilizer sources as a full area scan.
+     * </p>
      *
-     * @param startingBlock the center block around which to search for loaded chunks.
-     *                     Must not be null and should be in a valid world.
-     *
-     * @return a {@code Set<Chunk>} containing all chunks within the search radius that are
-     *         both loaded and generated. Returns an empty set if no chunks meet the criteria
-     *         or if the search radius is 0 or negative.
-     *
-     * @apiNote This method addresses issue #26 by ensuring only safe, loaded chunks are processed
+     * @param startingBlock The block from which the search radius extends.
+     * @param blockState    The (not placed) {@link BlockState} of startingBlock.
+     * @param parameters    The {@link SearchParameters} of this query.
+     * @return The {@link Surrounding} of the block, or {@code null} if a loaded chunk in range is not indexed yet.
      */
-    public Set<Chunk> getLoadedChunks(Block startingBlock) {
-        Set<Chunk> loadedChunks = new HashSet<>(25);
+    @Nullable
+    private Surrounding surroundingFromIndex(Block startingBlock, BlockState blockState, SearchParameters parameters) {
+        SpecialBlockIndex index = SpecialBlockIndex.get();
         World world = startingBlock.getWorld();
+        boolean uvEnabled = parameters.isUVEnabled();
+        boolean fertilizerEnabled = parameters.isFertilizerEnabled();
+        boolean debug_log = parameters.isDebugLog();
+        int radiusUV = parameters.getRadiusUV();
+        int radiusFertilizer = parameters.getRadiusFertilizer();
+        int searchRadius = parameters.getSearchRadius();
+
+        int startX = startingBlock.getX();
+        int startY = startingBlock.getY();
+        int startZ = startingBlock.getZ();
 
-        // Compute chunk bounds
-        int minChunkX = (startingBlock.getX() - searchRadius) >> 4;
-        int maxChunkX = (startingBlock.getX() + searchRadius) >> 4;
-        int minChunkZ = (startingBlock.getZ() - searchRadius) >> 4;
-        int maxChunkZ = (startingBlock.getZ() + searchRadius) >> 4;
+        int minChunkX = (startX - searchRadius) >> 4;
+        int maxChunkX = (startX + searchRadius) >> 4;
+        int minChunkZ = (startZ - searchRadius) >> 4;
+        int maxChunkZ = (startZ + searchRadius) >> 4;
 
-        // Precompute generated and loaded chunks
-        // Fixes #26
+        // Collect the index entries of all loaded chunks in range first.
+        // A single chunk that hasn't been indexed yet requires an area scan.
+        List<Map<Long, Material>> indexedChunks = new ArrayList<>(9);
         for (int chunkX = minChunkX; chunkX <= maxChunkX; chunkX++) {
             for (int chunkZ = minChunkZ; chunkZ <= maxChunkZ; chunkZ++) {
-                if (world.isChunkLoaded(chunkX, chunkZ) && world.isChunkGenerated(chunkX, chunkZ)) {
-                    loadedChunks.add(world.getChunkAt(chunkX, chunkZ));
+                if (!world.isChunkLoaded(chunkX, chunkZ))
+                    continue;
+
+                Map<Long, Material> indexedBlocks = index.getIndexedBlocks(world, chunkX, chunkZ);
+                if (indexedBlocks == null)
+                    return null;
+
+                indexedChunks.add(indexedBlocks);
+            }
+        }
+
+        UVMaterialMask uvMask = parameters.getUVMask();
+        SourcePositions fertilizerSources = new SourcePositions(10);
+        SourcePositions uvSources = new SourcePositions(50);
+
+        int uvRadiusSquared = radiusUV * radiusUV;
+        int fertilizerRadiusSquared = radiusFertilizer * radiusFertilizer;
+
+        for (Map<Long, Material> indexedBlocks : indexedChunks) {
+            for (Map.Entry<Long, Material> entry : indexedBlocks.entrySet()) {
+                long position = entry.getKey();
+                Material blockType = entry.getValue();
+
+                int x = PackedPosition.unpackX(position) - startX;
+                int y = PackedPosition.unpackY(position) - startY;
+                int z = PackedPosition.unpackZ(position) - startZ;
+                int distanceSquared = (x * x) + (y * y) + (z * z);
+
+                if (uvEnabled && distanceSquared <= uvRadiusSquared && uvMask.isUVMaterial(blockType)) {
+                    uvSources.add(position, blockType);
+                    if (debug_log)
+                        logger.logToFile("[" + (startX + x) + " | " + (startY + y) + " | " + (startZ + z) +
+                                "] Located UV-Source: " + blockType, logFile);
+                }
+
+                if (fertilizerEnabled && distanceSquared <= fertilizerRadiusSquared && blockType == Material.COMPOSTER) {
+                    fertilizerSources.add(position, blockType);
+                    if (debug_log)
+                        logger.logToFile("[" + (startX + x) + " | " + (startY + y) + " | " + (startZ + z) +
+                                "] Located Fertilizer-Source: " + blockType, logFile);
                 }
             }
         }
-        return loadedChunks;
+
+        Surrounding s = new Surrounding(startingBlock, blockState, uvSources, fertilizerSources);
+        if (debug_log)
+            logger.logToFile(s.toString(), logFile);
+
+        return s;
     }
 
+    /**
+     * Searches for UV light source and fertilizer blocks within a configured radius around the provided center block.
+     * The search radius is determined by the configuration settings. This method performs an O(n^3) search
+     * in the area around the block, which may be inefficient for large radii.
+     *
+     * @param startingBlock The block from which the search radius extends.
+     * @return A {@link Surrounding} object containing all found UV light sources and fertilizer blocks within the radius.
+     */
+    public Surrounding surroundingOf(Block startingBlock) {
+        return surroundingOf(startingBlock, startingBlock.getBlockData().createBlockState());
+    }
+
+    /**
+     * Method only used for debugging purpose.
+     * Searches all enabled sources in the given radius without changing the radii of other queries.
+     *
+     * @param startingBlock The block from which the search radius extends.
+     * @param radius        The search radius for UV light and fertilizer sources in blocks.
+     * @return A {@link Surrounding} object containing all found UV light sources and fertilizer blocks within the radius.
+     */
+    public Surrounding surroundingOf(Block startingBlock, int radius) {
+        SearchParameters parameters = RealisticPlantGrowth.getInstance().getConfigManager().getSearch_Parameters();
+        return surroundingOf(startingBlock, startingBlock.getBlockData().createBlockState(),
+                parameters.withRadius(radius));
+    }
 
 }
\ No newline at end of file
@@ -1,28 +1,25 @@
 package de.nightevolution.realisticplantgrowth.utils.plant;
 
-import de.nightevolution.realisticplantgrowth.ConfigManager;
+import de.nightevolution.realisticplantgrowth.ConfigSnapshot;
 import de.nightevolution.realisticplantgrowth.RealisticPlantGrowth;
 import de.nightevolution.realisticplantgrowth.utils.Logger;
 import de.nightevolution.realisticplantgrowth.utils.biome.BiomeChecker;
-import de.nightevolution.realisticplantgrowth.utils.enums.DeathChanceType;
-import de.nightevolution.realisticplantgrowth.utils.enums.GrowthModifierType;
+import de.nightevolution.realisticplantgrowth.utils.biome.BiomeRegistry;
+import de.nightevolution.realisticplantgrowth.utils.index.ComposterRegistry;
+import de.nightevolution.realisticplantgrowth.utils.index.SpecialBlockIndex;
 import de.nightevolution.realisticplantgrowth.utils.mapper.MaterialMapper;
-import org.bukkit.Bukkit;
-import org.bukkit.Location;
 import org.bukkit.Material;
 import org.bukkit.NamespacedKey;
-import org.bukkit.block.Biome;
+import org.bukkit.World;
 import org.bukkit.block.Block;
 import org.bukkit.block.BlockFace;
 import org.bukkit.block.BlockState;
+import org.bukkit.block.data.BlockData;
 import org.bukkit.block.data.Levelled;
 import org.jetbrains.annotations.NotNull;
-import org.yaml.snakeyaml.error.YAMLException;
 
-import java.util.Comparator;
-import java.util.HashSet;
-import java.util.List;
-import java.util.Set;
+import java.util.Locale;
+
 
 /**
  * Class representing the environment around a block that triggered a PlantGrowthEvent.
@@ -31,9 +28,18 @@ import java.util.Set;
  */
 public class Surrounding {
     private final static RealisticPlantGrowth instance = RealisticPlantGrowth.getInstance();
-    private final static ConfigManager cm = instance.getConfigManager();
     private final BiomeChecker biomeChecker;
-    private final Modifier modifier;
+    private final GrowthDecisionTable decisionTable = GrowthDecisionTable.get();
+
+    /**
+     * The configuration this surrounding is evaluated with, read once so a reload can't change it midway.
+     */
+    private final ConfigSnapshot config = instance.getConfigManager().getSnapshot();
+
+    /**
+     * The decision of the {@link GrowthDecisionTable} for this surrounding.
+     */
+    private final int decision;
     private final Logger logger;
 
 
@@ -44,9 +50,10 @@ public class Surrounding {
 
     private final Material plantType;
 
-    private final Location plantLocation;
-
-    private final Biome biome;
+    /**
+     * The id of the biome of the centerBlock in the {@link BiomeRegistry}.
+     */
+    private final int biomeId;
 
     /**
      * The closest composter block to the central block.
@@ -54,22 +61,26 @@ public class Surrounding {
     private Block closestComposter;
 
     /**
-     * A list of UV light Blocks in the surrounding of the centerBlock.
+     * The UV light sources in the surrounding of the centerBlock.
      */
-    private final List<Block> uvSources;
+    private final SourcePositions uvSources;
 
     /**
-     * A list of Fertilizer (Composter) Blocks in the surrounding of the centerBlock.
+     * The fertilizer sources (composters) in the surrounding of the centerBlock.
      */
-    private final List<Block> fertilizerSources;
+    private final SourcePositions fertilizerSources;
+
+    /**
+     * Precomputed UV light access (see {@link #Surrounding(Block, BlockState, boolean, SourcePositions)}),
+     * or {@code null} until it is determined from {@link #uvSources} on first use.
+     */
+    private Boolean uvLightAccess;
 
     /**
      * Is the centerBlock in a valid (allowed) Biome?
      */
     private final boolean validBiome;
 
-    private NamespacedKey biomeKey;
-
 
     /**
      * Constructs a Surrounding object representing the environmental conditions around a central block.
@@ -77,124 +88,77 @@ public class Surrounding {
      * and the darkness status of the environment.
      *
      * @param centerBlock      The central block around which the environmental conditions are assessed.
-     * @param uvBlocks         The list of blocks representing UV light sources in the surrounding area.
-     * @param fertilizerBlocks The list of blocks representing fertilizer sources in the surrounding area.
+     * @param uvBlocks         The positions of the UV light sources in the surrounding area.
+     * @param fertilizerBlocks The positions of the fertilizer sources in the surrounding area.
+     */
+    public Surrounding(Block centerBlock, BlockState blockState, SourcePositions uvBlocks, SourcePositions fertilizerBlocks) {
+        this(centerBlock, blockState, uvBlocks, null, fertilizerBlocks);
+    }
+
+    /**
+     * Constructs a Surrounding object with an already known UV light access of the central block.
+     * Used if the UV light coverage of the position is known, so no UV light sources have to be collected.
+     *
+     * @param centerBlock      The central block around which the environmental conditions are assessed.
+     * @param uvLightAccess    {@code true} if the central block has UV light access.
+     * @param fertilizerBlocks The positions of the fertilizer sources in the surrounding area.
      */
-    public Surrounding(Block centerBlock, BlockState blockState, List<Block> uvBlocks, List<Block> fertilizerBlocks) {
+    public Surrounding(Block centerBlock, BlockState blockState, boolean uvLightAccess, SourcePositions fertilizerBlocks) {
+        this(centerBlock, blockState, new SourcePositions(0), uvLightAccess, fertilizerBlocks);
+    }
+
+    private Surrounding(Block centerBlock, BlockState blockState, SourcePositions uvBlocks, Boolean uvLightAccess,
+                        SourcePositions fertilizerBlocks) {
         this.centerBlock = centerBlock;
+        this.uvLightAccess = uvLightAccess;
         this.plantType = blockState.getType();
-        this.biome = centerBlock.getBiome();
-        this.plantLocation = centerBlock.getLocation();
+        this.biomeId = BiomeRegistry.get().getId(centerBlock.getWorld(),
+                centerBlock.getX(), centerBlock.getY(), centerBlock.getZ());
 
         uvSources = uvBlocks;
         fertilizerSources = fertilizerBlocks;
 
         logger = new Logger(this.getClass().getSimpleName(), RealisticPlantGrowth.isVerbose(), RealisticPlantGrowth.isDebug());
 
-        if (instance.isPaperFork()) {
-            biomeKey = Bukkit.getUnsafe().getBiomeKey(centerBlock.getWorld(), centerBlock.getX(), centerBlock.getY(), centerBlock.getZ());
-            biomeChecker = new BiomeChecker(plantType, biomeKey);
-            logger.verbose("BiomeKey: " + biomeKey);
-        } else {
-            biomeChecker = new BiomeChecker(plantType, biome);
-            logger.verbose("Biome: " + biome);
-        }
-            validBiome = biomeChecker.isValid();
+        biomeChecker = new BiomeChecker(plantType, biomeId);
+        validBiome = biomeChecker.isValid();
 
-        modifier = getModifier();
+        decision = getDecision();
 
     }
 
 
     /**
-     * Retrieves the modifier for plant growth based on various conditions such as biome, light, and fertilizer effects.
+     * Looks up the decision for plant growth based on various conditions such as biome, light, and fertilizer effects.
+     * UV light access and fertilizer are only checked, if they can change the result.
      *
-     * @return A Modifier object representing the calculated growth and death modifiers for the plant.
-     * @throws YAMLException If there is an error while reading modifier values from the configuration file.
+     * @return The decision of the {@link GrowthDecisionTable} with the growth rate and death chance of the plant.
+     * @throws IllegalArgumentException If the required modifiers are missing in the configuration file.
      */
-    private Modifier getModifier() {
+    private int getDecision() {
 
-        boolean uvLightEnabled = cm.isUV_Enabled();
-        boolean fertilizerEnabled = cm.isFertilizer_enabled();
+        boolean uvLightEnabled = config.isUV_Enabled();
         boolean isDark = isInDarkness();
 
-
         if (logger.isVerbose()) {
             logger.verbose("PlantType: " + plantType);
             logger.verbose("CheckForSpecialCases:");
             logger.verbose("  - uvLightEnabled: " + uvLightEnabled);
-            logger.verbose("  - fertilizerEnabled: " + fertilizerEnabled);
+            logger.verbose("  - fertilizerEnabled: " + config.isFertilizer_enabled());
             logger.verbose("  - isDark: " + isDark);
             logger.verbose("  - validBiome: " + validBiome);
         }
 
-        Modifier tempModifier;
-
-        // Kill Plant Case
-        if ((!validBiome && !fertilizerEnabled) || (isDark && !uvLightEnabled)) {
-            logger.verbose("Death Modifier selected.");
-            return new Modifier();
-        }
-
-        // Fertilizer Case
-        else if (!validBiome && !isDark && fertilizerEnabled) {
-            logger.verbose("Invalid Biome Modifier selected.");
-
-            if (!canApplyFertilizerBoost()) {
-                return new Modifier();
-            }
-
-            return new Modifier(plantType, biomeChecker.getMatchingBiomeGroup(),
-                    GrowthModifierType.FERTILIZER_INVALID_BIOME,
-                    DeathChanceType.FERTILIZER_INVALID_BIOME);
-        }
-
-        // UV-Light Case
-        else if (validBiome && isDark && uvLightEnabled) {
-            logger.verbose("UV-Light Modifier selected.");
-            if (hasUVLightAccess()) {
-                tempModifier = new Modifier(plantType, biomeChecker.getMatchingBiomeGroup(),
-                        GrowthModifierType.UVLightGrowthRate,
-                        DeathChanceType.UVLightDeathChance);
-            } else {
-                return new Modifier();
-            }
-        }
-
-        // Special Case
-        else if (!validBiome && isDark && uvLightEnabled && fertilizerEnabled) {
-            logger.verbose("Special Case Modifier selected.");
-            if (hasUVLightAccess() && canApplyFertilizerBoost()) {
-                tempModifier = new Modifier(plantType, biomeChecker.getMatchingBiomeGroup(),
-                        GrowthModifierType.UVLightGrowthRate,
-                        DeathChanceType.UVLightDeathChance);
-                tempModifier.setSpecialCase(true);
-            } else {
-                return new Modifier();
-            }
-        }
-
-        // Normal-Case (Fertilizer-Boost can still be applied)
-        else {
-            logger.verbose("Normal Case Modifier selected.");
-            logger.verbose("matchingBiomeGroup: " + biomeChecker.getMatchingBiomeGroup());
-            tempModifier = new Modifier(plantType, biomeChecker.getMatchingBiomeGroup(),
-                    GrowthModifierType.GrowthRate,
-                    DeathChanceType.NaturalDeathChance);
-        }
-
+        int groupSlot = biomeChecker.getMatchingGroupSlot();
+        boolean uvAccess = isDark && uvLightEnabled && hasUVLightAccess();
 
-        logger.verbose("Using growthModifierType: " + tempModifier.getGrowthModifierType());
-        logger.verbose("Using deathModifierType: " + tempModifier.getDeathChanceType());
-
-
-        if (canApplyFertilizerBoost()) {
+        int tableDecision = decisionTable.getDecision(plantType, groupSlot, validBiome, isDark, uvAccess, false);
+        if (decisionTable.dependsOnFertilizer(tableDecision) && canApplyFertilizerBoost()) {
             logger.verbose("Applying fertilizer effects.");
-            tempModifier.applyFertilizerEffects();
+            tableDecision = decisionTable.withFertilizer(tableDecision);
         }
 
-        return tempModifier;
-
+        return tableDecision;
     }
 
     /**
@@ -212,33 +176,36 @@ public class Surrounding {
      * @return The biome of the center block.
      */
     public String getBiome() {
+        NamespacedKey biomeKey = BiomeRegistry.get().getKey(biomeId);
         if (instance.isPaperFork())
             return biomeKey.toString();
         else
-            return biome.toString();
+            return biomeKey.getKey().toUpperCase(Locale.ROOT);
     }
 
     /**
-     * Retrieves the list of UV source blocks.
+     * Retrieves the positions of the UV source blocks.
      *
-     * @return A list of blocks that provide UV light.
+     * @return The {@link SourcePositions} of all blocks that provide UV light.
      */
-    public List<Block> getUvSources() {
+    public SourcePositions getUvSources() {
         return uvSources;
     }
 
     /**
-     * Retrieves the list of fertilizer source blocks.
+     * Retrieves the positions of the fertilizer source blocks.
      *
-     * @return A list of blocks that provide fertilizer.
+     * @return The {@link SourcePositions} of all blocks that provide fertilizer.
      */
-    public List<Block> getFertilizerSources() {
+    public SourcePositions getFertilizerSources() {
         return fertilizerSources;
     }
 
     /**
      * Identifies and retrieves the closest composter block to the center block from the list of fertilizer sources.
-     * If there are multiple blocks at the same distance, one is randomly chosen. Returns null if no fertilizers are present.
+     * If there are multiple blocks at the same distance, the choice is deterministic (see {@link SearchOffsets}).
+     * Fill levels are taken from the {@link ComposterRegistry} and only read from the block, if the composter
+     * is not registered. Returns null if no fertilizers are present.
      *
      * @return The closest composter block or null if there are no fertilizer sources.
      */
@@ -250,53 +217,90 @@ public class Surrounding {
         if (fertilizerSources.isEmpty())
             return null;
 
-        Comparator<Block> blockComparator = getBlockDistanceComparator();
-
-        // Sorting the List
-        fertilizerSources.sort(blockComparator);
-
-        if (cm.isVerbose()) {
-            logger.verbose("Sorted fertilizer blocks location list:");
-            for (Block block : fertilizerSources) {
-                logger.verbose("  - " + block.getLocation());
-            }
+        World world = centerBlock.getWorld();
+        int centerX = centerBlock.getX();
+        int centerY = centerBlock.getY();
+        int centerZ = centerBlock.getZ();
+        boolean passive = config.isFertilizer_passive();
+        int closest = -1;
+
+        for (int i = 0; i < fertilizerSources.size(); i++) {
+            int x = fertilizerSources.getX(i);
+            int y = fertilizerSources.getY(i);
+            int z = fertilizerSources.getZ(i);
+
+            if (closest >= 0 && SearchOffsets.compare(
+                    x - centerX, y - centerY, z - centerZ,
+                    fertilizerSources.getX(closest) - centerX,
+                    fertilizerSources.getY(closest) - centerY,
+                    fertilizerSources.getZ(closest) - centerZ) >= 0)
+                continue;
+
+            if (passive || getComposterLevel(world, x, y, z) > 0)
+                closest = i;
         }
-        if (cm.isFertilizer_passive()) {
-            closestComposter = fertilizerSources.get(0);
-            return closestComposter;
 
+        if (closest < 0) {
+            logger.verbose("All Composters fill levels are empty.");
+            return null;
         }
 
-        for (Block composterBlock : fertilizerSources) {
-            Levelled composter = (Levelled) composterBlock.getBlockData();
-            if (composter.getLevel() > 0) {
-                closestComposter = composterBlock;
-                return closestComposter;
-            }
-        }
-        logger.verbose("All Composters fill levels are empty.");
-        return null;
+        closestComposter = fertilizerSources.getBlock(world, closest);
+        if (config.isVerbose())
+            logger.verbose("Closest composter: " + closestComposter.getLocation());
+        return closestComposter;
     }
 
+    /**
+     * Retrieves the fill level of a composter from the {@link ComposterRegistry}, or from the block itself,
+     * if the composter is not registered.
+     *
+     * @param composterBlock The composter {@link Block}.
+     * @return The fill level of the composter.
+     */
+    static int getComposterLevel(@NotNull Block composterBlock) {
+        return getComposterLevel(composterBlock.getWorld(), composterBlock.getX(), composterBlock.getY(),
+                composterBlock.getZ());
+    }
 
-    public boolean hasUVLightAccess() {
-        Set<Material> allValidUVBlocks = cm.getUV_Blocks();
+    /**
+     * Retrieves the fill level of the composter at a block position, see {@link #getComposterLevel(Block)}.
+     * Positions can be outdated (e.g. composters removed by other plugins). If the block is no composter anymore,
+     * its index entry is dropped and {@code 0} is returned.
+     */
+    static int getComposterLevel(@NotNull World world, int x, int y, int z) {
+        int level = SpecialBlockIndex.get().getComposters().getLevel(world, x, y, z);
+        if (level != ComposterRegistry.NOT_REGISTERED)
+            return level;
+
+        Block block = world.getBlockAt(x, y, z);
+        BlockData data = block.getBlockData();
+        if (data instanceof Levelled composter && data.getMaterial() == Material.COMPOSTER)
+            return composter.getLevel();
+
+        SpecialBlockIndex.get().updateBlock(block, data);
+        return 0;
+    }
 
-        if (uvSources == null || uvSources.isEmpty()) {
-            logger.verbose("No UV-Light access!");
-            return false;
-        }
 
-        if (cm.getRequire_All_UV_Blocks()) {
-            HashSet<Material> uvBlockMix = new HashSet<>();
-            for (Block b : uvSources) {
-                uvBlockMix.add(b.getType());
-            }
-            return uvBlockMix.containsAll(allValidUVBlocks);
+    public boolean hasUVLightAccess() {
+        if (uvLightAccess != null) {
+            if (!uvLightAccess)
+                logger.verbose("No UV-Light access!");
+            return uvLightAccess;
+        }
 
-        } else {
-            return true;
+        // One bit per UV light material, see UVMaterialMask
+        UVMaterialMask uvMask = config.getUV_Material_Mask();
+        long foundUVMaterials = 0;
+        for (int i = 0; i < uvSources.size(); i++) {
+            foundUVMaterials |= uvMask.bitOf(uvSources.getMaterialOrdinal(i));
         }
+
+        uvLightAccess = uvMask.hasAccess(foundUVMaterials);
+        if (!uvLightAccess)
+            logger.verbose("No UV-Light access!");
+        return uvLightAccess;
     }
 
 
@@ -306,13 +310,13 @@ public class Surrounding {
      * @return True if a fertilizer boost can be applied, false otherwise.
      */
     public boolean canApplyFertilizerBoost() {
-        if (cm.isFertilizer_enabled() && !getFertilizerSources().isEmpty()) {
+        if (config.isFertilizer_enabled() && !getFertilizerSources().isEmpty()) {
 
-            if (cm.isFertilizer_passive()) {
+            if (config.isFertilizer_passive()) {
                 if (isInValidBiome())
                     return true;
 
-                return cm.isFertilizer_Enables_Growth_In_Invalid_Biomes();
+                return config.isFertilizer_Enables_Growth_In_Invalid_Biomes();
             }
 
             return getClosestComposter() != null;
@@ -335,7 +339,7 @@ public class Surrounding {
 
         int skyLightLevel = centerBlock.getRelative(BlockFace.UP).getLightFromSky();
         logger.verbose("skyLightLevel: " + skyLightLevel);
-        boolean hasNotMinSkyLight = (cm.getMin_Natural_Light() > skyLightLevel);
+        boolean hasNotMinSkyLight = (config.getMin_Natural_Light() > skyLightLevel);
         logger.verbose("hasNotMinSkyLight: " + hasNotMinSkyLight);
         logger.verbose("canGrowInDark: " + mapper.canGrowInDark(plantType));
         return (hasNotMinSkyLight && !mapper.canGrowInDark(plantType));
@@ -348,7 +352,7 @@ public class Surrounding {
      * @return true if fertilizer was used false if not
      */
     public boolean usedFertilizer() {
-        return modifier.isFertilizerUsed();
+        return decisionTable.isFertilizerUsed(decision);
     }
 
     /**
@@ -366,7 +370,7 @@ public class Surrounding {
      * @return The growth rate modifier value.
      */
     public double getGrowthRate() {
-        return modifier.getGrowthModifier();
+        return decisionTable.getGrowthRate(decision);
     }
 
     /**
@@ -375,33 +379,7 @@ public class Surrounding {
      * @return The death chance modifier value.
      */
     public double getDeathChance() {
-        return modifier.getDeathChance();
-    }
-
-    /**
-     * Creates and returns a comparator for Block objects based on their squared distance from the center block.
-     * If two blocks have the same squared distance to the center block, the comparator will randomly choose one to prioritize.
-     * This randomness is logged as a verbose message. The method is guaranteed not to return null.
-     *
-     * @return A not-null Comparator object that compares Block objects based on their squared distance to the center block.
-     */
-    @NotNull
-    private Comparator<Block> getBlockDistanceComparator() {
-        Location centerBlockLocation = plantLocation;
-
-        return (b1, b2) -> {
-
-            int comparison = Double.compare(b1.getLocation().distanceSquared(centerBlockLocation),
-                    b2.getLocation().distanceSquared(centerBlockLocation));
-
-            // If 2 Blocks have the same distance to the centerBlock, a random one is chosen to prioritize.
-            if (comparison == 0) {
-                logger.verbose("Fertilizer at same distance -> random decision.");
-                return Math.random() < 0.5 ? -1 : 1;
-            }
-
-            return comparison;
-        };
+        return decisionTable.getDeathChance(decision);
     }
 
     /**
@@ -417,28 +395,13 @@ public class Surrounding {
         StringBuilder builder = new StringBuilder();
         builder.append("Surrounding{").append(System.lineSeparator());
         builder.append("centerBlock=[");
-        builder.append(plantLocation.getBlockX()).append(" | ");
-        builder.append(plantLocation.getBlockY()).append(" | ");
-        builder.append(plantLocation.getBlockZ()).append("] ");
+        builder.append(centerBlock.getX()).append(" | ");
+        builder.append(centerBlock.getY()).append(" | ");
+        builder.append(centerBlock.getZ()).append("] ");
         builder.append(System.lineSeparator());
 
-        builder.append(", uvSources=[");
-        for (Block uvSource : uvSources) {
-            builder.append(uvSource).append(", ");
-        }
-        if (!uvSources.isEmpty()) {
-            builder.setLength(builder.length() - 2); // Remove the last comma and space
-        }
-        builder.append("]");
-
-        builder.append(", fertilizerSources=[");
-        for (Block fertilizerSource : fertilizerSources) {
-            builder.append(fertilizerSource).append(", ");
-        }
-        if (!fertilizerSources.isEmpty()) {
-            builder.setLength(builder.length() - 2); // Remove the last comma and space
-        }
-        builder.append("]");
+        builder.append(", uvSources=").append(uvSources);
+        builder.append(", fertilizerSources=").append(fertilizerSources);
 
         if (closestComposter != null) {
             builder.append(", closestComposter=").append(closestComposter);
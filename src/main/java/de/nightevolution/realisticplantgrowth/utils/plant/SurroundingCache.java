@@ -0,0 +1,256 @@
+package de.nightevolution.realisticplantgrowth.utils.plant;
+
+import de.nightevolution.realisticplantgrowth.ConfigManager;
+import de.nightevolution.realisticplantgrowth.RealisticPlantGrowth;
+import de.nightevolution.realisticplantgrowth.utils.Logger;
+import de.nightevolution.realisticplantgrowth.utils.index.ChangeJournal;
+import de.nightevolution.realisticplantgrowth.utils.index.PackedPosition;
+import org.bukkit.Material;
+import org.bukkit.block.Block;
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.UUID;
+
+/**
+ * Caches the computed {@link Surrounding} of plants by their block position.
+ * <p>
+ * The biome, sky light and special blocks around a plant rarely change between two random ticks.
+ * A cached result is used until it expires, the plant type changes or the {@link ChangeJournal} recorded
+ * a change in a chunk section within the search radius of the plant. If the result used an active fertilizer, the closest composter
+ * is checked again, so draining composters stays correct. Results where all composters in range were empty
+ * are not cached, because filling a composter doesn't count as a block change.
+ * </p>
+ * <p>
+ * The hit and miss counters are logged every {@link #STATISTICS_LOG_INTERVAL} milliseconds in verbose mode
+ * (and to the debug log), so the cache size can be adjusted to the number of plants actually growing.
+ * All methods must be called on the main thread.
+ * </p>
+ */
+public class SurroundingCache {
+
+    /**
+     * Singleton instance, initialized lazily on first access via {@link #get()}.
+     */
+    private static SurroundingCache surroundingCache;
+
+    /**
+     * Minimum time in milliseconds between two statistics messages.
+     */
+    private static final long STATISTICS_LOG_INTERVAL = 10 * 60 * 1000;
+    private static final String logFile = "debug";
+
+    private final RealisticPlantGrowth instance;
+    private final ChangeJournal journal;
+    private final Logger logger;
+
+    /**
+     * Cached results of every world, keyed by the world's {@link UUID} and the packed plant position.
+     */
+    private final Map<UUID, LinkedHashMap<Long, CacheEntry>> cachedWorlds = new HashMap<>();
+
+    private long lifetime;
+    private int maxSize;
+    private int searchRadius;
+
+    private long hits;
+    private long misses;
+    private long nextStatisticsLog;
+
+    /**
+     * A cached {@link Surrounding} together with the data needed to validate it.
+     */
+    private record CacheEntry(Surrounding surrounding, Material plantType, long changeStamp, long expiresAt) {
+    }
+
+    private SurroundingCache() {
+        surroundingCache = this;
+        instance = RealisticPlantGrowth.getInstance();
+        journal = ChangeJournal.get();
+        logger = new Logger(this.getClass().getSimpleName(), RealisticPlantGrowth.isVerbose(), RealisticPlantGrowth.isDebug());
+    }
+
+    /**
+     * Retrieves the singleton instance of the {@link SurroundingCache}.
+     *
+     * @return the singleton {@link SurroundingCache} instance.
+     */
+    public static SurroundingCache get() {
+        if (surroundingCache == null)
+            new SurroundingCache();
+        return surroundingCache;
+    }
+
+    /**
+     * Drops all cached results and reads the cache settings from the configuration.
+     * Must be called after every configuration (re)load.
+     */
+    public void reload() {
+        if (hits + misses > 0)
+            logStatistics();
+
+        ConfigManager cm = instance.getConfigManager();
+        logger.setVerbose(cm.isVerbose());
+        logger.setDebug(cm.isDebug_log());
+        lifetime = cm.getSurrounding_cache_lifetime() * 1000L;
+        maxSize = Math.max(cm.getSurrounding_cache_size(), 0);
+
+        searchRadius = cm.getSearch_Parameters().getSearchRadius();
+
+        clear();
+        hits = 0;
+        misses = 0;
+        nextStatisticsLog = System.currentTimeMillis() + STATISTICS_LOG_INTERVAL;
+    }
+
+    /**
+     * Checks if the cache is enabled in the configuration.
+     *
+     * @return {@code true} if results are cached.
+     */
+    public boolean isEnabled() {
+        return lifetime > 0 && maxSize > 0;
+    }
+
+    /**
+     * Retrieves the cached {@link Surrounding} of a plant, if it is still valid.
+     *
+     * @param plant     The plant {@link Block}.
+     * @param plantType The current {@link Material} of the plant.
+     * @return The cached {@link Surrounding}, or {@code null} on a cache miss.
+     */
+    @Nullable
+    public Surrounding get(@NotNull Block plant, @NotNull Material plantType) {
+        if (!isEnabled())
+            return null;
+
+        long now = System.currentTimeMillis();
+        if (now >= nextStatisticsLog) {
+            nextStatisticsLog = now + STATISTICS_LOG_INTERVAL;
+            logStatistics();
+        }
+
+        UUID worldId = plant.getWorld().getUID();
+        Map<Long, CacheEntry> entries = cachedWorlds.get(worldId);
+        long position = PackedPosition.pack(plant.getX(), plant.getY(), plant.getZ());
+        CacheEntry entry = entries == null ? null : entries.get(position);
+
+        if (entry == null) {
+            misses++;
+            return null;
+        }
+
+        if (entry.plantType() != plantType || now > entry.expiresAt()
+                || journal.hasChangedSince(plant.getWorld(),
+                plant.getX() - searchRadius, plant.getY() - searchRadius, plant.getZ() - searchRadius,
+                plant.getX() + searchRadius, plant.getY() + searchRadius, plant.getZ() + searchRadius,
+                entry.changeStamp())
+                || !hasUsableComposter(entry.surrounding())) {
+            entries.remove(position);
+            misses++;
+            return null;
+        }
+
+        hits++;
+        return entry.surrounding();
+    }
+
+    /**
+     * Stores the computed {@link Surrounding} of a plant.
+     *
+     * @param plant       The plant {@link Block}.
+     * @param plantType   The {@link Material} of the plant used to compute the surrounding.
+     * @param surrounding The computed {@link Surrounding}.
+     */
+    public void put(@NotNull Block plant, @NotNull Material plantType, @NotNull Surrounding surrounding) {
+        if (!isEnabled() || dependsOnEmptyComposters(surrounding))
+            return;
+
+        LinkedHashMap<Long, CacheEntry> entries = cachedWorlds.computeIfAbsent(plant.getWorld().getUID(),
+                id -> new LinkedHashMap<>());
+
+        long position = PackedPosition.pack(plant.getX(), plant.getY(), plant.getZ());
+        // Replacing an entry doesn't grow the cache. Otherwise, drop the oldest entry
+        if (entries.remove(position) == null && entries.size() >= maxSize) {
+            Long eldest = entries.keySet().iterator().next();
+            entries.remove(eldest);
+        }
+
+        entries.put(position, new CacheEntry(surrounding, plantType, journal.now(),
+                System.currentTimeMillis() + lifetime));
+    }
+
+    /**
+     * Drops the cached results of the given positions.
+     * Used for changes the {@link ChangeJournal} check can't see, e.g. sources outside the search radius.
+     *
+     * @param worldId   The {@link UUID} of the world.
+     * @param positions The packed block positions.
+     */
+    public void invalidate(@NotNull UUID worldId, long @NotNull [] positions) {
+        Map<Long, CacheEntry> entries = cachedWorlds.get(worldId);
+        if (entries == null || entries.isEmpty())
+            return;
+
+        for (long position : positions) {
+            entries.remove(position);
+        }
+    }
+
+    /**
+     * Drops all cached results.
+     */
+    public void clear() {
+        cachedWorlds.clear();
+    }
+
+    /**
+     * @return the number of currently cached results.
+     */
+    public int getSize() {
+        int size = 0;
+        for (Map<Long, CacheEntry> entries : cachedWorlds.values()) {
+            size += entries.size();
+        }
+        return size;
+    }
+
+    /**
+     * Logs the hit and miss counters of this cache since the last (re)load.
+     */
+    public void logStatistics() {
+        long lookups = hits + misses;
+        double hitRate = lookups == 0 ? 0 : (hits * 100.0) / lookups;
+        String statistics = "Surrounding cache: " + hits + " hits, " + misses + " misses (" +
+                String.format("%.1f", hitRate) + "% hit rate), " + getSize() + " entries (at most " + maxSize + " per world).";
+        logger.verbose(statistics);
+        if (RealisticPlantGrowth.isDebug())
+            logger.logToFile(statistics, logFile);
+    }
+
+    /**
+     * Checks if the composter used by an active fertilizer result can still be drained.
+     */
+    private boolean hasUsableComposter(@NotNull Surrounding surrounding) {
+        if (!surrounding.usedFertilizer() || instance.getConfigManager().isFertilizer_passive())
+            return true;
+
+        Block composter = surrounding.getClosestComposter();
+        return composter != null && composter.getType() == Material.COMPOSTER
+                && Surrounding.getComposterLevel(composter) > 0;
+    }
+
+    /**
+     * Checks if the result would change once an empty composter in range gets filled.
+     */
+    private boolean dependsOnEmptyComposters(@NotNull Surrounding surrounding) {
+        if (instance.getConfigManager().isFertilizer_passive() || !instance.getConfigManager().isFertilizer_enabled())
+            return false;
+
+        return surrounding.getFertilizerSources() != null && !surrounding.getFertilizerSources().isEmpty()
+                && !surrounding.usedFertilizer();
+    }
+}
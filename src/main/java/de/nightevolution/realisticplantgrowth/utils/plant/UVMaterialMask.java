@@ -0,0 +1,93 @@
+package de.nightevolution.realisticplantgrowth.utils.plant;
+
+import org.bukkit.Material;
+import org.jetbrains.annotations.NotNull;
+
+import java.util.EnumSet;
+import java.util.Set;
+
+/**
+ * Assigns one bit of a {@code long} to every configured UV light material.
+ * <p>
+ * Built once per configuration load. The UV light materials found around a plant can then be collected
+ * in a single {@code long}, and checking {@code require_all_uv_blocks} is a single mask comparison
+ * without any allocation. Bits are assigned in {@link Material} ordinal order.
+ * </p>
+ */
+public final class UVMaterialMask {
+
+    /**
+     * The maximum number of UV light materials, one per bit of a {@code long}.
+     */
+    public static final int MAX_MATERIALS = Long.SIZE;
+
+    /**
+     * The bit of every {@link Material}, indexed by its ordinal. {@code 0} for materials that are no UV light source.
+     */
+    private final long[] bitByOrdinal = new long[Material.values().length];
+    private final long requiredMask;
+    private final boolean requireAll;
+
+    /**
+     * Creates the bit assignment for the given UV light materials.
+     *
+     * @param uvMaterials The configured UV light materials (at most {@link #MAX_MATERIALS}).
+     * @param requireAll  {@code true} if all UV light materials are required for UV light access.
+     * @throws IllegalArgumentException if more than {@link #MAX_MATERIALS} materials are given.
+     */
+    public UVMaterialMask(@NotNull Set<Material> uvMaterials, boolean requireAll) {
+        if (uvMaterials.size() > MAX_MATERIALS)
+            throw new IllegalArgumentException("At most " + MAX_MATERIALS + " UV light materials are supported.");
+
+        Set<Material> sorted = EnumSet.noneOf(Material.class);
+        sorted.addAll(uvMaterials);
+
+        long mask = 0;
+        int bit = 0;
+        for (Material material : sorted) {
+            bitByOrdinal[material.ordinal()] = 1L << bit;
+            mask |= 1L << bit;
+            bit++;
+        }
+
+        this.requiredMask = mask;
+        this.requireAll = requireAll;
+    }
+
+    /**
+     * @return the bit of the material, or {@code 0} if it is no UV light source.
+     */
+    public long bitOf(@NotNull Material material) {
+        return bitByOrdinal[material.ordinal()];
+    }
+
+    /**
+     * @return the bit of the material with the given ordinal, or {@code 0} if it is no UV light source.
+     */
+    public long bitOf(int materialOrdinal) {
+        return bitByOrdinal[materialOrdinal];
+    }
+
+    public boolean isUVMaterial(@NotNull Material material) {
+        return bitByOrdinal[material.ordinal()] != 0;
+    }
+
+    /**
+     * @return the bits of all configured UV light materials.
+     */
+    public long getRequiredMask() {
+        return requiredMask;
+    }
+
+    /**
+     * Checks if the found UV light materials grant UV light access.
+     *
+     * @param foundBits The combined bits of all found UV light materials.
+     * @return {@code true} if all materials are found, or any material if not all of them are required.
+     */
+    public boolean hasAccess(long foundBits) {
+        if (requireAll)
+            return requiredMask != 0 && (foundBits & requiredMask) == requiredMask;
+        return foundBits != 0;
+    }
+}